@@ -0,0 +1,15 @@
+package com.qkart.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a test method out of network resource blocking, so images, fonts, media and
+ * third-party frames load normally (e.g. tests that assert on advertisements).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllowResources {
+}
@@ -0,0 +1,17 @@
+package com.qkart.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the wall-clock budget of a test (or of every test in a class), overriding
+ * testBudgetSeconds. Every wait draws from the budget, and the test fails with a
+ * budget-exhausted error once it runs out. Zero means no budget.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface TimeBudget {
+    int seconds();
+}
@@ -0,0 +1,17 @@
+package com.qkart.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test (or every test in a class) with page timers on CDP virtual time, so waits
+ * fast-forward debounces and timer-driven UI instead of sleeping through them. Between waits the
+ * page clock is paused, so auto-hiding snackbars and self-closing modals stay up until a wait
+ * has granted their timers. Chromium only; the session is discarded after the test.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface VirtualTime {
+}
@@ -1,13 +1,24 @@
 package com.qkart.config;
 
 import com.qkart.enums.BrowserType;
+import com.qkart.enums.CpuPlacementMode;
+import com.qkart.enums.DriverMode;
+import com.qkart.enums.ExecutionMode;
+import com.qkart.enums.LookupMode;
+import com.qkart.enums.TeardownMode;
+import com.qkart.enums.TimeoutMode;
+import com.qkart.enums.WaitEngine;
 import com.qkart.exceptions.ConfigurationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
  * Singleton configuration manager that provides centralized access to all framework configurations.
@@ -46,7 +57,7 @@ public final class ConfigManager {
      * Override config values with system properties (command line args).
      */
     private static void overrideWithSystemProperties() {
-        String[] overridableProps = {"browser", "headless", "url"};
+        String[] overridableProps = {"browser", "headless", "url", "driverMode", "poolSize", "driverResolution", "prespawnMax", "contextsPerBrowser", "resourceBlocking", "executionMode", "remoteNodes", "sessionWatchdog", "sessionDeadline", "resourceMonitoring", "adaptiveParallelism", "minParallelism", "maxParallelism", "teardownMode", "profileTemplate", "virtualDisplays", "cpuPlacement", "cachingProxy", "waitEngine", "adaptivePolling", "timeoutMode", "lookupMode", "networkIdle", "testBudgetSeconds", "suppressAnimations", "virtualTime", "elementCache"};
         for (String prop : overridableProps) {
             String sysValue = System.getProperty(prop);
             if (sysValue != null && !sysValue.isEmpty()) {
@@ -147,4 +158,481 @@ public final class ConfigManager {
         if (properties == null) initConfig();
         return Boolean.parseBoolean(properties.getProperty("highlightElements", "false"));
     }
+
+    /**
+     * Get the driver provisioning mode (fresh browser per test or pooled sessions).
+     */
+    public static DriverMode getDriverMode() {
+        if (properties == null) initConfig();
+        return DriverMode.fromString(properties.getProperty("driverMode", "fresh"));
+    }
+
+    /**
+     * Get the maximum number of live browser sessions kept by the driver pool.
+     */
+    public static int getPoolSize() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("poolSize", "3"));
+    }
+
+    /**
+     * Get the maximum time in seconds a test waits to lease a session from the pool.
+     */
+    public static int getPoolLeaseTimeout() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("poolLeaseTimeout", "120"));
+    }
+
+    /**
+     * Get the maximum number of speculatively pre-spawned browsers alive at once.
+     */
+    public static int getPrespawnMax() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("prespawnMax", "2"));
+    }
+
+    /**
+     * Get the number of isolated browser contexts served by one Chrome process in context mode.
+     */
+    public static int getContextsPerBrowser() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("contextsPerBrowser", "4"));
+    }
+
+    /**
+     * Check if driver binaries must be resolved from the local cache only (no network).
+     */
+    public static boolean isDriverResolutionOffline() {
+        if (properties == null) initConfig();
+        return "offline".equalsIgnoreCase(properties.getProperty("driverResolution", "auto"));
+    }
+
+    /**
+     * Check if network resource blocking is enabled for Chromium browsers.
+     */
+    public static boolean isResourceBlockingEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("resourceBlocking", "false"));
+    }
+
+    /**
+     * Get the resource types to block (e.g. image, font, media).
+     */
+    public static List<String> getBlockedResourceTypes() {
+        if (properties == null) initConfig();
+        return getList("blockedResourceTypes", "image,font,media");
+    }
+
+    /**
+     * Get additional URL patterns to block, using CDP wildcard syntax (e.g. *doubleclick.net*).
+     */
+    public static List<String> getBlockedUrlPatterns() {
+        if (properties == null) initConfig();
+        return getList("blockedUrlPatterns", "");
+    }
+
+    /**
+     * Get where browser sessions run (local browsers or remote Selenium nodes).
+     */
+    public static ExecutionMode getExecutionMode() {
+        if (properties == null) initConfig();
+        return ExecutionMode.fromString(properties.getProperty("executionMode", "local"));
+    }
+
+    /**
+     * Get the Selenium node or grid URLs used in remote execution mode.
+     */
+    public static List<String> getRemoteNodes() {
+        if (properties == null) initConfig();
+        return getList("remoteNodes", "http://localhost:4444");
+    }
+
+    /**
+     * Get how long in seconds an unhealthy remote node is skipped before it is retried.
+     */
+    public static int getRemoteNodeCooldown() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("remoteNodeCooldown", "60"));
+    }
+
+    /**
+     * Check if the session watchdog and orphan process reaper are enabled.
+     */
+    public static boolean isSessionWatchdogEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("sessionWatchdog", "true"));
+    }
+
+    /**
+     * Get how long in seconds a session may stay assigned to one test before it is force-killed.
+     */
+    public static int getSessionDeadline() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("sessionDeadline", "600"));
+    }
+
+    /**
+     * Check if per-session resource tracking and budget-based recycling are enabled.
+     */
+    public static boolean isResourceMonitoringEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("resourceMonitoring", "true"));
+    }
+
+    /**
+     * Get the resident memory budget of a session's process tree in MB.
+     */
+    public static int getSessionMaxRssMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("sessionMaxRssMb", "1536"));
+    }
+
+    /**
+     * Get the cumulative CPU time budget of a session in seconds.
+     */
+    public static int getSessionMaxCpuSeconds() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("sessionMaxCpuSeconds", "600"));
+    }
+
+    /**
+     * Get the JavaScript heap budget of a session's page in MB.
+     */
+    public static int getSessionMaxJsHeapMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("sessionMaxJsHeapMb", "256"));
+    }
+
+    /**
+     * Check if the number of concurrent sessions is set from host signals instead of the suite's thread-count.
+     */
+    public static boolean isAdaptiveParallelism() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("adaptiveParallelism", "false"));
+    }
+
+    /**
+     * Get the lower bound (and starting point) of adaptive parallelism.
+     */
+    public static int getMinParallelism() {
+        if (properties == null) initConfig();
+        return Math.max(1, Integer.parseInt(properties.getProperty("minParallelism", "2")));
+    }
+
+    /**
+     * Get the upper bound of adaptive parallelism; 0 means one session per available processor.
+     */
+    public static int getMaxParallelism() {
+        if (properties == null) initConfig();
+        int max = Integer.parseInt(properties.getProperty("maxParallelism", "0"));
+        return Math.max(getMinParallelism(), max > 0 ? max : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Get the free memory in MB below which adaptive parallelism stops admitting more sessions.
+     */
+    public static int getMinFreeMemoryMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("minFreeMemoryMb", "1024"));
+    }
+
+    /**
+     * Get how sessions are quit after each test.
+     */
+    public static TeardownMode getTeardownMode() {
+        if (properties == null) initConfig();
+        return TeardownMode.fromString(properties.getProperty("teardownMode", "sync"));
+    }
+
+    /**
+     * Get the number of background threads that quit sessions in async teardown mode.
+     */
+    public static int getReaperThreads() {
+        if (properties == null) initConfig();
+        return Math.max(1, Integer.parseInt(properties.getProperty("reaperThreads", "2")));
+    }
+
+    /**
+     * Check if local Chrome sessions start from a copy of a warmed profile template.
+     */
+    public static boolean isProfileTemplateEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("profileTemplate", "false"))
+                && getBrowser() == BrowserType.CHROME;
+    }
+
+    /**
+     * Check if headed local browsers run on pooled Xvfb displays (Linux only).
+     */
+    public static boolean isVirtualDisplayEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("virtualDisplays", "false"))
+                && !isHeadless()
+                && getExecutionMode() == ExecutionMode.LOCAL
+                && System.getProperty("os.name").toLowerCase().contains("linux");
+    }
+
+    /**
+     * Get the maximum number of Xvfb displays; 0 means one per adaptive parallelism slot.
+     */
+    public static int getVirtualDisplayCount() {
+        if (properties == null) initConfig();
+        int count = Integer.parseInt(properties.getProperty("virtualDisplayCount", "0"));
+        return count > 0 ? count : getMaxParallelism();
+    }
+
+    /**
+     * Get the first X display number tried for the Xvfb pool.
+     */
+    public static int getFirstDisplayNumber() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("firstDisplayNumber", "99"));
+    }
+
+    /**
+     * Get the Xvfb screen geometry as WIDTHxHEIGHTxDEPTH.
+     */
+    public static String getDisplayResolution() {
+        if (properties == null) initConfig();
+        return properties.getProperty("displayResolution", "1920x1080x24");
+    }
+
+    /**
+     * Get how local browser process trees are placed on the host's CPUs.
+     */
+    public static CpuPlacementMode getCpuPlacementMode() {
+        if (properties == null) initConfig();
+        return CpuPlacementMode.fromString(properties.getProperty("cpuPlacement", "none"));
+    }
+
+    /**
+     * Get the number of cores kept for the test JVM when CPU placement is enabled.
+     */
+    public static int getJvmReservedCores() {
+        if (properties == null) initConfig();
+        return Math.max(1, Integer.parseInt(properties.getProperty("jvmReservedCores", "2")));
+    }
+
+    /**
+     * Get the cgroup v2 directory under which per-worker groups are created.
+     */
+    public static String getCgroupRoot() {
+        if (properties == null) initConfig();
+        return properties.getProperty("cgroupRoot", "/sys/fs/cgroup/qkart");
+    }
+
+    /**
+     * Get the memory limit in MB of each worker's cgroup; 0 means unlimited.
+     */
+    public static int getBrowserMemoryLimitMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("browserMemoryLimitMb", "0"));
+    }
+
+    /**
+     * Check if local browsers go through the shared caching proxy.
+     */
+    public static boolean isCachingProxyEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("cachingProxy", "false"))
+                && getExecutionMode() == ExecutionMode.LOCAL;
+    }
+
+    /**
+     * Get the static-asset hosts whose traffic the caching proxy decrypts and caches; * means all
+     * hosts. Defaults to the application's own host, so API and auth traffic is tunnelled untouched.
+     */
+    public static List<String> getProxyCacheHosts() {
+        if (properties == null) initConfig();
+        List<String> hosts = getList("proxyCacheHosts", "");
+        return hosts.isEmpty() ? List.of(URI.create(getUrl()).getHost()) : hosts;
+    }
+
+    /**
+     * Get the in-memory budget of the proxy cache in MB.
+     */
+    public static int getProxyMemoryCacheMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("proxyMemoryCacheMb", "128"));
+    }
+
+    /**
+     * Get the on-disk budget of the proxy cache in MB.
+     */
+    public static int getProxyDiskCacheMb() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("proxyDiskCacheMb", "1024"));
+    }
+
+    /**
+     * Get how explicit waits observe the page.
+     */
+    public static WaitEngine getWaitEngine() {
+        if (properties == null) initConfig();
+        return WaitEngine.fromString(properties.getProperty("waitEngine", "mutation"));
+    }
+
+    /**
+     * Check if polled waits use an adaptive, history-seeded schedule instead of a fixed interval.
+     */
+    public static boolean isAdaptivePolling() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("adaptivePolling", "true"));
+    }
+
+    /**
+     * Get the first (tightest) interval of an adaptive poll schedule in milliseconds.
+     */
+    public static int getPollMinIntervalMs() {
+        if (properties == null) initConfig();
+        return Math.max(10, Integer.parseInt(properties.getProperty("pollMinIntervalMs", "50")));
+    }
+
+    /**
+     * Get the interval an adaptive poll schedule backs off to in milliseconds.
+     */
+    public static int getPollMaxIntervalMs() {
+        if (properties == null) initConfig();
+        return Math.max(getPollMinIntervalMs(), Integer.parseInt(properties.getProperty("pollMaxIntervalMs", "1000")));
+    }
+
+    /**
+     * Get how wait and page-load timeouts are chosen per step.
+     */
+    public static TimeoutMode getTimeoutMode() {
+        if (properties == null) initConfig();
+        return TimeoutMode.fromString(properties.getProperty("timeoutMode", "fixed"));
+    }
+
+    /**
+     * Get the percentile of a step's recorded durations that its learned timeout is based on.
+     */
+    public static double getLearnedTimeoutPercentile() {
+        if (properties == null) initConfig();
+        double percentile = Double.parseDouble(properties.getProperty("learnedTimeoutPercentile", "99"));
+        return Math.min(100, Math.max(50, percentile));
+    }
+
+    /**
+     * Get the margin added to the percentile to form a learned timeout, in milliseconds.
+     */
+    public static int getLearnedTimeoutMarginMs() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("learnedTimeoutMarginMs", "2000"));
+    }
+
+    /**
+     * Get how many recorded durations a step needs before its timeout is learned.
+     */
+    public static int getLearnedTimeoutMinSamples() {
+        if (properties == null) initConfig();
+        return Math.max(1, Integer.parseInt(properties.getProperty("learnedTimeoutMinSamples", "5")));
+    }
+
+    /**
+     * Get how element lookups wait for the page.
+     */
+    public static LookupMode getLookupMode() {
+        if (properties == null) initConfig();
+        return LookupMode.fromString(properties.getProperty("lookupMode", "implicit"));
+    }
+
+    /**
+     * Get the implicit wait applied to sessions in seconds - zero in explicit lookup mode.
+     */
+    public static int getEffectiveImplicitWait() {
+        return getLookupMode() == LookupMode.EXPLICIT ? 0 : getImplicitWait();
+    }
+
+    /**
+     * Get how long an element must stay gone before a wait for its absence succeeds, in milliseconds.
+     */
+    public static int getAbsenceStableMs() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("absenceStableMs", "250"));
+    }
+
+    /**
+     * Get how long the page must stay unchanged before a settling check answers "not there", in milliseconds.
+     */
+    public static int getDomSettleMs() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("domSettleMs", "500"));
+    }
+
+    /**
+     * Check if XHR/fetch traffic is tracked over CDP for network-idle waits.
+     */
+    public static boolean isNetworkIdleEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("networkIdle", "true"));
+    }
+
+    /**
+     * Get how long no tracked request may be in flight before the network counts as idle, in milliseconds.
+     */
+    public static int getNetworkIdleQuietMs() {
+        if (properties == null) initConfig();
+        return Integer.parseInt(properties.getProperty("networkIdleQuietMs", "500"));
+    }
+
+    /**
+     * Get URL fragments of requests that network-idle waits ignore (analytics, beacons).
+     */
+    public static List<String> getNetworkIdleIgnore() {
+        if (properties == null) initConfig();
+        return getList("networkIdleIgnore", "google-analytics.com,googletagmanager.com,doubleclick.net,sentry.io,hotjar.com");
+    }
+
+    /**
+     * Get the default wall-clock budget of a test in seconds, shared by all its waits (0 = no budget).
+     * {@link com.qkart.annotations.TimeBudget} overrides it per test or class.
+     */
+    public static int getTestBudgetSeconds() {
+        if (properties == null) initConfig();
+        return Math.max(0, Integer.parseInt(properties.getProperty("testBudgetSeconds", "0")));
+    }
+
+    /**
+     * Check if CSS transitions, animations and smooth scrolling are turned off in the browser.
+     */
+    public static boolean isAnimationSuppressed() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("suppressAnimations", "false"));
+    }
+
+    /**
+     * Check if every test runs page timers on CDP virtual time (Chromium only).
+     * {@link com.qkart.annotations.VirtualTime} enables it per test or class.
+     */
+    public static boolean isVirtualTimeEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("virtualTime", "false"));
+    }
+
+    /**
+     * Get how much virtual time a wait grants the page per unmet poll, in milliseconds.
+     */
+    public static int getVirtualTimeStepMs() {
+        if (properties == null) initConfig();
+        return Math.max(10, Integer.parseInt(properties.getProperty("virtualTimeStepMs", "250")));
+    }
+
+    /**
+     * Check if page objects reuse resolved elements until the DOM changes (Chromium, CDP).
+     */
+    public static boolean isElementCacheEnabled() {
+        if (properties == null) initConfig();
+        return Boolean.parseBoolean(properties.getProperty("elementCache", "false"));
+    }
+
+    /**
+     * Reads a comma-separated property as a trimmed list without empty entries.
+     */
+    private static List<String> getList(String key, String defaultValue) {
+        return Arrays.stream(properties.getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
 }
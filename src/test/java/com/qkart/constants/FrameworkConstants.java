@@ -18,6 +18,10 @@ public final class FrameworkConstants {
     public static final String REPORT_PATH = System.getProperty("user.dir") + "/reports/";
     public static final String SCREENSHOT_PATH = REPORT_PATH + "screenshots/";
     public static final String LOG_PATH = System.getProperty("user.dir") + "/logs/";
+    public static final String CACHE_PATH = System.getProperty("user.dir") + "/.qkart-cache/";
+    public static final String DRIVER_CACHE_FILE = CACHE_PATH + "driver-binaries.properties";
+    public static final String SESSION_PID_FILE = CACHE_PATH + "sessions.pid";
+    public static final String WAIT_HISTORY_FILE = CACHE_PATH + "wait-history.properties";
 
     // Fixed Constants
     public static final int POLLING_INTERVAL_MS = 500;
@@ -0,0 +1,128 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Turns off CSS transitions, CSS animations and smooth scrolling when suppressAnimations=true,
+ * so waits on Material-UI dialogs, snackbars and menus resolve as soon as the state changes
+ * instead of after the animation. On Chromium the stylesheet and script are registered once per
+ * session and run on every new document; other browsers get them after each
+ * {@link com.qkart.utils.WaitUtils#loadPage} navigation.
+ *
+ * Zero-length CSS animations still fire animationend, but zero-length transitions fire no
+ * transitionend; MUI's react-transition-group components finish on their own timers, so they
+ * are shortened, not removed.
+ */
+public final class AnimationSuppressor {
+    private static final Logger log = LogManager.getLogger(AnimationSuppressor.class);
+
+    static final String STYLE = "*, *::before, *::after {"
+            + " transition-duration: 0s !important; transition-delay: 0s !important;"
+            + " animation-duration: 0s !important; animation-delay: 0s !important;"
+            + " scroll-behavior: auto !important; }";
+
+    /**
+     * Adds the stylesheet as soon as the document has a root element and makes scripted smooth
+     * scrolling and Web Animations instant. Guarded so running it twice on a page is harmless.
+     */
+    static final String SCRIPT = "(function () {"
+            + "if (window.__qkartAnimationsOff) { return; }"
+            + "window.__qkartAnimationsOff = true;"
+            + "var css = " + jsString(STYLE) + ";"
+            + "function addStyle() {"
+            + "  var style = document.createElement('style');"
+            + "  style.id = 'qkart-no-animations';"
+            + "  style.textContent = css;"
+            + "  (document.head || document.documentElement).appendChild(style);"
+            + "}"
+            + "if (document.documentElement) { addStyle(); }"
+            + "else { document.addEventListener('readystatechange', addStyle, {once: true}); }"
+            + "function instant(options) {"
+            + "  if (options && typeof options === 'object' && options.behavior === 'smooth') {"
+            + "    options = Object.assign({}, options, {behavior: 'auto'});"
+            + "  }"
+            + "  return options;"
+            + "}"
+            + "['scrollIntoView', 'scroll', 'scrollTo', 'scrollBy'].forEach(function (name) {"
+            + "  [Element.prototype, window].forEach(function (target) {"
+            + "    var original = target[name];"
+            + "    if (typeof original !== 'function') { return; }"
+            + "    target[name] = function () {"
+            + "      var args = Array.prototype.slice.call(arguments);"
+            + "      if (args.length === 1) { args[0] = instant(args[0]); }"
+            + "      return original.apply(this, args);"
+            + "    };"
+            + "  });"
+            + "});"
+            + "if (Element.prototype.animate) {"
+            + "  var animate = Element.prototype.animate;"
+            + "  Element.prototype.animate = function (keyframes, options) {"
+            + "    options = typeof options === 'object' && options !== null"
+            + "        ? Object.assign({}, options, {duration: 0, delay: 0}) : 0;"
+            + "    return animate.call(this, keyframes, options);"
+            + "  };"
+            + "}"
+            + "})();";
+
+    private static final Set<WebDriver> registered = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private AnimationSuppressor() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Registers the suppression script for every document the session loads from now on.
+     * Registered once per session, so pooled sessions are not given a second copy.
+     */
+    public static void apply(WebDriver driver) {
+        if (!ConfigManager.isAnimationSuppressed() || registered.contains(driver) || !CdpUtils.isSupported(driver)) {
+            return;
+        }
+        try {
+            CdpUtils.execute(driver, "Page.addScriptToEvaluateOnNewDocument", Map.of("source", SCRIPT));
+            registered.add(driver);
+            injectIntoCurrentPage(driver);
+            log.debug("Animation suppression registered for the session");
+        } catch (Exception e) {
+            log.warn("Unable to register animation suppression: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Suppresses animations on the page just loaded, for sessions without a new-document script.
+     */
+    public static void afterNavigation(WebDriver driver) {
+        if (ConfigManager.isAnimationSuppressed() && !registered.contains(driver)) {
+            injectIntoCurrentPage(driver);
+        }
+    }
+
+    /**
+     * Runs the suppression script in the current document.
+     */
+    public static void injectIntoCurrentPage(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(SCRIPT);
+        } catch (Exception e) {
+            log.debug("Unable to suppress animations on the current page: {}", e.getMessage());
+        }
+    }
+
+    private static String jsString(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
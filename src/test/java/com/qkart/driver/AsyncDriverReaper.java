@@ -0,0 +1,116 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Quits finished sessions on a small pool of background threads so test workers do not wait
+ * for the browser to shut down.
+ * The queue is bounded: when it is full the worker quits the session itself, which keeps the
+ * number of browsers still shutting down under control. A session whose quit fails has its
+ * processes killed, and suite shutdown waits until every pending quit has finished.
+ */
+public final class AsyncDriverReaper {
+    private static final Logger log = LogManager.getLogger(AsyncDriverReaper.class);
+    private static AsyncDriverReaper instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<WebDriver> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong quits = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalQuitMillis = new AtomicLong();
+
+    private AsyncDriverReaper(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "driver-reaper-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Gets the shared reaper, creating it on first use.
+     */
+    public static synchronized AsyncDriverReaper getInstance() {
+        if (instance == null) {
+            instance = new AsyncDriverReaper(ConfigManager.getReaperThreads());
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules a session to be quit in the background.
+     *
+     * @param webDriver The session to quit; the caller must not use it afterwards
+     */
+    public void quit(WebDriver webDriver) {
+        submitted.incrementAndGet();
+        pending.add(webDriver);
+        executor.execute(() -> quitNow(webDriver));
+    }
+
+    /**
+     * Waits for every pending quit to finish and reports the reaper's metrics. Quits still
+     * running after pageLoadTimeout have their sessions' processes killed, which makes them
+     * return, and the wait goes on until the queue has drained. Safe to call more than once.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        AsyncDriverReaper reaper = instance;
+        instance = null;
+
+        reaper.executor.shutdown();
+        try {
+            while (!reaper.executor.awaitTermination(ConfigManager.getPageLoadTimeout(), TimeUnit.SECONDS)) {
+                log.error("{} session quit(s) still pending after {}s - killing their processes",
+                        reaper.pending.size(), ConfigManager.getPageLoadTimeout());
+                reaper.pending.forEach(SessionWatchdog::killSession);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long completed = reaper.quits.get();
+        String summary = String.format("Sessions quit: %d | Failed quits: %d | Avg quit time off the worker: %d ms",
+                completed, reaper.failures.get(), completed == 0 ? 0 : reaper.totalQuitMillis.get() / completed);
+        log.info("Async driver reaper stopped - {}", summary);
+        ExtentManager.addSystemInfo("Async Teardown", summary);
+    }
+
+    private void quitNow(WebDriver webDriver) {
+        long start = System.currentTimeMillis();
+        try {
+            webDriver.quit();
+            SessionWatchdog.unregister(webDriver);
+            quits.incrementAndGet();
+            totalQuitMillis.addAndGet(System.currentTimeMillis() - start);
+            log.debug("WebDriver quit in background in {} ms", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            long reclaimed = SessionWatchdog.killSession(webDriver);
+            log.error("Background quit of WebDriver failed: {} - killed its processes, reclaimed {}",
+                    e.getMessage(), ProcessUtils.toMegabytes(reclaimed));
+        } finally {
+            pending.remove(webDriver);
+        }
+    }
+}
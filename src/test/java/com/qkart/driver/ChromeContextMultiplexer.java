@@ -0,0 +1,434 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.enums.BrowserType;
+import com.qkart.enums.ExecutionMode;
+import com.qkart.exceptions.BrowserInitializationException;
+import com.qkart.exceptions.ConfigurationException;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Runs many isolated tests inside one Chrome process.
+ * Each host Chrome serves up to a configured number of tests; every test gets its own CDP
+ * browser context (separate cookies, storage and cache) and a lightweight ChromeDriver
+ * session attached to the host through its debugger address.
+ * A host whose Chrome has crashed, or that a test released as over its resource budget, is
+ * retired: it takes no new contexts and is quit once its last context is released.
+ */
+public final class ChromeContextMultiplexer {
+    private static final Logger log = LogManager.getLogger(ChromeContextMultiplexer.class);
+    private static ChromeContextMultiplexer instance;
+
+    private final int contextsPerBrowser;
+    private final List<BrowserHost> hosts = new ArrayList<>();
+    private final Map<WebDriver, ContextLease> leases = new IdentityHashMap<>();
+
+    private final AtomicInteger nextHostId = new AtomicInteger();
+    private final AtomicLong hostsStarted = new AtomicLong();
+    private final AtomicLong hostsRetired = new AtomicLong();
+    private final AtomicLong contextsCreated = new AtomicLong();
+    private final AtomicLong totalContextStartMillis = new AtomicLong();
+
+    private ChromeContextMultiplexer(int contextsPerBrowser) {
+        this.contextsPerBrowser = contextsPerBrowser;
+        log.info("Chrome context multiplexer created - contexts per browser: {}", contextsPerBrowser);
+    }
+
+    /**
+     * Gets the JVM-wide multiplexer, creating it from configuration on first use.
+     *
+     * @throws ConfigurationException if the configured browser is not a local Chrome
+     */
+    public static synchronized ChromeContextMultiplexer getInstance() {
+        if (ConfigManager.getExecutionMode() == ExecutionMode.REMOTE) {
+            throw new ConfigurationException("Context driver mode requires local execution");
+        }
+        if (ConfigManager.getBrowser() != BrowserType.CHROME) {
+            throw new ConfigurationException("Context driver mode is supported for Chrome only, configured browser: "
+                    + ConfigManager.getBrowser().getBrowserName());
+        }
+        if (instance == null) {
+            instance = new ChromeContextMultiplexer(ConfigManager.getContextsPerBrowser());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an isolated browser context on a host with free capacity and returns a driver
+     * bound to a window inside it. Quitting the returned driver disposes the context.
+     *
+     * @return A WebDriver scoped to a fresh browser context
+     */
+    public WebDriver lease() {
+        long start = System.currentTimeMillis();
+        BrowserHost host = reserveHost();
+        String contextId = null;
+        try {
+            contextId = (String) host.execute("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false)).get("browserContextId");
+            String targetId = (String) host.execute("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId, "newWindow", true)).get("targetId");
+
+            DriverBinaryResolver.resolve(BrowserType.CHROME);
+            ChromeDriver attached = DriverFactory.attachToChrome(host.debuggerAddress);
+            attached.switchTo().window(findHandle(attached.getWindowHandles(), targetId));
+
+            ContextLease lease = new ContextLease(host, contextId, attached);
+            WebDriver scoped = new ContextScopedDecorator(lease).decorate(attached);
+            lease.scopedDriver = scoped;
+            // Tests mark the driver they hold active, so the watchdog tracks the scoped driver
+            SessionWatchdog.register(scoped, SessionWatchdog.getDriverPid(attached));
+            SessionWatchdog.unregister(attached);
+            synchronized (this) {
+                leases.put(scoped, lease);
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            contextsCreated.incrementAndGet();
+            totalContextStartMillis.addAndGet(elapsed);
+            log.info("Browser context {} ready on host #{} in {} ms", contextId, host.id, elapsed);
+            return scoped;
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                disposeContext(host, contextId);
+            }
+            if (host.hasCrashed()) {
+                retireHost(host, "crashed");
+            }
+            releaseHostSlot(host);
+            throw new BrowserInitializationException("chrome (browser context)", e);
+        }
+    }
+
+    /**
+     * Disposes the driver's browser context and frees its slot on the host.
+     *
+     * @param webDriver A driver returned by {@link #lease()}
+     */
+    public void release(WebDriver webDriver) {
+        release(webDriver, false);
+    }
+
+    /**
+     * Disposes the driver's browser context and frees its slot on the host, optionally retiring
+     * the host, e.g. because it is over its resource budget.
+     *
+     * @param webDriver  A driver returned by {@link #lease()}
+     * @param retireHost Whether the host should take no new contexts and be quit once drained
+     */
+    public void release(WebDriver webDriver, boolean retireHost) {
+        ContextLease lease;
+        synchronized (this) {
+            lease = leases.remove(webDriver);
+        }
+        if (lease == null) {
+            log.warn("Attempted to release a driver that does not own a browser context - quitting it");
+            webDriver.quit();
+            return;
+        }
+        disposeContext(lease.host, lease.contextId);
+        try {
+            // Ends only the attached ChromeDriver session; the host Chrome keeps running
+            lease.attachedDriver.quit();
+            SessionWatchdog.unregister(lease.scopedDriver);
+        } catch (Exception e) {
+            log.warn("Error while detaching from browser context {}: {}", lease.contextId, e.getMessage());
+            SessionWatchdog.killSession(lease.scopedDriver);
+        }
+        if (retireHost) {
+            retireHost(lease.host, "over resource budget");
+        } else if (lease.host.hasCrashed()) {
+            retireHost(lease.host, "crashed");
+        }
+        releaseHostSlot(lease.host);
+        log.debug("Browser context {} disposed", lease.contextId);
+    }
+
+    /**
+     * Gets the host Chrome serving a leased driver, whose process tree holds the context's
+     * memory and CPU.
+     *
+     * @param webDriver A driver returned by {@link #lease()}
+     * @return The host's driver, or the given driver if it does not own a browser context
+     */
+    public synchronized WebDriver getHostDriver(WebDriver webDriver) {
+        ContextLease lease = leases.get(webDriver);
+        return lease != null && lease.host.hostDriver != null ? lease.host.hostDriver : webDriver;
+    }
+
+    /**
+     * Quits every host Chrome and reports metrics. Safe to call more than once.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        ChromeContextMultiplexer multiplexer = instance;
+        instance = null;
+
+        List<BrowserHost> remaining;
+        synchronized (multiplexer) {
+            remaining = new ArrayList<>(multiplexer.hosts);
+            multiplexer.hosts.clear();
+        }
+        remaining.forEach(ChromeContextMultiplexer::quitHost);
+        long created = multiplexer.contextsCreated.get();
+        String summary = String.format("Host browsers: %d (%d retired) | Contexts: %d | Avg context startup: %d ms",
+                multiplexer.hostsStarted.get(), multiplexer.hostsRetired.get(), created,
+                created == 0 ? 0 : multiplexer.totalContextStartMillis.get() / created);
+        log.info("Chrome context multiplexer shut down - {}", summary);
+        ExtentManager.addSystemInfo("Browser Contexts", summary);
+    }
+
+    /**
+     * Reserves a context slot on a host, starting a new host Chrome if all are full. The slot is
+     * reserved under the lock; the browser starts outside it, so leases on hosts with free
+     * capacity are not held up by a cold start. Other threads that reserve a slot on a host
+     * that is still starting wait only for that host. Crashed hosts are retired on the way, and
+     * retired hosts without contexts are quit.
+     */
+    private BrowserHost reserveHost() {
+        BrowserHost host = null;
+        boolean starter = false;
+        List<BrowserHost> drained = new ArrayList<>();
+        synchronized (this) {
+            for (BrowserHost candidate : hosts) {
+                if (!candidate.retired && candidate.hasCrashed()) {
+                    retireHost(candidate, "crashed");
+                }
+                if (candidate.retired) {
+                    if (candidate.activeContexts == 0) {
+                        drained.add(candidate);
+                    }
+                } else if (host == null && candidate.activeContexts < contextsPerBrowser) {
+                    host = candidate;
+                }
+            }
+            hosts.removeAll(drained);
+            if (host == null) {
+                host = new BrowserHost(nextHostId.incrementAndGet());
+                hosts.add(host);
+                starter = true;
+            }
+            host.activeContexts++;
+        }
+        drained.forEach(ChromeContextMultiplexer::quitHost);
+        if (starter) {
+            try {
+                host.started(DriverFactory.createDriver(BrowserType.CHROME));
+                hostsStarted.incrementAndGet();
+                log.info("Started host Chrome #{} at {}", host.id, host.debuggerAddress);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    hosts.remove(host);
+                }
+                host.failed(e);
+                throw e;
+            }
+        } else {
+            try {
+                host.awaitStarted();
+            } catch (RuntimeException e) {
+                releaseHostSlot(host);
+                throw e;
+            }
+        }
+        return host;
+    }
+
+    private void releaseHostSlot(BrowserHost host) {
+        boolean drained;
+        synchronized (this) {
+            host.activeContexts--;
+            drained = host.retired && host.activeContexts == 0 && hosts.remove(host);
+        }
+        if (drained) {
+            quitHost(host);
+        }
+    }
+
+    /**
+     * Stops handing out contexts on a host; it is quit once its last context is released.
+     */
+    private synchronized void retireHost(BrowserHost host, String reason) {
+        if (host.retired) {
+            return;
+        }
+        host.retired = true;
+        hostsRetired.incrementAndGet();
+        log.warn("Retiring host Chrome #{} ({}) - {} contexts still open", host.id, reason, host.activeContexts);
+    }
+
+    private static void quitHost(BrowserHost host) {
+        if (host.hostDriver == null) {
+            return;
+        }
+        try {
+            host.hostDriver.quit();
+            SessionWatchdog.unregister(host.hostDriver);
+        } catch (Exception e) {
+            log.error("Error while quitting host Chrome #{} - killing it: {}", host.id, e.getMessage());
+            SessionWatchdog.killSession(host.hostDriver);
+        }
+    }
+
+    private void disposeContext(BrowserHost host, String contextId) {
+        try {
+            host.execute("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (Exception e) {
+            log.warn("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+
+    private static String findHandle(Set<String> handles, String targetId) {
+        return handles.stream()
+                .filter(handle -> handle.equals(targetId) || handle.endsWith(targetId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Window for target " + targetId + " not found"));
+    }
+
+    /**
+     * A host Chrome process shared by several browser contexts.
+     */
+    private static final class BrowserHost {
+        private final int id;
+        private final CompletableFuture<Void> startup = new CompletableFuture<>();
+        private volatile WebDriver hostDriver;
+        private volatile String debuggerAddress;
+        private volatile long driverPid = -1;
+        private volatile List<Long> browserPids = List.of();
+        private int activeContexts;
+        private boolean retired;
+
+        private BrowserHost(int id) {
+            this.id = id;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void started(WebDriver driver) {
+            Map<String, Object> chromeCaps = (Map<String, Object>) ((HasCapabilities) driver)
+                    .getCapabilities().getCapability("goog:chromeOptions");
+            this.debuggerAddress = (String) chromeCaps.get("debuggerAddress");
+            this.driverPid = SessionWatchdog.getDriverPid(driver);
+            this.browserPids = ProcessUtils.children(driverPid);
+            this.hostDriver = driver;
+            startup.complete(null);
+        }
+
+        /**
+         * Whether the host's driver or browser process has exited; unknown processes count as running.
+         */
+        private boolean hasCrashed() {
+            if (driverPid <= 0) {
+                return false;
+            }
+            return !ProcessUtils.isAlive(driverPid)
+                    || (!browserPids.isEmpty() && browserPids.stream().noneMatch(ProcessUtils::isAlive));
+        }
+
+        private void failed(RuntimeException e) {
+            startup.completeExceptionally(e);
+        }
+
+        /**
+         * Blocks until the host Chrome that another thread is starting is ready.
+         *
+         * @throws BrowserInitializationException if the host failed to start
+         */
+        private void awaitStarted() {
+            try {
+                startup.join();
+            } catch (CompletionException e) {
+                throw new BrowserInitializationException("chrome (context host #" + id + ")", e.getCause());
+            }
+        }
+
+        /**
+         * CDP commands on the host are serialized; they are rare compared to test commands.
+         */
+        private synchronized Map<String, Object> execute(String command, Map<String, Object> params) {
+            return CdpUtils.execute(hostDriver, command, params);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Set<String> targetsInContext(String contextId) {
+            List<Map<String, Object>> targets = (List<Map<String, Object>>) execute("Target.getTargets", Map.of())
+                    .get("targetInfos");
+            return targets.stream()
+                    .filter(target -> contextId.equals(target.get("browserContextId")))
+                    .map(target -> (String) target.get("targetId"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * A test's browser context together with the attached driver serving it.
+     */
+    private static final class ContextLease {
+        private final BrowserHost host;
+        private final String contextId;
+        private final WebDriver attachedDriver;
+        private WebDriver scopedDriver;
+
+        private ContextLease(BrowserHost host, String contextId, WebDriver attachedDriver) {
+            this.host = host;
+            this.contextId = contextId;
+            this.attachedDriver = attachedDriver;
+        }
+    }
+
+    /**
+     * Keeps the attached driver's view limited to its own context: window handles of other
+     * tests' contexts are hidden, and quit() disposes the context instead of the browser.
+     */
+    private final class ContextScopedDecorator extends WebDriverDecorator<WebDriver> {
+        private final ContextLease lease;
+
+        private ContextScopedDecorator(ContextLease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            if (target.getOriginal() instanceof WebDriver) {
+                if ("quit".equals(method.getName())) {
+                    release(lease.scopedDriver);
+                    return null;
+                }
+                if ("getWindowHandles".equals(method.getName())) {
+                    Set<String> contextTargets = lease.host.targetsInContext(lease.contextId);
+                    Set<String> handles = new LinkedHashSet<>();
+                    for (String handle : lease.attachedDriver.getWindowHandles()) {
+                        if (contextTargets.stream().anyMatch(handle::endsWith)) {
+                            handles.add(handle);
+                        }
+                    }
+                    return handles;
+                }
+            }
+            return super.call(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.exceptions.BrowserInitializationException;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds a warmed Chrome user-data directory once per run and gives every new local Chrome
+ * session its own copy, so sessions skip first-run setup and start with a disk cache primed
+ * by the QKart static assets.
+ * Copies use {@code cp --reflink=auto} where available (copy-on-write on Btrfs/XFS), falling
+ * back to a plain recursive copy. The template is rebuilt when a session reports a different
+ * browser version than the one it was built with.
+ */
+public final class ChromeProfileTemplate {
+    private static final Logger log = LogManager.getLogger(ChromeProfileTemplate.class);
+    private static final Path ROOT = Paths.get(FrameworkConstants.CACHE_PATH, "chrome-profiles");
+    private static final Path TEMPLATE = ROOT.resolve("template");
+    private static final Path COPIES = ROOT.resolve("sessions");
+    private static final String SINGLETON_LOCK = "SingletonLock";
+    private static final List<String> LOCK_FILES = List.of(SINGLETON_LOCK, "SingletonSocket", "SingletonCookie", "lockfile");
+    private static final String FIRST_LOAD_BINDING = "__qkartFirstLoad";
+    private static final long ASSET_QUIET_MILLIS = 500;
+    // Reports each page load measured by Navigation Timing to the CDP binding; nothing is stored in the page
+    private static final String FIRST_LOAD_RECORDER =
+            "window.addEventListener('load', function () { setTimeout(function () { try {"
+            + " var nav = performance.getEntriesByType('navigation')[0];"
+            + " window." + FIRST_LOAD_BINDING + "(String(Math.round(nav.loadEventEnd - nav.startTime)));"
+            + " } catch (e) {} }, 0); });";
+    // True once no resource has finished loading for the quiet window
+    private static final String ASSETS_QUIET =
+            "var last = 0; performance.getEntriesByType('resource').forEach(function (e) { last = Math.max(last, e.responseEnd); });"
+            + " return document.readyState === 'complete' && performance.now() - last >= arguments[0];";
+
+    private static ChromeProfileTemplate instance;
+
+    private final Map<WebDriver, Long> firstLoads = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong measuredSessions = new AtomicLong();
+    private final AtomicLong totalSavedMillis = new AtomicLong();
+    private final AtomicLong totalCopyMillis = new AtomicLong();
+    private volatile boolean reflinkSupported = true;
+    private String browserVersion;
+    private volatile long coldFirstLoadMillis = -1;
+
+    private ChromeProfileTemplate() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the shared template, creating it on first use.
+     */
+    public static synchronized ChromeProfileTemplate getInstance() {
+        if (instance == null) {
+            instance = new ChromeProfileTemplate();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a private copy of the warmed template for a new session, building the template
+     * first if needed. Copies of sessions whose browser has exited are removed on the way.
+     *
+     * @return The user-data directory to launch the session with
+     */
+    public Path newSessionProfile() {
+        Path template = getTemplate();
+        sweepUnusedCopies();
+        Path copy = COPIES.resolve(System.currentTimeMillis() + "-" + UUID.randomUUID());
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(COPIES);
+            copyTree(template, copy);
+            for (String lockFile : LOCK_FILES) {
+                Files.deleteIfExists(copy.resolve(lockFile));
+            }
+        } catch (IOException e) {
+            throw new BrowserInitializationException("chrome (profile copy to " + copy + ")", e);
+        }
+        totalCopyMillis.addAndGet(System.currentTimeMillis() - start);
+        sessions.incrementAndGet();
+        return copy;
+    }
+
+    /**
+     * Checks a new session against the template's browser version and starts recording its
+     * first page load through a CDP binding. A version mismatch invalidates the template for the
+     * sessions that follow.
+     */
+    public void onSessionStarted(WebDriver driver) {
+        String version = getBrowserVersion(driver);
+        synchronized (this) {
+            if (browserVersion != null && !browserVersion.equals(version)) {
+                log.warn("Browser version changed from {} to {} - Chrome profile template will be rebuilt",
+                        browserVersion, version);
+                browserVersion = null;
+            }
+        }
+        try {
+            CdpUtils.addListener(driver, "Runtime.bindingCalled", event -> {
+                if (FIRST_LOAD_BINDING.equals(event.get("name"))) {
+                    firstLoads.putIfAbsent(driver, Long.parseLong((String) event.get("payload")));
+                }
+            });
+            CdpUtils.send(driver, "Runtime.addBinding", Map.of("name", FIRST_LOAD_BINDING));
+            CdpUtils.execute(driver, "Page.addScriptToEvaluateOnNewDocument", Map.of("source", FIRST_LOAD_RECORDER));
+        } catch (Exception e) {
+            log.debug("First page load recording unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reports the first page load of a session against the cold-profile baseline. Only the
+     * first call per session yields a result.
+     *
+     * @return A report line, or {@code null} if nothing was measured
+     */
+    public String summarizeSession(WebDriver driver) {
+        Long firstLoadMillis = firstLoads.get(driver);
+        if (coldFirstLoadMillis < 0 || firstLoadMillis == null || firstLoadMillis < 0) {
+            return null;
+        }
+        // Marks the session as reported while keeping later loads from being recorded as its first
+        firstLoads.put(driver, -1L);
+        long savedMillis = coldFirstLoadMillis - firstLoadMillis;
+        measuredSessions.incrementAndGet();
+        totalSavedMillis.addAndGet(savedMillis);
+        return String.format("Profile template - first page load: %d ms | cold profile: %d ms | saved: %d ms",
+                firstLoadMillis, coldFirstLoadMillis, savedMillis);
+    }
+
+    /**
+     * Removes all session copies and reports the average first-load saving.
+     * Call after every session has been quit.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        ChromeProfileTemplate template = instance;
+        instance = null;
+        deleteTree(COPIES);
+
+        long measured = template.measuredSessions.get();
+        long created = template.sessions.get();
+        String summary = String.format("Sessions: %d | Avg first page load saved: %d ms | Avg profile copy: %d ms",
+                created, measured == 0 ? 0 : template.totalSavedMillis.get() / measured,
+                created == 0 ? 0 : template.totalCopyMillis.get() / created);
+        log.info("Chrome profile template - {}", summary);
+        ExtentManager.addSystemInfo("Chrome Profile Template", summary);
+    }
+
+    private synchronized Path getTemplate() {
+        if (browserVersion == null) {
+            build();
+        }
+        return TEMPLATE;
+    }
+
+    /**
+     * Launches Chrome on an empty profile, loads the application so the disk cache and
+     * first-run state are populated, and keeps the resulting directory as the template once
+     * Chrome has exited. The load time on the empty profile is the cold-start baseline.
+     * The builder is a regular local session, so a build that hangs past the session deadline
+     * is killed by {@link SessionWatchdog}.
+     */
+    private void build() {
+        log.info("Building Chrome profile template from {}", ConfigManager.getUrl());
+        deleteTree(TEMPLATE);
+        ChromeOptions options = OptionsManager.createChromeOptions();
+        options.addArguments("--user-data-dir=" + TEMPLATE);
+
+        Duration timeout = Duration.ofSeconds(ConfigManager.getPageLoadTimeout());
+        WebDriver builder = DriverFactory.createChromeDriver(options);
+        List<Long> browserPids = ProcessUtils.children(SessionWatchdog.getDriverPid(builder));
+        SessionWatchdog.markActive(builder);
+        try {
+            builder.manage().timeouts().pageLoadTimeout(timeout);
+            builder.get(ConfigManager.getUrl());
+            new WebDriverWait(builder, timeout)
+                    .until(d -> ((JavascriptExecutor) d).executeScript(
+                            "var nav = performance.getEntriesByType('navigation')[0]; return nav && nav.loadEventEnd > 0;")
+                            .equals(Boolean.TRUE));
+            coldFirstLoadMillis = ((Number) ((JavascriptExecutor) builder).executeScript(
+                    "var nav = performance.getEntriesByType('navigation')[0]; return Math.round(nav.loadEventEnd - nav.startTime);"))
+                    .longValue();
+            // Let late static assets land in the cache, then drop application state
+            new WebDriverWait(builder, timeout)
+                    .until(d -> ((JavascriptExecutor) d).executeScript(ASSETS_QUIET, ASSET_QUIET_MILLIS)
+                            .equals(Boolean.TRUE));
+            ((JavascriptExecutor) builder).executeScript("localStorage.clear(); sessionStorage.clear();");
+            builder.manage().deleteAllCookies();
+            browserVersion = getBrowserVersion(builder);
+        } catch (WebDriverException e) {
+            throw new BrowserInitializationException("chrome (profile template)", e);
+        } finally {
+            SessionWatchdog.markIdle(builder);
+            try {
+                builder.quit();
+                SessionWatchdog.unregister(builder);
+            } catch (WebDriverException e) {
+                log.warn("Profile template builder did not quit cleanly - killing it: {}", e.getMessage());
+                SessionWatchdog.killSession(builder);
+            }
+            awaitExit(browserPids, timeout);
+        }
+        log.info("Chrome profile template ready for Chrome {} - cold first page load {} ms",
+                browserVersion, coldFirstLoadMillis);
+    }
+
+    /**
+     * Waits for the builder's Chrome to exit, as it flushes the profile to disk on the way out;
+     * copying it earlier could catch a half-written cache index or preferences file.
+     */
+    private static void awaitExit(List<Long> browserPids, Duration timeout) {
+        try {
+            new FluentWait<>(browserPids)
+                    .withTimeout(timeout)
+                    .pollingEvery(Duration.ofMillis(100))
+                    .until(pids -> pids.stream().noneMatch(ProcessUtils::isAlive));
+        } catch (TimeoutException e) {
+            log.warn("Profile template builder still running after {}s - killing it", timeout.getSeconds());
+            browserPids.forEach(ProcessUtils::killTree);
+        }
+    }
+
+    private void copyTree(Path source, Path target) throws IOException {
+        if (reflinkSupported) {
+            try {
+                Process copy = new ProcessBuilder("cp", "-a", "--reflink=auto", source.toString(), target.toString())
+                        .redirectErrorStream(true)
+                        .start();
+                if (copy.waitFor() == 0) {
+                    return;
+                }
+                log.debug("cp --reflink=auto failed with exit code {} - using plain copy", copy.exitValue());
+            } catch (IOException e) {
+                log.debug("cp not available ({}) - using plain copy", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while copying profile", e);
+            }
+            reflinkSupported = false;
+            deleteTree(target);
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!attrs.isSymbolicLink()) {
+                    Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Deletes copies whose Chrome has exited. Chrome holds a SingletonLock link in its
+     * user-data directory while running; copies younger than the page load timeout are kept
+     * because their browser may still be starting.
+     */
+    private static void sweepUnusedCopies() {
+        if (!Files.isDirectory(COPIES)) {
+            return;
+        }
+        long startupGraceMillis = TimeUnit.SECONDS.toMillis(ConfigManager.getPageLoadTimeout());
+        try (Stream<Path> copies = Files.list(COPIES)) {
+            for (Path copy : copies.collect(Collectors.toList())) {
+                long createdAt = Long.parseLong(copy.getFileName().toString().split("-", 2)[0]);
+                boolean running = Files.exists(copy.resolve(SINGLETON_LOCK), LinkOption.NOFOLLOW_LINKS);
+                if (!running && System.currentTimeMillis() - createdAt > startupGraceMillis) {
+                    deleteTree(copy);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Unable to sweep Chrome profile copies: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteTree(Path root) {
+        if (!Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to delete {}: {}", root, e.getMessage());
+        }
+    }
+
+    private static String getBrowserVersion(WebDriver driver) {
+        return driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserVersion()
+                : "unknown";
+    }
+}
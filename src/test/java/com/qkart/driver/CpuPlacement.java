@@ -0,0 +1,257 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.enums.CpuPlacementMode;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Places local browser process trees on the host's CPUs so renderers cannot starve the test
+ * JVM (Linux only).
+ * The first {@code jvmReservedCores} cores are kept for the JVM, which is pinned to them; the
+ * remaining cores are split between worker slots. Each worker's browsers are either pinned to
+ * the slot's CPU set with {@code taskset} or moved into a per-slot cgroup v2 group with a CPU
+ * quota and optional memory limit. Per-worker throttling (cgroup) or run-queue wait
+ * (affinity) is recorded to tune the split.
+ */
+public final class CpuPlacement {
+    private static final Logger log = LogManager.getLogger(CpuPlacement.class);
+    private static final long CPU_PERIOD_MICROS = 100_000;
+
+    private static CpuPlacement instance;
+    private static boolean unsupported;
+
+    private final CpuPlacementMode mode;
+    private final List<String> slotCpuSets = new ArrayList<>();
+    private final Map<String, Integer> slotsByThread = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> slotsByDriverPid = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> lastWaitByDriverPid = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> runQueueWaitBySlot = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final Path cgroupRoot;
+
+    private CpuPlacement(CpuPlacementMode mode, int totalCores, int reservedCores, int slots) {
+        this.mode = mode;
+        this.cgroupRoot = Paths.get(ConfigManager.getCgroupRoot());
+        int browserCores = totalCores - reservedCores;
+        for (int slot = 0; slot < slots; slot++) {
+            // Contiguous ranges; slots share cores when there are more slots than cores
+            int first = reservedCores + (slot * browserCores / slots) % browserCores;
+            int last = Math.max(first, reservedCores + ((slot + 1) * browserCores / slots) - 1);
+            slotCpuSets.add(first == last ? String.valueOf(first) : first + "-" + last);
+        }
+    }
+
+    /**
+     * Gets the shared placement layer, or {@code null} when placement is disabled or the host
+     * cannot support it. The JVM is pinned to its reserved cores on first use.
+     */
+    public static synchronized CpuPlacement getInstance() {
+        CpuPlacementMode mode = ConfigManager.getCpuPlacementMode();
+        if (mode == CpuPlacementMode.NONE || unsupported) {
+            return null;
+        }
+        if (instance == null) {
+            int totalCores = Runtime.getRuntime().availableProcessors();
+            int reservedCores = ConfigManager.getJvmReservedCores();
+            if (!System.getProperty("os.name").toLowerCase().contains("linux") || totalCores <= reservedCores) {
+                log.warn("CPU placement disabled - needs Linux and more than {} cores (found {})", reservedCores, totalCores);
+                unsupported = true;
+                return null;
+            }
+            instance = new CpuPlacement(mode, totalCores, reservedCores, ConfigManager.getMaxParallelism());
+            instance.pinJvm(reservedCores);
+        }
+        return instance;
+    }
+
+    /**
+     * Places a newly started driver and its browser tree into the calling worker's slot.
+     *
+     * @param driverPid PID of the driver executable
+     */
+    public void place(long driverPid) {
+        place(driverPid, Thread.currentThread().getName());
+    }
+
+    /**
+     * Places a newly started driver and its browser tree into a worker's slot.
+     *
+     * @param driverPid PID of the driver executable
+     * @param worker    Name of the worker thread that will use the driver
+     */
+    public void place(long driverPid, String worker) {
+        if (driverPid <= 0) {
+            return;
+        }
+        int slot = slotsByThread.computeIfAbsent(worker,
+                name -> nextSlot.getAndIncrement() % slotCpuSets.size());
+        slotsByDriverPid.put(driverPid, slot);
+        List<Long> tree = ProcessUtils.processTree(driverPid);
+        boolean placed = mode == CpuPlacementMode.CGROUP ? moveToCgroup(slot, tree) : pin(tree, slotCpuSets.get(slot));
+        if (placed) {
+            log.debug("Placed driver {} ({} processes) in worker slot {} (CPUs {})",
+                    driverPid, tree.size(), slot, slotCpuSets.get(slot));
+        }
+    }
+
+    /**
+     * Records how long a session's browsers waited for CPU during the test that just ended.
+     *
+     * @return A report line for the test, or {@code null} if the session was not placed
+     */
+    public String recordTest(WebDriver driver) {
+        long driverPid = SessionWatchdog.getDriverPid(driver);
+        Integer slot = slotsByDriverPid.get(driverPid);
+        if (slot == null) {
+            return null;
+        }
+        long waitMillis = ProcessUtils.treeRunQueueWaitMillis(driverPid);
+        // schedstat is cumulative per process, so only the increase since the last test counts
+        AtomicLong lastWait = lastWaitByDriverPid.computeIfAbsent(driverPid, pid -> new AtomicLong());
+        long testWaitMillis = Math.max(0, waitMillis - lastWait.getAndSet(waitMillis));
+        runQueueWaitBySlot.computeIfAbsent(slot, key -> new AtomicLong()).addAndGet(testWaitMillis);
+        return String.format("CPU placement - worker slot %d (CPUs %s) | browser run-queue wait: %d ms",
+                slot, slotCpuSets.get(slot), testWaitMillis);
+    }
+
+    /**
+     * Reports per-worker throttling and removes the cgroups. Call after all sessions have quit.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        CpuPlacement placement = instance;
+        instance = null;
+
+        List<String> perSlot = new ArrayList<>();
+        for (int slot = 0; slot < placement.slotCpuSets.size(); slot++) {
+            if (!placement.slotsByDriverPid.containsValue(slot)) {
+                continue;
+            }
+            String line = String.format("slot %d (CPUs %s): run-queue wait %d ms", slot, placement.slotCpuSets.get(slot),
+                    placement.runQueueWaitBySlot.getOrDefault(slot, new AtomicLong()).get());
+            if (placement.mode == CpuPlacementMode.CGROUP) {
+                line += placement.readThrottling(slot);
+                placement.removeCgroup(slot);
+            }
+            perSlot.add(line);
+            log.info("CPU placement - {}", line);
+        }
+        ExtentManager.addSystemInfo("CPU Placement", placement.mode.getModeName() + " | " + String.join("; ", perSlot));
+    }
+
+    private void pinJvm(int reservedCores) {
+        String jvmCpus = reservedCores <= 1 ? "0" : "0-" + (reservedCores - 1);
+        if (runTaskset(jvmCpus, ProcessHandle.current().pid())) {
+            log.info("CPU placement ({}) - JVM pinned to CPUs {}, browser slots {}", mode.getModeName(), jvmCpus, slotCpuSets);
+        }
+    }
+
+    private static boolean pin(List<Long> pids, String cpus) {
+        boolean pinned = true;
+        for (long pid : pids) {
+            pinned &= runTaskset(cpus, pid);
+        }
+        return pinned;
+    }
+
+    /**
+     * Runs {@code taskset -a -p -c} so every thread of the process, and every process it forks
+     * later, stays on the given CPUs.
+     */
+    private static boolean runTaskset(String cpus, long pid) {
+        try {
+            Process taskset = new ProcessBuilder("taskset", "-a", "-p", "-c", cpus, String.valueOf(pid))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (taskset.waitFor(5, TimeUnit.SECONDS) && taskset.exitValue() == 0) {
+                return true;
+            }
+            log.warn("taskset failed to pin process {} to CPUs {}", pid, cpus);
+        } catch (IOException e) {
+            log.warn("taskset is not available: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Moves a process tree into the slot's cgroup, creating the group with its CPU quota,
+     * CPU set and memory limit on first use. Falls back to CPU affinity if the cgroup
+     * hierarchy is not writable.
+     */
+    private boolean moveToCgroup(int slot, List<Long> pids) {
+        Path group = cgroupRoot.resolve("worker-" + slot);
+        try {
+            if (!Files.isDirectory(group)) {
+                Files.createDirectories(group);
+                Files.writeString(cgroupRoot.resolve("cgroup.subtree_control"), "+cpu +cpuset +memory");
+                long quota = CPU_PERIOD_MICROS * Math.max(1, countCpus(slotCpuSets.get(slot)));
+                Files.writeString(group.resolve("cpu.max"), quota + " " + CPU_PERIOD_MICROS);
+                Files.writeString(group.resolve("cpuset.cpus"), slotCpuSets.get(slot));
+                int memoryLimitMb = ConfigManager.getBrowserMemoryLimitMb();
+                if (memoryLimitMb > 0) {
+                    Files.writeString(group.resolve("memory.max"), String.valueOf(memoryLimitMb * 1024L * 1024L));
+                }
+            }
+            for (long pid : pids) {
+                Files.writeString(group.resolve("cgroup.procs"), String.valueOf(pid));
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to use cgroup {} ({}) - pinning with CPU affinity instead", group, e.getMessage());
+            return pin(pids, slotCpuSets.get(slot));
+        }
+    }
+
+    private String readThrottling(int slot) {
+        Path cpuStat = cgroupRoot.resolve("worker-" + slot).resolve("cpu.stat");
+        try {
+            long throttledPeriods = 0;
+            long throttledMicros = 0;
+            for (String line : Files.readAllLines(cpuStat)) {
+                String[] fields = line.split(" ");
+                if ("nr_throttled".equals(fields[0])) {
+                    throttledPeriods = Long.parseLong(fields[1]);
+                } else if ("throttled_usec".equals(fields[0])) {
+                    throttledMicros = Long.parseLong(fields[1]);
+                }
+            }
+            return String.format(", throttled %d periods / %d ms", throttledPeriods, throttledMicros / 1000);
+        } catch (IOException | RuntimeException e) {
+            return ", throttling unavailable";
+        }
+    }
+
+    private void removeCgroup(int slot) {
+        try {
+            Files.deleteIfExists(cgroupRoot.resolve("worker-" + slot));
+        } catch (IOException e) {
+            log.debug("Unable to remove cgroup worker-{}: {}", slot, e.getMessage());
+        }
+    }
+
+    private static int countCpus(String cpuSet) {
+        String[] range = cpuSet.split("-");
+        return range.length == 1 ? 1 : Integer.parseInt(range[1]) - Integer.parseInt(range[0]) + 1;
+    }
+}
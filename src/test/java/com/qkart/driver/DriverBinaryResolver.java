@@ -0,0 +1,225 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.enums.BrowserType;
+import com.qkart.exceptions.ConfigurationException;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide resolver for browser driver binaries.
+ * Resolves each browser's driver at most once per JVM and persists the resolved path with a
+ * SHA-256 checksum, so later runs (including air-gapped ones) skip WebDriverManager entirely
+ * while the cached binary is still intact.
+ */
+public final class DriverBinaryResolver {
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final Map<BrowserType, Path> resolvedDrivers = new ConcurrentHashMap<>();
+    private static final List<String> VERSION_MISMATCH_MARKERS = List.of(
+            "only supports Chrome version", "This version of ChromeDriver",
+            "only supports Microsoft Edge version", "This version of Microsoft Edge WebDriver");
+
+    private DriverBinaryResolver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Resolves the driver binary for the given browser and registers it with Selenium.
+     * Only the first call per browser type does any work; later calls are a map lookup.
+     *
+     * @param browserType The browser whose driver is needed
+     * @return Path to the driver binary
+     */
+    public static Path resolve(BrowserType browserType) {
+        return resolvedDrivers.computeIfAbsent(browserType, DriverBinaryResolver::resolveOnce);
+    }
+
+    /**
+     * Checks whether a failed session start was caused by the browser no longer matching the
+     * driver binary, as opposed to a transient failure (browser crash, port clash, display not ready).
+     */
+    public static boolean isVersionMismatch(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && VERSION_MISMATCH_MARKERS.stream().anyMatch(message::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the cached entry for a browser after a session failed to start because the
+     * browser was upgraded past the cached driver. The next run resolves it again.
+     * In offline mode the entry is kept: it cannot be replaced without the network, and
+     * dropping it would break every later air-gapped run.
+     *
+     * @param browserType The browser whose cache entry is stale
+     */
+    public static synchronized void invalidate(BrowserType browserType) {
+        if (ConfigManager.isDriverResolutionOffline()) {
+            log.warn("Cached {} driver does not match the installed browser; keeping it because driver "
+                    + "resolution is offline - update the cache from a networked run", browserType.getBrowserName());
+            return;
+        }
+        resolvedDrivers.remove(browserType);
+        Properties cache = loadCache();
+        String prefix = browserType.getBrowserName() + ".";
+        cache.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(prefix))
+                .forEach(cache::remove);
+        storeCache(cache);
+        log.warn("Invalidated cached driver binary for browser: {}", browserType.getBrowserName());
+    }
+
+    private static Path resolveOnce(BrowserType browserType) {
+        long start = System.currentTimeMillis();
+        Path driverPath = readValidCacheEntry(browserType);
+
+        if (driverPath != null) {
+            log.info("Using cached {} driver (offline): {}", browserType.getBrowserName(), driverPath);
+        } else if (ConfigManager.isDriverResolutionOffline()) {
+            throw new ConfigurationException(String.format(
+                    "Offline driver resolution is enabled but no valid cached %s driver exists in %s",
+                    browserType.getBrowserName(), FrameworkConstants.DRIVER_CACHE_FILE));
+        } else {
+            driverPath = resolveWithWebDriverManager(browserType);
+            writeCacheEntry(browserType, driverPath);
+        }
+
+        System.setProperty(getDriverSystemProperty(browserType), driverPath.toString());
+        log.info("{} driver resolved in {} ms", browserType.getBrowserName(), System.currentTimeMillis() - start);
+        return driverPath;
+    }
+
+    private static Path resolveWithWebDriverManager(BrowserType browserType) {
+        log.info("Resolving {} driver with WebDriverManager", browserType.getBrowserName());
+        WebDriverManager manager;
+        switch (browserType) {
+            case FIREFOX:
+                manager = WebDriverManager.firefoxdriver();
+                break;
+            case EDGE:
+                manager = WebDriverManager.edgedriver();
+                break;
+            case CHROME:
+            default:
+                manager = WebDriverManager.chromedriver();
+                break;
+        }
+        manager.setup();
+        return Paths.get(manager.getDownloadedDriverPath()).toAbsolutePath();
+    }
+
+    /**
+     * Returns the cached driver path if the cache entry exists and the binary's checksum
+     * still matches, otherwise null.
+     */
+    private static synchronized Path readValidCacheEntry(BrowserType browserType) {
+        Properties cache = loadCache();
+        String cachedPath = cache.getProperty(browserType.getBrowserName() + ".path");
+        String cachedChecksum = cache.getProperty(browserType.getBrowserName() + ".sha256");
+        if (cachedPath == null || cachedChecksum == null) {
+            return null;
+        }
+
+        Path driverPath = Paths.get(cachedPath);
+        if (!Files.isRegularFile(driverPath)) {
+            log.warn("Cached {} driver no longer exists: {}", browserType.getBrowserName(), driverPath);
+            return null;
+        }
+        String actualChecksum = sha256(driverPath);
+        if (!cachedChecksum.equals(actualChecksum)) {
+            log.warn("Checksum mismatch for cached {} driver: {}", browserType.getBrowserName(), driverPath);
+            return null;
+        }
+        return driverPath;
+    }
+
+    private static synchronized void writeCacheEntry(BrowserType browserType, Path driverPath) {
+        Properties cache = loadCache();
+        cache.setProperty(browserType.getBrowserName() + ".path", driverPath.toString());
+        cache.setProperty(browserType.getBrowserName() + ".sha256", sha256(driverPath));
+        cache.setProperty(browserType.getBrowserName() + ".resolvedAt", String.valueOf(System.currentTimeMillis()));
+        storeCache(cache);
+        log.info("Cached {} driver binary: {}", browserType.getBrowserName(), driverPath);
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        Path cacheFile = Paths.get(FrameworkConstants.DRIVER_CACHE_FILE);
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException e) {
+                log.warn("Unable to read driver cache file {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Writes the cache through a temporary file and an atomic move, so concurrent runs
+     * never observe a half-written cache.
+     */
+    private static void storeCache(Properties cache) {
+        Path cacheFile = Paths.get(FrameworkConstants.DRIVER_CACHE_FILE);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), "driver-binaries", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                cache.store(out, "Resolved driver binaries - safe to delete");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to write driver cache file {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("Unable to checksum driver binary {}: {}", file, e.getMessage());
+            return "";
+        }
+    }
+
+    private static String getDriverSystemProperty(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            case CHROME:
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.qkart.driver;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for telling a stale driver binary from a transient session failure. No browser needed.
+ */
+public class DriverBinaryResolverTests {
+
+    @Test(description = "A browser newer than the cached driver is a version mismatch")
+    public void chromeVersionMismatchIsDetected() {
+        SessionNotCreatedException failure = new SessionNotCreatedException(
+                "session not created: This version of ChromeDriver only supports Chrome version 114\n"
+                        + "Current browser version is 120.0.6099.109");
+
+        Assert.assertTrue(DriverBinaryResolver.isVersionMismatch(failure));
+    }
+
+    @Test(description = "A mismatch reported by a wrapped cause is still detected")
+    public void wrappedMismatchIsDetected() {
+        SessionNotCreatedException failure = new SessionNotCreatedException("Could not start a new session",
+                new WebDriverException("This version of Microsoft Edge WebDriver only supports Microsoft Edge version 118"));
+
+        Assert.assertTrue(DriverBinaryResolver.isVersionMismatch(failure));
+    }
+
+    @Test(description = "Crashes, port clashes and display failures leave the cache alone")
+    public void transientFailuresAreNotMismatches() {
+        Assert.assertFalse(DriverBinaryResolver.isVersionMismatch(new SessionNotCreatedException(
+                "session not created: Chrome failed to start: crashed.")));
+        Assert.assertFalse(DriverBinaryResolver.isVersionMismatch(new SessionNotCreatedException(
+                "Could not start a new session. Possible causes are invalid address of the remote server or browser start-up failure.",
+                new WebDriverException("java.net.BindException: Address already in use"))));
+        Assert.assertFalse(DriverBinaryResolver.isVersionMismatch(new SessionNotCreatedException(
+                "session not created: Missing X server or $DISPLAY")));
+    }
+}
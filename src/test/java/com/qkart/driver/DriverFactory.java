@@ -2,14 +2,24 @@ package com.qkart.driver;
 
 import com.qkart.config.ConfigManager;
 import com.qkart.enums.BrowserType;
+import com.qkart.enums.ExecutionMode;
 import com.qkart.exceptions.BrowserInitializationException;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.qkart.utils.ProcessUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
 
 /**
  * Factory class for creating WebDriver instances.
@@ -29,28 +39,106 @@ public final class DriverFactory {
      * @throws BrowserInitializationException if browser initialization fails
      */
     public static WebDriver createDriver() {
-        BrowserType browserType = ConfigManager.getBrowser();
+        return createDriver(ConfigManager.getBrowser());
+    }
+
+    /**
+     * Creates a WebDriver instance for a specific browser type.
+     * Local driver binaries are resolved once per JVM by {@link DriverBinaryResolver};
+     * in remote execution mode the session is placed by {@link RemoteNodeScheduler}.
+     * Local sessions are registered with {@link SessionWatchdog} and, in headed virtual display
+     * mode, started on a display from {@link VirtualDisplayPool}.
+     *
+     * @param browserType The type of browser to create
+     * @return A new WebDriver instance
+     */
+    public static WebDriver createDriver(BrowserType browserType) {
+        return createDriver(browserType, Thread.currentThread().getName());
+    }
+
+    /**
+     * Creates a WebDriver of the configured browser on behalf of a worker thread, e.g. when it is
+     * built ahead of time on a background thread. CPU placement uses the worker's slot.
+     *
+     * @param worker Name of the worker thread that will use the driver
+     * @return A new WebDriver instance
+     */
+    public static WebDriver createDriverFor(String worker) {
+        return createDriver(ConfigManager.getBrowser(), worker);
+    }
+
+    /**
+     * Creates a local Chrome session with the given options instead of the configured ones, e.g.
+     * to build the profile template. It is tracked and placed like any other local session.
+     *
+     * @param options The options to launch Chrome with
+     * @return A new ChromeDriver instance
+     */
+    static WebDriver createChromeDriver(ChromeOptions options) {
+        return createLocalDriver(BrowserType.CHROME, options, Thread.currentThread().getName());
+    }
+
+    private static WebDriver createDriver(BrowserType browserType, String worker) {
+        if (ConfigManager.getExecutionMode() == ExecutionMode.REMOTE) {
+            log.info("Initializing remote WebDriver for browser: {}", browserType.getBrowserName());
+            return RemoteNodeScheduler.getInstance().createSession(getOptions(browserType));
+        }
+        WebDriver driver = createLocalDriver(browserType, getOptions(browserType), worker);
+        if (browserType == BrowserType.CHROME && ConfigManager.isProfileTemplateEnabled()) {
+            ChromeProfileTemplate.getInstance().onSessionStarted(driver);
+        }
+        return driver;
+    }
+
+    private static WebDriver createLocalDriver(BrowserType browserType, Capabilities options, String worker) {
         log.info("Initializing WebDriver for browser: {}", browserType.getBrowserName());
 
         try {
+            DriverBinaryResolver.resolve(browserType);
+            VirtualDisplayPool.Display display = ConfigManager.isVirtualDisplayEnabled()
+                    ? VirtualDisplayPool.getInstance().acquire()
+                    : null;
             WebDriver driver;
-            switch (browserType) {
-                case FIREFOX:
-                    WebDriverManager.firefoxdriver().setup();
-                    driver = new FirefoxDriver(OptionsManager.getFirefoxOptions());
-                    break;
-                case EDGE:
-                    WebDriverManager.edgedriver().setup();
-                    driver = new EdgeDriver(OptionsManager.getEdgeOptions());
-                    break;
-                case CHROME:
-                default:
-                    WebDriverManager.chromedriver().setup();
-                    driver = new ChromeDriver(OptionsManager.getChromeOptions());
-                    break;
+            DriverService service = null;
+            try {
+                switch (browserType) {
+                    case FIREFOX:
+                        GeckoDriverService geckoService = buildService(new GeckoDriverService.Builder(), display);
+                        service = geckoService;
+                        driver = new FirefoxDriver(geckoService, (FirefoxOptions) options);
+                        break;
+                    case EDGE:
+                        EdgeDriverService edgeService = buildService(new EdgeDriverService.Builder(), display);
+                        service = edgeService;
+                        driver = new EdgeDriver(edgeService, (EdgeOptions) options);
+                        break;
+                    case CHROME:
+                    default:
+                        ChromeDriverService chromeService = buildService(new ChromeDriverService.Builder(), display);
+                        service = chromeService;
+                        driver = new ChromeDriver(chromeService, (ChromeOptions) options);
+                        break;
+                }
+            } finally {
+                if (display != null) {
+                    display.attach(service);
+                }
+            }
+            long driverPid = ProcessUtils.findChildProcessByPort(service.getUrl().getPort());
+            SessionWatchdog.register(driver, driverPid);
+            CpuPlacement placement = CpuPlacement.getInstance();
+            if (placement != null) {
+                placement.place(driverPid, worker);
             }
             log.info("WebDriver initialized successfully for browser: {}", browserType.getBrowserName());
             return driver;
+        } catch (SessionNotCreatedException e) {
+            // Only a browser upgrade past the cached driver makes the cache stale; other failures are transient
+            if (DriverBinaryResolver.isVersionMismatch(e)) {
+                DriverBinaryResolver.invalidate(browserType);
+            }
+            log.error("Failed to create session for browser: {}", browserType.getBrowserName(), e);
+            throw new BrowserInitializationException(browserType.getBrowserName(), e);
         } catch (Exception e) {
             log.error("Failed to initialize WebDriver for browser: {}", browserType.getBrowserName(), e);
             throw new BrowserInitializationException(browserType.getBrowserName(), e);
@@ -58,36 +146,46 @@ public final class DriverFactory {
     }
 
     /**
-     * Creates a WebDriver instance for a specific browser type.
+     * Attaches a new ChromeDriver to an already running Chrome through its debugger address.
+     * The attached driver executable is registered with {@link SessionWatchdog}; the browser
+     * itself stays owned by the session that launched it.
      *
-     * @param browserType The type of browser to create
-     * @return A new WebDriver instance
+     * @param debuggerAddress The host:port of the running Chrome's DevTools endpoint
+     * @return A driver controlling the existing browser
      */
-    public static WebDriver createDriver(BrowserType browserType) {
-        log.info("Initializing WebDriver for specified browser: {}", browserType.getBrowserName());
+    public static ChromeDriver attachToChrome(String debuggerAddress) {
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        ChromeDriverService service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+        ChromeDriver driver = new ChromeDriver(service, options);
+        SessionWatchdog.register(driver, ProcessUtils.findChildProcessByPort(service.getUrl().getPort()));
+        return driver;
+    }
 
-        try {
-            WebDriver driver;
-            switch (browserType) {
-                case FIREFOX:
-                    WebDriverManager.firefoxdriver().setup();
-                    driver = new FirefoxDriver(OptionsManager.getFirefoxOptions());
-                    break;
-                case EDGE:
-                    WebDriverManager.edgedriver().setup();
-                    driver = new EdgeDriver(OptionsManager.getEdgeOptions());
-                    break;
-                case CHROME:
-                default:
-                    WebDriverManager.chromedriver().setup();
-                    driver = new ChromeDriver(OptionsManager.getChromeOptions());
-                    break;
-            }
-            log.info("WebDriver initialized successfully");
-            return driver;
-        } catch (Exception e) {
-            log.error("Failed to initialize WebDriver", e);
-            throw new BrowserInitializationException(browserType.getBrowserName(), e);
+    /**
+     * Builds a driver service on a free port, pointed at the given virtual display if any.
+     */
+    private static <S extends DriverService> S buildService(DriverService.Builder<S, ?> builder,
+                                                            VirtualDisplayPool.Display display) {
+        builder.usingAnyFreePort();
+        if (display != null) {
+            builder.withEnvironment(display.getEnvironment());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the configured options for a browser type.
+     */
+    private static Capabilities getOptions(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return OptionsManager.getFirefoxOptions();
+            case EDGE:
+                return OptionsManager.getEdgeOptions();
+            case CHROME:
+            default:
+                return OptionsManager.getChromeOptions();
         }
     }
-}
\ No newline at end of file
+}
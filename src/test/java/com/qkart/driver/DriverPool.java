@@ -0,0 +1,275 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.exceptions.FrameworkException;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of live WebDriver sessions that are leased per test instead of being
+ * quit and relaunched. Sessions are reset and health-checked on return; unhealthy
+ * sessions are evicted and replaced on demand.
+ */
+public final class DriverPool {
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+    private static final String BLANK_PAGE = "about:blank";
+    // A static file on the application's origin: a document there without running the application
+    private static final String ORIGIN_STATIC_PATH = "/favicon.ico";
+    private static final long POLL_SLICE_MS = 200;
+    private static DriverPool instance;
+
+    private final int maxSize;
+    private final long leaseTimeoutNanos;
+    private final Semaphore capacity;
+    private final BlockingDeque<WebDriver> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> sessions = new ConcurrentHashMap<>();
+
+    // Sizing metrics
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private DriverPool(int maxSize, int leaseTimeoutInSeconds) {
+        this.maxSize = maxSize;
+        this.leaseTimeoutNanos = TimeUnit.SECONDS.toNanos(leaseTimeoutInSeconds);
+        this.capacity = new Semaphore(maxSize);
+        log.info("Driver pool created - max sessions: {}, lease timeout: {}s", maxSize, leaseTimeoutInSeconds);
+    }
+
+    /**
+     * Gets the JVM-wide pool, creating it from configuration on first use.
+     */
+    public static synchronized DriverPool getInstance() {
+        if (instance == null) {
+            instance = new DriverPool(ConfigManager.getPoolSize(), ConfigManager.getPoolLeaseTimeout());
+        }
+        return instance;
+    }
+
+    /**
+     * Leases a session, reusing an idle one when available and creating a new one while
+     * the pool is below capacity. Blocks until a session is returned otherwise.
+     *
+     * @return A ready-to-use WebDriver session
+     * @throws FrameworkException if no session becomes available within the lease timeout
+     */
+    public WebDriver lease() {
+        long start = System.nanoTime();
+        long deadline = start + leaseTimeoutNanos;
+        WebDriver webDriver = idleSessions.pollFirst();
+
+        try {
+            while (webDriver == null) {
+                if (capacity.tryAcquire()) {
+                    webDriver = createSession();
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new FrameworkException(String.format(
+                            "Timed out after %d seconds waiting to lease a browser session (pool size: %d)",
+                            TimeUnit.NANOSECONDS.toSeconds(leaseTimeoutNanos), maxSize));
+                }
+                webDriver = idleSessions.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_SLICE_MS)),
+                        TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting to lease a browser session", e);
+        }
+
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        leases.incrementAndGet();
+
+        int leaseCount = sessions.get(webDriver).leaseCount++;
+        if (leaseCount > 0) {
+            reuses.incrementAndGet();
+        }
+        log.debug("Leased pooled session (lease #{}) after waiting {} ms", leaseCount + 1,
+                TimeUnit.NANOSECONDS.toMillis(waited));
+        return webDriver;
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset and health-checked first;
+     * a session that fails either step is evicted.
+     *
+     * @param webDriver The session being returned
+     */
+    public void release(WebDriver webDriver) {
+        PooledSession session = sessions.get(webDriver);
+        if (session == null) {
+            log.warn("Attempted to release a session that is not owned by the pool - quitting it");
+            quitQuietly(webDriver);
+            return;
+        }
+
+        if (resetSession(webDriver, session) && isHealthy(webDriver)) {
+            idleSessions.offerFirst(webDriver);
+            log.debug("Session returned to pool ({} idle)", idleSessions.size());
+        } else {
+            evict(webDriver);
+        }
+    }
+
+    /**
+     * Removes a session from the pool and quits it, freeing capacity for a replacement.
+     *
+     * @param webDriver The session to evict
+     */
+    public void evict(WebDriver webDriver) {
+        if (sessions.remove(webDriver) != null) {
+            idleSessions.remove(webDriver);
+            evictions.incrementAndGet();
+            quitQuietly(webDriver);
+            capacity.release();
+            log.warn("Evicted pooled session ({} live sessions remaining)", sessions.size());
+        }
+    }
+
+    /**
+     * Quits every pooled session and reports pool metrics. Safe to call more than once.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        DriverPool pool = instance;
+        instance = null;
+
+        List<WebDriver> liveSessions = new ArrayList<>(pool.sessions.keySet());
+        pool.sessions.clear();
+        pool.idleSessions.clear();
+        liveSessions.forEach(DriverPool::quitQuietly);
+        log.info("Driver pool shut down - {} sessions quit", liveSessions.size());
+        pool.reportMetrics();
+    }
+
+    private WebDriver createSession() {
+        try {
+            WebDriver webDriver = DriverFactory.createDriver();
+            sessions.put(webDriver, new PooledSession(webDriver.getWindowHandle()));
+            created.incrementAndGet();
+            return webDriver;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Fast reset between leases: closes extra windows, clears cookies and web storage,
+     * then parks the session on a blank page.
+     */
+    private boolean resetSession(WebDriver webDriver, PooledSession session) {
+        try {
+            List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+            String keepHandle = handles.contains(session.primaryHandle) ? session.primaryHandle : handles.get(0);
+            for (String handle : handles) {
+                if (!handle.equals(keepHandle)) {
+                    webDriver.switchTo().window(handle).close();
+                }
+            }
+            webDriver.switchTo().window(keepHandle);
+            session.primaryHandle = keepHandle;
+
+            clearAppStorage(webDriver);
+            webDriver.navigate().to(BLANK_PAGE);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset pooled session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears the application origin's cookies and storage (QKart keeps its login token in
+     * localStorage), wherever the test left the session. sessionStorage belongs to the tab and
+     * no CDP call clears it, and the WebDriver cookie and storage APIs only reach the current
+     * document's origin, so a session elsewhere first goes to a static file on the application's
+     * origin. Chromium sessions also clear the origin's other storage through CDP.
+     */
+    private static void clearAppStorage(WebDriver webDriver) {
+        if (!webDriver.getCurrentUrl().startsWith(appOrigin())) {
+            webDriver.navigate().to(appOrigin() + ORIGIN_STATIC_PATH);
+        }
+        if (CdpUtils.isSupported(webDriver)) {
+            CdpUtils.execute(webDriver, "Network.clearBrowserCookies");
+            CdpUtils.execute(webDriver, "Storage.clearDataForOrigin", Map.of("origin", appOrigin(),
+                    "storageTypes", "cookies,local_storage,indexeddb,websql,service_workers,cache_storage"));
+        }
+        webDriver.manage().deleteAllCookies();
+        ((JavascriptExecutor) webDriver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    private static String appOrigin() {
+        URI url = URI.create(ConfigManager.getUrl());
+        return url.getScheme() + "://" + url.getHost() + (url.getPort() > 0 ? ":" + url.getPort() : "");
+    }
+
+    /**
+     * Health check run on return to the pool.
+     */
+    private boolean isHealthy(WebDriver webDriver) {
+        try {
+            Object readyState = ((JavascriptExecutor) webDriver).executeScript("return document.readyState");
+            return readyState != null && BLANK_PAGE.equals(webDriver.getCurrentUrl());
+        } catch (Exception e) {
+            log.warn("Pooled session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void reportMetrics() {
+        long leaseTotal = leases.get();
+        long avgWaitMs = leaseTotal == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / leaseTotal);
+        long maxWaitMs = TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+        String summary = String.format(
+                "Leases: %d | Reuses: %d | Sessions created: %d | Evicted: %d | Avg lease wait: %d ms | Max lease wait: %d ms",
+                leaseTotal, reuses.get(), created.get(), evictions.get(), avgWaitMs, maxWaitMs);
+        log.info("Driver pool metrics (max size {}) - {}", maxSize, summary);
+        ExtentManager.addSystemInfo("Driver Pool", summary);
+    }
+
+    private static void quitQuietly(WebDriver webDriver) {
+        try {
+            webDriver.quit();
+            SessionWatchdog.unregister(webDriver);
+        } catch (Exception e) {
+            log.error("Error while quitting pooled WebDriver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Per-session bookkeeping, only touched by the thread that currently leases the session.
+     */
+    private static final class PooledSession {
+        private String primaryHandle;
+        private int leaseCount;
+
+        private PooledSession(String primaryHandle) {
+            this.primaryHandle = primaryHandle;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Speculatively builds each worker's next WebDriver on a background thread while the
+ * worker's current test runs, so the next setUp() picks up a ready session.
+ * The number of speculative browsers alive at any time is capped. A worker waits at most the
+ * page load timeout for a driver that is still starting before it creates one itself.
+ */
+public final class DriverPrespawner {
+    private static final Logger log = LogManager.getLogger(DriverPrespawner.class);
+    private static final int MAX_PARALLEL_QUITS = 8;
+    private static DriverPrespawner instance;
+
+    private final int maxSpeculative;
+    private final Semaphore speculativeSlots;
+    private final ExecutorService spawner;
+    private final Map<Thread, Future<SpawnedDriver>> pendingByWorker = new ConcurrentHashMap<>();
+
+    // Latency metrics
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong readyHits = new AtomicLong();
+    private final AtomicLong partialHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong cappedSpawns = new AtomicLong();
+    private final AtomicLong failedSpawns = new AtomicLong();
+    private final AtomicLong hiddenMillis = new AtomicLong();
+    private final AtomicLong exposedMillis = new AtomicLong();
+
+    private DriverPrespawner(int maxSpeculative) {
+        this.maxSpeculative = maxSpeculative;
+        this.speculativeSlots = new Semaphore(maxSpeculative);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.spawner = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "driver-prespawn-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Driver pre-spawner created - max speculative browsers: {}", maxSpeculative);
+    }
+
+    /**
+     * Gets the JVM-wide pre-spawner, creating it from configuration on first use.
+     */
+    public static synchronized DriverPrespawner getInstance() {
+        if (instance == null) {
+            instance = new DriverPrespawner(ConfigManager.getPrespawnMax());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a driver for the calling worker, using its speculatively built driver when one
+     * exists, then starts building the worker's next driver in the background.
+     *
+     * @return A ready-to-use WebDriver session
+     */
+    public WebDriver acquire() {
+        acquisitions.incrementAndGet();
+        Future<SpawnedDriver> pending = pendingByWorker.remove(Thread.currentThread());
+        WebDriver webDriver = pending != null ? pickUp(pending) : null;
+
+        if (webDriver == null) {
+            misses.incrementAndGet();
+            long start = System.currentTimeMillis();
+            webDriver = DriverFactory.createDriver();
+            exposedMillis.addAndGet(System.currentTimeMillis() - start);
+        }
+
+        spawnNext();
+        return webDriver;
+    }
+
+    /**
+     * Quits every speculative driver that was never picked up and reports metrics.
+     * Safe to call more than once.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        DriverPrespawner prespawner = instance;
+        instance = null;
+
+        List<Future<SpawnedDriver>> leftovers = new ArrayList<>(prespawner.pendingByWorker.values());
+        prespawner.pendingByWorker.clear();
+        if (!leftovers.isEmpty()) {
+            // Leftovers may still be starting; wait for and quit them side by side, not one after another
+            ExecutorService quitter = Executors.newFixedThreadPool(Math.min(leftovers.size(), MAX_PARALLEL_QUITS));
+            for (Future<SpawnedDriver> pending : leftovers) {
+                quitter.submit(() -> quitLeftover(pending));
+            }
+            quitter.shutdown();
+            try {
+                if (!quitter.awaitTermination(ConfigManager.getPageLoadTimeout() * 2L, TimeUnit.SECONDS)) {
+                    quitter.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                quitter.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        prespawner.spawner.shutdownNow();
+        log.info("Driver pre-spawner shut down - {} unused speculative browsers quit", leftovers.size());
+        prespawner.reportMetrics();
+    }
+
+    private static void quitLeftover(Future<SpawnedDriver> pending) {
+        try {
+            WebDriver leftover = pending.get(ConfigManager.getPageLoadTimeout(), TimeUnit.SECONDS).driver;
+            leftover.quit();
+            SessionWatchdog.unregister(leftover);
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            pending.cancel(true);
+            log.debug("Discarded unused speculative driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Takes over the worker's speculative driver, waiting at most the page load timeout for
+     * one that is still starting.
+     *
+     * @return The driver, or {@code null} if it failed or did not start in time
+     */
+    private WebDriver pickUp(Future<SpawnedDriver> pending) {
+        long waitStart = System.currentTimeMillis();
+        try {
+            boolean ready = pending.isDone();
+            SpawnedDriver spawned = pending.get(ConfigManager.getPageLoadTimeout(), TimeUnit.SECONDS);
+            long waited = System.currentTimeMillis() - waitStart;
+
+            hiddenMillis.addAndGet(Math.max(0, spawned.buildMillis - waited));
+            exposedMillis.addAndGet(waited);
+            (ready ? readyHits : partialHits).incrementAndGet();
+            log.debug("Picked up speculative driver (built in {} ms, waited {} ms)", spawned.buildMillis, waited);
+            return spawned.driver;
+        } catch (ExecutionException e) {
+            failedSpawns.incrementAndGet();
+            log.warn("Speculative driver failed to start, creating one synchronously: {}", e.getCause().getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            pending.cancel(true);
+            failedSpawns.incrementAndGet();
+            exposedMillis.addAndGet(System.currentTimeMillis() - waitStart);
+            log.warn("Speculative driver not ready after {}s, creating one synchronously", ConfigManager.getPageLoadTimeout());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            speculativeSlots.release();
+        }
+    }
+
+    private void spawnNext() {
+        if (!speculativeSlots.tryAcquire()) {
+            cappedSpawns.incrementAndGet();
+            log.debug("Speculative browser cap ({}) reached - next driver will be created on demand", maxSpeculative);
+            return;
+        }
+        // Built on a spawner thread, but placed as the worker that will pick it up
+        String worker = Thread.currentThread().getName();
+        try {
+            pendingByWorker.put(Thread.currentThread(), spawner.submit(() -> {
+                long start = System.currentTimeMillis();
+                WebDriver webDriver = DriverFactory.createDriverFor(worker);
+                if (Thread.currentThread().isInterrupted()) {
+                    // Given up on by the worker while starting; nobody will pick it up
+                    webDriver.quit();
+                    SessionWatchdog.unregister(webDriver);
+                    throw new InterruptedException("Speculative driver abandoned");
+                }
+                return new SpawnedDriver(webDriver, System.currentTimeMillis() - start);
+            }));
+        } catch (RuntimeException e) {
+            speculativeSlots.release();
+            log.warn("Unable to schedule speculative driver: {}", e.getMessage());
+        }
+    }
+
+    private void reportMetrics() {
+        String summary = String.format(
+                "Acquisitions: %d | Ready: %d | Still starting: %d | Misses: %d | Capped: %d | Failed: %d | "
+                        + "Startup hidden: %.1f s | Startup exposed: %.1f s",
+                acquisitions.get(), readyHits.get(), partialHits.get(), misses.get(), cappedSpawns.get(),
+                failedSpawns.get(), hiddenMillis.get() / 1000.0, exposedMillis.get() / 1000.0);
+        log.info("Driver pre-spawn metrics (max speculative {}) - {}", maxSpeculative, summary);
+        ExtentManager.addSystemInfo("Driver Pre-spawn", summary);
+    }
+
+    /**
+     * A speculatively created driver along with how long it took to start.
+     */
+    private static final class SpawnedDriver {
+        private final WebDriver driver;
+        private final long buildMillis;
+
+        private SpawnedDriver(WebDriver driver, long buildMillis) {
+            this.driver = driver;
+            this.buildMillis = buildMillis;
+        }
+    }
+}
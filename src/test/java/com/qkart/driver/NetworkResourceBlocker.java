@@ -0,0 +1,148 @@
+package com.qkart.driver;
+
+import com.qkart.annotations.AllowResources;
+import com.qkart.config.ConfigManager;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the network resource blocking profile to Chromium sessions per test and measures
+ * what it saved. Blocked requests are counted from CDP loading failures; bytes saved are
+ * estimated from the sizes the same URLs had when they were allowed to load (for example in
+ * tests annotated with {@link AllowResources}).
+ */
+public final class NetworkResourceBlocker {
+    private static final Logger log = LogManager.getLogger(NetworkResourceBlocker.class);
+    private static final int MAX_KNOWN_SIZES = 10_000;
+
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, BlockingStats> statsByDriver = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong totalBlockedRequests = new AtomicLong();
+    private static final AtomicLong totalBytesSaved = new AtomicLong();
+
+    private NetworkResourceBlocker() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Applies the blocking profile for the given test, or clears it when the test is
+     * annotated with {@link AllowResources}. Re-applied per test, so reused sessions never
+     * inherit the previous test's profile.
+     *
+     * @param driver     The session the test runs on
+     * @param testMethod The test method about to run
+     */
+    public static void applyProfile(WebDriver driver, Method testMethod) {
+        if (!ConfigManager.isResourceBlockingEnabled()) {
+            return;
+        }
+        if (!CdpUtils.isDevToolsSupported(driver)) {
+            log.debug("Resource blocking skipped - {} does not support CDP", driver.getClass().getSimpleName());
+            return;
+        }
+
+        boolean allowResources = testMethod != null && testMethod.isAnnotationPresent(AllowResources.class);
+        List<String> patterns = allowResources ? Collections.emptyList() : OptionsManager.getBlockedUrlPatterns();
+        try {
+            BlockingStats stats = statsByDriver.computeIfAbsent(driver, NetworkResourceBlocker::attach);
+            stats.reset();
+            CdpUtils.send(driver, "Network.setBlockedURLs", Map.of("urls", patterns));
+            log.debug("Resource blocking profile applied - {} URL patterns blocked", patterns.size());
+        } catch (Exception e) {
+            log.warn("Unable to apply resource blocking profile: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Summarizes what was blocked for the test that just ran on the driver.
+     *
+     * @return A one-line summary, or null if blocking was not active for the driver
+     */
+    public static String summarizeTest(WebDriver driver) {
+        BlockingStats stats = statsByDriver.get(driver);
+        if (!ConfigManager.isResourceBlockingEnabled() || stats == null) {
+            return null;
+        }
+        long blocked = stats.blockedRequests.get();
+        long bytes = stats.bytesSaved.get();
+        totalBlockedRequests.addAndGet(blocked);
+        totalBytesSaved.addAndGet(bytes);
+        return String.format("Resource blocking: %d requests blocked, ~%.1f KB saved (%d of unknown size)",
+                blocked, bytes / 1024.0, stats.unknownSizes.get());
+    }
+
+    /**
+     * Adds suite-wide blocking totals to the report.
+     */
+    public static void reportTotals() {
+        if (!ConfigManager.isResourceBlockingEnabled()) {
+            return;
+        }
+        String summary = String.format("Requests blocked: %d | ~%.1f MB saved",
+                totalBlockedRequests.get(), totalBytesSaved.get() / (1024.0 * 1024.0));
+        log.info("Resource blocking totals - {}", summary);
+        ExtentManager.addSystemInfo("Resource Blocking", summary);
+    }
+
+    /**
+     * Enables network events on the driver's DevTools session and wires the counters.
+     */
+    private static BlockingStats attach(WebDriver driver) {
+        BlockingStats stats = new BlockingStats();
+        CdpUtils.addListener(driver, "Network.requestWillBeSent", event -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            stats.urlsByRequestId.put((String) event.get("requestId"), (String) request.get("url"));
+        });
+        CdpUtils.addListener(driver, "Network.loadingFinished", event -> {
+            String url = stats.urlsByRequestId.remove((String) event.get("requestId"));
+            Object encodedLength = event.get("encodedDataLength");
+            if (url != null && encodedLength instanceof Number && knownSizes.size() < MAX_KNOWN_SIZES) {
+                knownSizes.put(url, ((Number) encodedLength).longValue());
+            }
+        });
+        CdpUtils.addListener(driver, "Network.loadingFailed", event -> {
+            String url = stats.urlsByRequestId.remove((String) event.get("requestId"));
+            if (event.get("blockedReason") == null) {
+                return;
+            }
+            stats.blockedRequests.incrementAndGet();
+            Long size = url != null ? knownSizes.get(url) : null;
+            if (size != null) {
+                stats.bytesSaved.addAndGet(size);
+            } else {
+                stats.unknownSizes.incrementAndGet();
+            }
+        });
+        CdpUtils.send(driver, "Network.enable", Map.of());
+        return stats;
+    }
+
+    /**
+     * Per-session counters, updated from the DevTools event thread and reset per test.
+     */
+    private static final class BlockingStats {
+        private final Map<String, String> urlsByRequestId = new ConcurrentHashMap<>();
+        private final AtomicLong blockedRequests = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicLong unknownSizes = new AtomicLong();
+
+        private void reset() {
+            urlsByRequestId.clear();
+            blockedRequests.set(0);
+            bytesSaved.set(0);
+            unknownSizes.set(0);
+        }
+    }
+}
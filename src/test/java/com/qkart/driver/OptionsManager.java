@@ -1,12 +1,20 @@
 package com.qkart.driver;
 
 import com.qkart.config.ConfigManager;
+import com.qkart.enums.ExecutionMode;
+import com.qkart.proxy.CachingProxy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Manager class for browser-specific options.
  * Configures browser options based on framework configuration.
@@ -14,16 +22,35 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 public final class OptionsManager {
     private static final Logger log = LogManager.getLogger(OptionsManager.class);
 
+    // File extensions blocked for each resource type in the resource blocking profile
+    private static final Map<String, List<String>> RESOURCE_TYPE_EXTENSIONS = Map.of(
+            "image", Arrays.asList("png", "jpg", "jpeg", "gif", "webp", "svg", "ico"),
+            "font", Arrays.asList("woff", "woff2", "ttf", "otf", "eot"),
+            "media", Arrays.asList("mp4", "webm", "mp3", "ogg", "wav")
+    );
+
     private OptionsManager() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Creates Chrome browser options.
+     * Creates Chrome browser options. Local sessions get their own copy of the warmed
+     * profile template when the profile template is enabled.
      *
      * @return Configured ChromeOptions
      */
     public static ChromeOptions getChromeOptions() {
+        ChromeOptions options = createChromeOptions();
+        if (ConfigManager.isProfileTemplateEnabled() && ConfigManager.getExecutionMode() == ExecutionMode.LOCAL) {
+            options.addArguments("--user-data-dir=" + ChromeProfileTemplate.getInstance().newSessionProfile());
+        }
+        return options;
+    }
+
+    /**
+     * Creates Chrome browser options without a user-data directory.
+     */
+    static ChromeOptions createChromeOptions() {
         log.debug("Configuring Chrome options");
         ChromeOptions options = new ChromeOptions();
 
@@ -47,6 +74,10 @@ public final class OptionsManager {
             options.addArguments("--window-size=1920,1080");
         }
 
+        if (ConfigManager.isCachingProxyEnabled()) {
+            options.setProxy(CachingProxy.getInstance().toSeleniumProxy());
+        }
+
         return options;
     }
 
@@ -67,6 +98,12 @@ public final class OptionsManager {
             options.addArguments("--height=1080");
         }
 
+        if (ConfigManager.isCachingProxyEnabled()) {
+            // The proxy terminates HTTPS with its own self-signed certificates
+            options.setProxy(CachingProxy.getInstance().toSeleniumProxy());
+            options.setAcceptInsecureCerts(true);
+        }
+
         return options;
     }
 
@@ -91,6 +128,36 @@ public final class OptionsManager {
             options.addArguments("--window-size=1920,1080");
         }
 
+        if (ConfigManager.isCachingProxyEnabled()) {
+            options.setProxy(CachingProxy.getInstance().toSeleniumProxy());
+        }
+
         return options;
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the URL patterns for the network resource blocking profile from the configured
+     * resource types and extra URL patterns, in the wildcard syntax of CDP Network.setBlockedURLs.
+     *
+     * @return URL patterns to block, empty when resource blocking is disabled
+     */
+    public static List<String> getBlockedUrlPatterns() {
+        if (!ConfigManager.isResourceBlockingEnabled()) {
+            return Collections.emptyList();
+        }
+        List<String> patterns = new ArrayList<>();
+        for (String type : ConfigManager.getBlockedResourceTypes()) {
+            List<String> extensions = RESOURCE_TYPE_EXTENSIONS.get(type.toLowerCase());
+            if (extensions == null) {
+                log.warn("Unknown resource type in blockedResourceTypes: {}", type);
+                continue;
+            }
+            for (String extension : extensions) {
+                patterns.add("*." + extension);
+                patterns.add("*." + extension + "?*");
+            }
+        }
+        patterns.addAll(ConfigManager.getBlockedUrlPatterns());
+        return patterns;
+    }
+}
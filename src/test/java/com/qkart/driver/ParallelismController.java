@@ -0,0 +1,286 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides how many browser sessions may be active at once from live host signals and
+ * admits or holds tests at the {@code BaseTest.setUp()} boundary.
+ * The limit follows an additive-increase / multiplicative-decrease rule: it grows by one
+ * while CPU load, free memory and per-command latency are healthy and demand is waiting,
+ * and shrinks by a quarter as soon as any of them degrades.
+ * Decisions are logged and written to {@code reports/parallelism.csv} and an HTML chart.
+ */
+public final class ParallelismController {
+    private static final Logger log = LogManager.getLogger(ParallelismController.class);
+    private static final long DECISION_INTERVAL_MILLIS = 5_000;
+    private static final double LATENCY_SMOOTHING = 0.3;
+    private static final double HIGH_CPU_LOAD = 0.85;
+    private static final double LOW_CPU_LOAD = 0.65;
+    private static final double LATENCY_DEGRADATION_FACTOR = 3.0;
+    private static final long MB = 1024L * 1024L;
+
+    private static ParallelismController instance;
+
+    private final ThreadLocal<Long> admittedAt = new ThreadLocal<>();
+    private final List<Decision> decisions = new ArrayList<>();
+    private final long startedAt = System.currentTimeMillis();
+    private final int minLimit;
+    private final int maxLimit;
+    private int limit;
+    private int active;
+    private int waiting;
+    private long completedTests;
+    private long lastDecisionAt;
+    private double latencyMillis = -1;
+    private double baselineLatencyMillis = Double.MAX_VALUE;
+
+    private ParallelismController(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = minLimit;
+        record("start");
+    }
+
+    /**
+     * Gets the shared controller, creating it on first use.
+     */
+    public static synchronized ParallelismController getInstance() {
+        if (instance == null) {
+            instance = new ParallelismController(ConfigManager.getMinParallelism(), ConfigManager.getMaxParallelism());
+            log.info("Adaptive parallelism enabled - sessions between {} and {}", instance.minLimit, instance.maxLimit);
+        }
+        return instance;
+    }
+
+    /**
+     * Blocks the calling test until a session slot is available under the current limit.
+     */
+    public synchronized void admit() {
+        if (admittedAt.get() != null) {
+            return;
+        }
+        waiting++;
+        try {
+            while (active >= limit) {
+                decide();
+                if (active < limit) {
+                    break;
+                }
+                wait(DECISION_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting--;
+        }
+        active++;
+        admittedAt.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Frees the calling test's slot, if it holds one.
+     */
+    public synchronized void release() {
+        if (admittedAt.get() == null) {
+            return;
+        }
+        admittedAt.remove();
+        active--;
+        completedTests++;
+        decide();
+        notifyAll();
+    }
+
+    /**
+     * Times one cheap WebDriver round trip as the per-command latency signal.
+     */
+    public void probeLatency(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            driver.getWindowHandle();
+        } catch (Exception e) {
+            return;
+        }
+        double sampleMillis = (System.nanoTime() - start) / 1_000_000.0;
+        synchronized (this) {
+            latencyMillis = latencyMillis < 0 ? sampleMillis
+                    : LATENCY_SMOOTHING * sampleMillis + (1 - LATENCY_SMOOTHING) * latencyMillis;
+            baselineLatencyMillis = Math.min(baselineLatencyMillis, latencyMillis);
+        }
+    }
+
+    /**
+     * Writes the decision history and reports the throughput that was reached.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        ParallelismController controller = instance;
+        instance = null;
+        synchronized (controller) {
+            controller.record("final");
+            controller.writeDecisions();
+            double minutes = Math.max(1, System.currentTimeMillis() - controller.startedAt) / 60_000.0;
+            int peak = controller.decisions.stream().mapToInt(decision -> decision.limit).max().orElse(controller.limit);
+            String summary = String.format(Locale.ROOT, "Final limit: %d | Peak limit: %d | Tests: %d | Throughput: %.2f tests/min",
+                    controller.limit, peak, controller.completedTests, controller.completedTests / minutes);
+            log.info("Adaptive parallelism - {}", summary);
+            ExtentManager.addSystemInfo("Parallelism", summary);
+        }
+    }
+
+    private void decide() {
+        long now = System.currentTimeMillis();
+        if (now - lastDecisionAt < DECISION_INTERVAL_MILLIS) {
+            return;
+        }
+        lastDecisionAt = now;
+
+        double cpuLoad = getCpuLoad();
+        long freeMemoryMb = getAvailableMemoryBytes() / MB;
+        String pressure = null;
+        if (cpuLoad > HIGH_CPU_LOAD) {
+            pressure = String.format(Locale.ROOT, "CPU load %.0f%%", cpuLoad * 100);
+        } else if (freeMemoryMb < ConfigManager.getMinFreeMemoryMb()) {
+            pressure = "free memory " + freeMemoryMb + " MB";
+        } else if (latencyMillis > Math.max(1, baselineLatencyMillis) * LATENCY_DEGRADATION_FACTOR) {
+            pressure = String.format(Locale.ROOT, "command latency %.0f ms", latencyMillis);
+        }
+
+        int previous = limit;
+        if (pressure != null) {
+            limit = Math.max(minLimit, limit - Math.max(1, limit / 4));
+        } else if (waiting > 0 && cpuLoad < LOW_CPU_LOAD && limit < maxLimit) {
+            limit++;
+        }
+        if (limit != previous) {
+            log.info("Parallelism {} -> {} ({})", previous, limit,
+                    pressure != null ? pressure : "host healthy, " + waiting + " test(s) waiting");
+            record(pressure != null ? "decrease: " + pressure : "increase");
+            notifyAll();
+        }
+    }
+
+    private void record(String reason) {
+        decisions.add(new Decision(System.currentTimeMillis() - startedAt, limit, active, getCpuLoad(),
+                getAvailableMemoryBytes() / MB, Math.max(0, latencyMillis), completedTests, reason));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static double getCpuLoad() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) os).getSystemCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        return Math.max(0, os.getSystemLoadAverage()) / os.getAvailableProcessors();
+    }
+
+    /**
+     * Gets memory available to new processes, preferring Linux's MemAvailable (which counts
+     * reclaimable page cache) over the JVM's free physical memory figure.
+     */
+    private static long getAvailableMemoryBytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/meminfo"))) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.trace("MemAvailable not readable: {}", e.getMessage());
+        }
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private void writeDecisions() {
+        Path csv = Paths.get(FrameworkConstants.REPORT_PATH, "parallelism.csv");
+        Path chart = Paths.get(FrameworkConstants.REPORT_PATH, "parallelism.html");
+        List<String> lines = new ArrayList<>();
+        lines.add("elapsedSeconds,limit,active,cpuLoad,freeMemoryMb,commandLatencyMs,completedTests,reason");
+        for (Decision decision : decisions) {
+            lines.add(String.format(Locale.ROOT, "%.1f,%d,%d,%.2f,%d,%.1f,%d,%s",
+                    decision.elapsedMillis / 1000.0, decision.limit, decision.active, decision.cpuLoad,
+                    decision.freeMemoryMb, decision.latencyMillis, decision.completedTests, decision.reason));
+        }
+        try {
+            Files.createDirectories(csv.getParent());
+            Files.write(csv, lines);
+            Files.writeString(chart, renderChart());
+            log.info("Parallelism decisions written to {}", csv);
+        } catch (IOException e) {
+            log.warn("Unable to write parallelism decisions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Renders the limit and completed tests over time as a self-contained SVG line chart.
+     */
+    private String renderChart() {
+        int width = 800;
+        int height = 300;
+        double maxSeconds = Math.max(1, decisions.stream().mapToLong(decision -> decision.elapsedMillis).max().orElse(1) / 1000.0);
+        double maxTests = Math.max(1, completedTests);
+        StringBuilder limitLine = new StringBuilder();
+        StringBuilder testsLine = new StringBuilder();
+        for (Decision decision : decisions) {
+            double x = decision.elapsedMillis / 1000.0 / maxSeconds * width;
+            limitLine.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, height - (double) decision.limit / maxLimit * height));
+            testsLine.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, height - decision.completedTests / maxTests * height));
+        }
+        return "<!DOCTYPE html><html><head><title>Adaptive Parallelism</title></head><body>"
+                + "<h3>Active session limit (blue, max " + maxLimit + ") and completed tests (green, "
+                + completedTests + ") over " + Math.round(maxSeconds) + " s</h3>"
+                + "<svg width=\"" + width + "\" height=\"" + height + "\" style=\"border:1px solid #ccc\">"
+                + "<polyline fill=\"none\" stroke=\"#1f77b4\" stroke-width=\"2\" points=\"" + limitLine + "\"/>"
+                + "<polyline fill=\"none\" stroke=\"#2ca02c\" stroke-width=\"2\" points=\"" + testsLine + "\"/>"
+                + "</svg><p>Raw data: parallelism.csv</p></body></html>";
+    }
+
+    /**
+     * One parallelism decision with the signals it was based on.
+     */
+    private static final class Decision {
+        private final long elapsedMillis;
+        private final int limit;
+        private final int active;
+        private final double cpuLoad;
+        private final long freeMemoryMb;
+        private final double latencyMillis;
+        private final long completedTests;
+        private final String reason;
+
+        private Decision(long elapsedMillis, int limit, int active, double cpuLoad, long freeMemoryMb,
+                         double latencyMillis, long completedTests, String reason) {
+            this.elapsedMillis = elapsedMillis;
+            this.limit = limit;
+            this.active = active;
+            this.cpuLoad = cpuLoad;
+            this.freeMemoryMb = freeMemoryMb;
+            this.latencyMillis = latencyMillis;
+            this.completedTests = completedTests;
+            this.reason = reason;
+        }
+    }
+}
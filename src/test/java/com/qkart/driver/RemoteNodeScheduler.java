@@ -0,0 +1,252 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.exceptions.BrowserInitializationException;
+import com.qkart.exceptions.ConfigurationException;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side scheduler that spreads RemoteWebDriver sessions across Selenium nodes.
+ * Nodes are ranked by free slots for the requested browser (from their /status endpoint)
+ * and by measured session-start latency. Nodes that fail a status check or a session
+ * start are dropped for a cool-down period; nodes that are merely full stay in rotation.
+ *
+ * Works against a Grid hub, individual nodes, or a single standalone server, e.g.
+ * {@code java -jar selenium-server-4.16.1.jar standalone} with remoteNodes=http://localhost:4444
+ */
+public final class RemoteNodeScheduler {
+    private static final Logger log = LogManager.getLogger(RemoteNodeScheduler.class);
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(3);
+    private static final long STATUS_MAX_AGE_MS = 2000;
+    private static final double LATENCY_SMOOTHING = 0.3;
+    private static RemoteNodeScheduler instance;
+
+    private final List<RemoteNode> nodes;
+    private final long cooldownMillis;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+    private final Json json = new Json();
+
+    private RemoteNodeScheduler(List<String> nodeUrls, int cooldownSeconds) {
+        if (nodeUrls.isEmpty()) {
+            throw ConfigurationException.propertyNotFound("remoteNodes");
+        }
+        this.nodes = nodeUrls.stream().map(RemoteNode::new).collect(Collectors.toList());
+        this.cooldownMillis = cooldownSeconds * 1000L;
+        log.info("Remote node scheduler created - nodes: {}", nodeUrls);
+    }
+
+    /**
+     * Gets the JVM-wide scheduler, creating it from configuration on first use.
+     */
+    public static synchronized RemoteNodeScheduler getInstance() {
+        if (instance == null) {
+            instance = new RemoteNodeScheduler(ConfigManager.getRemoteNodes(), ConfigManager.getRemoteNodeCooldown());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a session on the best available node, falling back to the next best node
+     * when a session start fails.
+     *
+     * @param capabilities The browser options for the session
+     * @return A RemoteWebDriver, augmented so CDP features work where the node exposes them
+     */
+    public WebDriver createSession(Capabilities capabilities) {
+        String browserName = capabilities.getBrowserName();
+        Exception lastFailure = null;
+
+        for (int attempt = 0; attempt < nodes.size(); attempt++) {
+            RemoteNode node = selectNode(browserName);
+            long start = System.currentTimeMillis();
+            try {
+                WebDriver remoteDriver = new RemoteWebDriver(node.url, capabilities);
+                node.recordStart(System.currentTimeMillis() - start);
+                log.info("Remote {} session started on {} in {} ms", browserName, node.url,
+                        System.currentTimeMillis() - start);
+                return new Augmenter().augment(remoteDriver);
+            } catch (Exception e) {
+                lastFailure = e;
+                markUnhealthy(node, "session start failed: " + e.getMessage());
+            } finally {
+                node.reserved.decrementAndGet();
+            }
+        }
+        throw new BrowserInitializationException(browserName + " (remote)", lastFailure);
+    }
+
+    /**
+     * Adds per-node session counts and latencies to the report. Safe to call when remote
+     * execution was never used.
+     */
+    public static synchronized void reportMetrics() {
+        if (instance == null) {
+            return;
+        }
+        String summary = instance.nodes.stream()
+                .map(node -> String.format("%s: %d sessions, %.0f ms avg start, %d failures",
+                        node.url, node.sessionsStarted.get(), node.latencyMillis, node.failures.get()))
+                .collect(Collectors.joining(" | "));
+        log.info("Remote node metrics - {}", summary);
+        ExtentManager.addSystemInfo("Remote Nodes", summary);
+    }
+
+    /**
+     * Picks the healthy node with the most free slots for the browser, breaking ties by
+     * session-start latency. When every healthy node is full, the fastest one is used and
+     * the grid queues the request. Stale statuses are refreshed before taking the lock, so
+     * a slow node does not hold up the other workers' selections.
+     */
+    private RemoteNode selectNode(String browserName) {
+        for (RemoteNode node : nodes) {
+            long now = System.currentTimeMillis();
+            if (node.unhealthyUntil <= now && now - node.statusFetchedAt > STATUS_MAX_AGE_MS) {
+                refreshStatus(node, browserName);
+            }
+        }
+        return reserveNode(browserName);
+    }
+
+    private synchronized RemoteNode reserveNode(String browserName) {
+        long now = System.currentTimeMillis();
+        List<RemoteNode> healthy = nodes.stream()
+                .filter(node -> node.unhealthyUntil <= now)
+                .collect(Collectors.toList());
+        if (healthy.isEmpty()) {
+            throw new BrowserInitializationException(browserName + " (remote) - no healthy nodes available");
+        }
+
+        RemoteNode selected = healthy.stream()
+                .max(Comparator.comparingInt(RemoteNode::availableSlots)
+                        .thenComparing(Comparator.comparingDouble((RemoteNode node) -> node.latencyMillis).reversed()))
+                .get();
+        selected.reserved.incrementAndGet();
+        log.debug("Selected node {} ({} free slots, {} ms avg start)", selected.url,
+                selected.availableSlots() + 1, Math.round(selected.latencyMillis));
+        return selected;
+    }
+
+    /**
+     * Fetches a node's status. A node answering ready=false is full (every slot busy), not
+     * unhealthy: it keeps its place with no free slots and the grid queues requests sent to it.
+     * Only one worker refreshes a node at a time; the others use the last known status.
+     */
+    @SuppressWarnings("unchecked")
+    private void refreshStatus(RemoteNode node, String browserName) {
+        if (!node.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(node.url + "/status"))
+                    .timeout(STATUS_TIMEOUT).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Map<String, Object> value = response.statusCode() == 200
+                    ? (Map<String, Object>) ((Map<String, Object>) json.toType(response.body(), Json.MAP_TYPE)).get("value")
+                    : null;
+            if (value == null) {
+                markUnhealthy(node, "status check failed (HTTP " + response.statusCode() + ")");
+                return;
+            }
+            node.freeSlots = Boolean.TRUE.equals(value.get("ready")) ? countFreeSlots(value, browserName) : 0;
+            node.statusFetchedAt = System.currentTimeMillis();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markUnhealthy(node, "status check interrupted");
+        } catch (Exception e) {
+            markUnhealthy(node, "status check failed: " + e.getMessage());
+        } finally {
+            node.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Counts idle slots whose stereotype matches the browser. Status payloads without slot
+     * details count as a single free slot, since the node reported itself ready.
+     */
+    @SuppressWarnings("unchecked")
+    private static int countFreeSlots(Map<String, Object> statusValue, String browserName) {
+        Object nodeList = statusValue.get("nodes");
+        if (!(nodeList instanceof List)) {
+            return 1;
+        }
+        int free = 0;
+        for (Map<String, Object> gridNode : (List<Map<String, Object>>) nodeList) {
+            if (!"UP".equalsIgnoreCase(String.valueOf(gridNode.get("availability")))) {
+                continue;
+            }
+            for (Map<String, Object> slot : (List<Map<String, Object>>) gridNode.getOrDefault("slots", List.of())) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.getOrDefault("stereotype", Map.of());
+                boolean browserMatches = browserName == null || browserName.isEmpty()
+                        || browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")));
+                if (browserMatches && slot.get("session") == null) {
+                    free++;
+                }
+            }
+        }
+        return free;
+    }
+
+    private void markUnhealthy(RemoteNode node, String reason) {
+        node.failures.incrementAndGet();
+        node.unhealthyUntil = System.currentTimeMillis() + cooldownMillis;
+        log.warn("Dropping node {} for {} s - {}", node.url, cooldownMillis / 1000, reason);
+    }
+
+    /**
+     * Scheduling state for one node URL.
+     */
+    private static final class RemoteNode {
+        private final URL url;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicLong sessionsStarted = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile int freeSlots;
+        private volatile long statusFetchedAt;
+        private volatile long unhealthyUntil;
+        private volatile double latencyMillis;
+
+        private RemoteNode(String url) {
+            try {
+                this.url = new URL(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+            } catch (MalformedURLException e) {
+                throw new ConfigurationException("Invalid remote node URL: " + url, e);
+            }
+        }
+
+        /**
+         * Free slots minus sessions this JVM is already starting on the node.
+         */
+        private int availableSlots() {
+            return freeSlots - reserved.get();
+        }
+
+        private synchronized void recordStart(long elapsedMillis) {
+            latencyMillis = sessionsStarted.getAndIncrement() == 0
+                    ? elapsedMillis
+                    : (1 - LATENCY_SMOOTHING) * latencyMillis + LATENCY_SMOOTHING * elapsedMillis;
+        }
+    }
+}
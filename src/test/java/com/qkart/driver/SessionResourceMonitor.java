@@ -0,0 +1,197 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.enums.DriverMode;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the resource usage of each session across the tests it serves and decides when a
+ * session has outgrown its budget.
+ * Memory and CPU come from the local driver's process tree (see {@link SessionWatchdog});
+ * for sessions without a known process tree, Chromium's CDP {@code Performance.getMetrics}
+ * is used instead. Sessions are only sampled in driver modes that reuse them (pooled, and
+ * the host Chrome in context mode), as elsewhere a session never outlives its test.
+ */
+public final class SessionResourceMonitor {
+    private static final Logger log = LogManager.getLogger(SessionResourceMonitor.class);
+    private static final long MB = 1024L * 1024L;
+
+    private static final ThreadLocal<Usage> usageAtTestStart = new ThreadLocal<>();
+    private static final AtomicLong overBudgetSessions = new AtomicLong();
+    private static final AtomicLong peakRssBytes = new AtomicLong();
+
+    private SessionResourceMonitor() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Records the session's usage before a test starts, so the test's own CPU cost can be
+     * reported afterwards. The sample is kept per test thread, as sessions such as a context
+     * host Chrome can serve several tests at once.
+     */
+    public static void startTest(WebDriver driver) {
+        if (!isMonitored()) {
+            return;
+        }
+        usageAtTestStart.set(measure(driver));
+    }
+
+    /**
+     * Measures the session after a test and checks it against the configured budgets.
+     *
+     * @param driver The session the test ran on
+     * @return The result, or {@code null} when the session is not monitored or nothing could be measured
+     */
+    public static TestUsage finishTest(WebDriver driver) {
+        if (!isMonitored()) {
+            return null;
+        }
+        Usage before = usageAtTestStart.get();
+        usageAtTestStart.remove();
+        Usage after = measure(driver);
+        if (!after.isKnown()) {
+            return null;
+        }
+        peakRssBytes.accumulateAndGet(after.rssBytes, Math::max);
+
+        long testCpuMillis = before != null ? Math.max(0, after.cpuMillis - before.cpuMillis) : after.cpuMillis;
+        String breach = findBudgetBreach(after);
+        if (breach != null) {
+            overBudgetSessions.incrementAndGet();
+            log.warn("Session over resource budget ({}) - it will be recycled", breach);
+        }
+        return new TestUsage(after, testCpuMillis, breach);
+    }
+
+    /**
+     * Logs and reports suite-wide resource figures.
+     */
+    public static void reportTotals() {
+        if (!isMonitored()) {
+            return;
+        }
+        String summary = String.format("Peak session RSS: %s | Sessions recycled over budget: %d",
+                ProcessUtils.toMegabytes(peakRssBytes.get()), overBudgetSessions.get());
+        log.info("Session resources - {}", summary);
+        ExtentManager.addSystemInfo("Session Resources", summary);
+    }
+
+    /**
+     * Whether monitoring is on and the driver mode reuses sessions, so a budget can recycle one.
+     */
+    private static boolean isMonitored() {
+        DriverMode mode = ConfigManager.getDriverMode();
+        return ConfigManager.isResourceMonitoringEnabled() && (mode == DriverMode.POOLED || mode == DriverMode.CONTEXT);
+    }
+
+    private static String findBudgetBreach(Usage usage) {
+        if (usage.rssBytes > ConfigManager.getSessionMaxRssMb() * MB) {
+            return "RSS " + ProcessUtils.toMegabytes(usage.rssBytes);
+        }
+        if (usage.cpuMillis > ConfigManager.getSessionMaxCpuSeconds() * 1000L) {
+            return String.format("CPU %.1f s", usage.cpuMillis / 1000.0);
+        }
+        if (usage.jsHeapBytes > ConfigManager.getSessionMaxJsHeapMb() * MB) {
+            return "JS heap " + ProcessUtils.toMegabytes(usage.jsHeapBytes);
+        }
+        return null;
+    }
+
+    private static Usage measure(WebDriver driver) {
+        long driverPid = SessionWatchdog.getDriverPid(driver);
+        long rssBytes = 0;
+        long cpuMillis = 0;
+        if (driverPid > 0) {
+            rssBytes = ProcessUtils.treeResidentMemoryBytes(driverPid);
+            cpuMillis = ProcessUtils.treeCpuMillis(driverPid);
+        }
+        long jsHeapBytes = 0;
+        if (CdpUtils.isSupported(driver)) {
+            Map<String, Double> metrics = getPerformanceMetrics(driver);
+            jsHeapBytes = metrics.getOrDefault("JSHeapUsedSize", 0.0).longValue();
+            if (driverPid <= 0) {
+                // Main-thread task time is the closest CDP equivalent of the browser's CPU time
+                cpuMillis = (long) (metrics.getOrDefault("TaskDuration", 0.0) * 1000);
+            }
+        }
+        return new Usage(rssBytes, cpuMillis, jsHeapBytes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> getPerformanceMetrics(WebDriver driver) {
+        try {
+            CdpUtils.execute(driver, "Performance.enable");
+            List<Map<String, Object>> metrics = (List<Map<String, Object>>) CdpUtils
+                    .execute(driver, "Performance.getMetrics").get("metrics");
+            Map<String, Double> values = new HashMap<>();
+            for (Map<String, Object> metric : metrics) {
+                values.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+            }
+            return values;
+        } catch (Exception e) {
+            log.debug("Performance metrics unavailable: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * A point-in-time resource measurement of one session.
+     */
+    private static final class Usage {
+        private final long rssBytes;
+        private final long cpuMillis;
+        private final long jsHeapBytes;
+
+        private Usage(long rssBytes, long cpuMillis, long jsHeapBytes) {
+            this.rssBytes = rssBytes;
+            this.cpuMillis = cpuMillis;
+            this.jsHeapBytes = jsHeapBytes;
+        }
+
+        private boolean isKnown() {
+            return rssBytes > 0 || cpuMillis > 0 || jsHeapBytes > 0;
+        }
+    }
+
+    /**
+     * Resource usage of a session at the end of one test.
+     */
+    public static final class TestUsage {
+        private final Usage session;
+        private final long testCpuMillis;
+        private final String budgetBreach;
+
+        private TestUsage(Usage session, long testCpuMillis, String budgetBreach) {
+            this.session = session;
+            this.testCpuMillis = testCpuMillis;
+            this.budgetBreach = budgetBreach;
+        }
+
+        /**
+         * Whether the session exceeded a budget and should not be reused.
+         */
+        public boolean isOverBudget() {
+            return budgetBreach != null;
+        }
+
+        @Override
+        public String toString() {
+            String usage = String.format("Resources - session RSS: %s | test CPU: %.1f s | session CPU: %.1f s | JS heap: %s",
+                    session.rssBytes > 0 ? ProcessUtils.toMegabytes(session.rssBytes) : "n/a",
+                    testCpuMillis / 1000.0, session.cpuMillis / 1000.0,
+                    session.jsHeapBytes > 0 ? ProcessUtils.toMegabytes(session.jsHeapBytes) : "n/a");
+            return isOverBudget() ? usage + " | over budget (" + budgetBreach + "), session recycled" : usage;
+        }
+    }
+}
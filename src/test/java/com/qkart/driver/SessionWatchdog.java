@@ -0,0 +1,301 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.ProcessUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks every local driver created by {@link DriverFactory} together with its driver and
+ * browser PIDs, owning thread and start time.
+ * Sessions are tracked whether or not sessionWatchdog is on, so their PIDs are known for CPU
+ * placement, resource sampling and killing a session whose quit failed. With the watchdog on,
+ * a background check force-kills sessions that stay assigned to a test past the configured
+ * deadline, and tracked PIDs are persisted so processes orphaned by a killed JVM are reaped
+ * at the next suite start. Runs on the same agent share the PID file, so every update of it
+ * happens under a file lock.
+ */
+public final class SessionWatchdog {
+    private static final Logger log = LogManager.getLogger(SessionWatchdog.class);
+    private static final Path PID_FILE = Paths.get(FrameworkConstants.SESSION_PID_FILE);
+    private static final Path PID_LOCK_FILE = Paths.get(FrameworkConstants.SESSION_PID_FILE + ".lock");
+    private static final long CHECK_INTERVAL_SECONDS = 15;
+    private static final long JVM_PID = ProcessHandle.current().pid();
+
+    private static final Map<WebDriver, TrackedSession> sessions = new ConcurrentHashMap<>();
+    private static final AtomicLong killedSessions = new AtomicLong();
+    private static final AtomicLong reapedProcesses = new AtomicLong();
+    private static final AtomicLong reclaimedBytes = new AtomicLong();
+    private static ScheduledExecutorService checker;
+
+    private SessionWatchdog() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Reaps processes left behind by earlier runs whose JVM is gone, then starts the
+     * deadline checker. Called once at suite start.
+     */
+    public static synchronized void start() {
+        if (!ConfigManager.isSessionWatchdogEnabled() || checker != null) {
+            return;
+        }
+        reapOrphans();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(SessionWatchdog::checkDeadlines,
+                CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        log.info("Session watchdog started - session deadline: {}s", ConfigManager.getSessionDeadline());
+    }
+
+    /**
+     * Starts tracking a newly created driver.
+     *
+     * @param driver    The new session
+     * @param driverPid PID of the driver executable, or -1 if unknown
+     */
+    public static void register(WebDriver driver, long driverPid) {
+        if (driverPid <= 0) {
+            return;
+        }
+        List<Long> browserPids = ProcessUtils.children(driverPid);
+        sessions.put(driver, new TrackedSession(driverPid, browserPids));
+        log.debug("Tracking session - driver PID {}, browser PIDs {}", driverPid, browserPids);
+        if (ConfigManager.isSessionWatchdogEnabled()) {
+            persistPids();
+        }
+    }
+
+    /**
+     * Marks a session as assigned to the calling thread's test; the deadline starts now.
+     */
+    public static void markActive(WebDriver driver) {
+        TrackedSession session = sessions.get(driver);
+        if (session != null) {
+            session.ownerThread = Thread.currentThread().getName();
+            session.activeSince = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Marks a session as no longer running a test (returned to a pool or about to be quit).
+     */
+    public static void markIdle(WebDriver driver) {
+        TrackedSession session = sessions.get(driver);
+        if (session != null) {
+            session.activeSince = 0;
+        }
+    }
+
+    /**
+     * Gets the driver executable PID of a tracked session, or -1 if it is not tracked.
+     */
+    public static long getDriverPid(WebDriver driver) {
+        TrackedSession session = sessions.get(driver);
+        return session != null ? session.driverPid : -1;
+    }
+
+    /**
+     * Stops tracking a session after it has been quit.
+     */
+    public static void unregister(WebDriver driver) {
+        if (sessions.remove(driver) != null && ConfigManager.isSessionWatchdogEnabled()) {
+            persistPids();
+        }
+    }
+
+    /**
+     * Kills the driver and browser processes of a session that could not be quit, and stops tracking it.
+     *
+     * @return Resident memory the processes held, in bytes; 0 if the session is not tracked
+     */
+    public static long killSession(WebDriver driver) {
+        TrackedSession session = sessions.get(driver);
+        if (session == null) {
+            return 0;
+        }
+        long reclaimed = kill(session);
+        unregister(driver);
+        return reclaimed;
+    }
+
+    /**
+     * Stops the checker, kills anything still tracked and reports what was reclaimed.
+     */
+    public static synchronized void shutdown() {
+        if (checker == null) {
+            return;
+        }
+        checker.shutdownNow();
+        checker = null;
+
+        for (Map.Entry<WebDriver, TrackedSession> entry : sessions.entrySet()) {
+            TrackedSession session = entry.getValue();
+            if (ProcessUtils.isAlive(session.driverPid) || session.browserPids.stream().anyMatch(ProcessUtils::isAlive)) {
+                log.warn("Session from thread {} still running at suite end - killing it", session.ownerThread);
+                reclaimedBytes.addAndGet(kill(session));
+            }
+        }
+        sessions.clear();
+        persistPids();
+
+        String summary = String.format("Sessions killed past deadline: %d | Orphan processes reaped: %d | Memory reclaimed: %s",
+                killedSessions.get(), reapedProcesses.get(), ProcessUtils.toMegabytes(reclaimedBytes.get()));
+        log.info("Session watchdog stopped - {}", summary);
+        ExtentManager.addSystemInfo("Session Watchdog", summary);
+    }
+
+    private static void checkDeadlines() {
+        long deadlineMillis = TimeUnit.SECONDS.toMillis(ConfigManager.getSessionDeadline());
+        long now = System.currentTimeMillis();
+        try {
+            for (Map.Entry<WebDriver, TrackedSession> entry : sessions.entrySet()) {
+                TrackedSession session = entry.getValue();
+                if (!ProcessUtils.isAlive(session.driverPid)) {
+                    sessions.remove(entry.getKey());
+                    continue;
+                }
+                if (session.activeSince > 0 && now - session.activeSince > deadlineMillis) {
+                    long reclaimed = kill(session);
+                    sessions.remove(entry.getKey());
+                    killedSessions.incrementAndGet();
+                    reclaimedBytes.addAndGet(reclaimed);
+                    log.error("Force-killed session stuck for {}s on thread {} (driver PID {}) - reclaimed {}",
+                            (now - session.activeSince) / 1000, session.ownerThread, session.driverPid,
+                            ProcessUtils.toMegabytes(reclaimed));
+                }
+            }
+            persistPids();
+        } catch (Exception e) {
+            log.warn("Session watchdog check failed: {}", e.getMessage());
+        }
+    }
+
+    private static long kill(TrackedSession session) {
+        long reclaimed = ProcessUtils.killTree(session.driverPid);
+        // Browsers outlive their driver if it crashed, so kill them explicitly as well
+        for (long browserPid : session.browserPids) {
+            reclaimed += ProcessUtils.killTree(browserPid);
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Kills processes recorded by runs whose JVM no longer exists. A recorded start time
+     * guards against killing an unrelated process that reused the PID.
+     */
+    private static void reapOrphans() {
+        if (!Files.isRegularFile(PID_FILE)) {
+            return;
+        }
+        long reclaimed = 0;
+        int reaped = 0;
+        List<String> stillOwned = new ArrayList<>();
+        try (FileChannel ignored = lockPidFile()) {
+            for (String line : Files.readAllLines(PID_FILE)) {
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    continue;
+                }
+                long ownerPid = Long.parseLong(fields[0]);
+                long pid = Long.parseLong(fields[1]);
+                long startMillis = Long.parseLong(fields[2]);
+                if (ProcessUtils.isAlive(ownerPid)) {
+                    stillOwned.add(line);
+                    continue;
+                }
+                if (ProcessUtils.isSameProcess(pid, startMillis)) {
+                    reclaimed += ProcessUtils.killTree(pid);
+                    reaped++;
+                }
+            }
+            Files.write(PID_FILE, stillOwned);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Unable to reap orphan processes from {}: {}", PID_FILE, e.getMessage());
+        }
+        reapedProcesses.addAndGet(reaped);
+        reclaimedBytes.addAndGet(reclaimed);
+        log.info("Reaped {} orphan browser/driver processes from earlier runs - reclaimed {}",
+                reaped, ProcessUtils.toMegabytes(reclaimed));
+    }
+
+    /**
+     * Rewrites this JVM's entries in the PID file, keeping entries owned by other live runs.
+     */
+    private static synchronized void persistPids() {
+        try (FileChannel ignored = lockPidFile()) {
+            List<String> lines = new ArrayList<>();
+            if (Files.isRegularFile(PID_FILE)) {
+                for (String line : Files.readAllLines(PID_FILE)) {
+                    if (!line.startsWith(JVM_PID + ",")) {
+                        lines.add(line);
+                    }
+                }
+            }
+            for (TrackedSession session : sessions.values()) {
+                addPidLine(lines, session.driverPid);
+                session.browserPids.forEach(pid -> addPidLine(lines, pid));
+            }
+            Files.write(PID_FILE, lines);
+        } catch (IOException e) {
+            log.warn("Unable to write session PID file {}: {}", PID_FILE, e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the PID lock file and takes an exclusive lock on it, blocking while another run
+     * holds it. Closing the returned channel releases the lock.
+     */
+    private static FileChannel lockPidFile() throws IOException {
+        Files.createDirectories(PID_FILE.getParent());
+        FileChannel channel = FileChannel.open(PID_LOCK_FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private static void addPidLine(List<String> lines, long pid) {
+        ProcessUtils.startInstant(pid)
+                .ifPresent(start -> lines.add(JVM_PID + "," + pid + "," + start.toEpochMilli()));
+    }
+
+    /**
+     * Process and ownership details of one tracked session.
+     */
+    private static final class TrackedSession {
+        private final long driverPid;
+        private final List<Long> browserPids;
+        private volatile String ownerThread = Thread.currentThread().getName();
+        private volatile long activeSince;
+
+        private TrackedSession(long driverPid, List<Long> browserPids) {
+            this.driverPid = driverPid;
+            this.browserPids = browserPids;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.qkart.driver;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.exceptions.BrowserInitializationException;
+import com.qkart.exceptions.ConfigurationException;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages a pool of Xvfb virtual displays for headed runs on Linux, so parallel headed
+ * browsers do not compete for focus on one X display.
+ * Each new local session goes to the least busy display; displays are started on demand up
+ * to the pool size, reused across tests and stopped at suite end.
+ */
+public final class VirtualDisplayPool {
+    private static final Logger log = LogManager.getLogger(VirtualDisplayPool.class);
+    private static final Path X11_SOCKET_DIR = Paths.get("/tmp/.X11-unix");
+    private static final long STARTUP_TIMEOUT_MILLIS = 10_000;
+    private static final int MAX_START_ATTEMPTS = 10;
+
+    private static VirtualDisplayPool instance;
+
+    private final List<Display> displays = new ArrayList<>();
+    private final int maxDisplays;
+    private int nextDisplayNumber;
+    private long assignments;
+
+    private VirtualDisplayPool(int maxDisplays, int firstDisplayNumber) {
+        this.maxDisplays = maxDisplays;
+        this.nextDisplayNumber = firstDisplayNumber;
+    }
+
+    /**
+     * Gets the shared pool, creating it on first use.
+     */
+    public static synchronized VirtualDisplayPool getInstance() {
+        if (instance == null) {
+            instance = new VirtualDisplayPool(ConfigManager.getVirtualDisplayCount(), ConfigManager.getFirstDisplayNumber());
+            log.info("Virtual display pool enabled - up to {} Xvfb displays", instance.maxDisplays);
+        }
+        return instance;
+    }
+
+    /**
+     * Reserves a display for a session that is about to be started. Pass the display's
+     * environment to the driver service builder and attach the built service afterwards.
+     *
+     * @return The least busy display, started if needed
+     */
+    public synchronized Display acquire() {
+        Display display = displays.stream()
+                .min(Comparator.comparingInt(Display::load))
+                .filter(candidate -> candidate.load() == 0 || displays.size() >= maxDisplays)
+                .orElseGet(this::startDisplay);
+        display.pending++;
+        assignments++;
+        return display;
+    }
+
+    /**
+     * Stops every Xvfb display. Call after all sessions have been quit.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        VirtualDisplayPool pool = instance;
+        instance = null;
+        synchronized (pool) {
+            for (Display display : pool.displays) {
+                display.xvfb.destroy();
+                try {
+                    if (!display.xvfb.waitFor(5, TimeUnit.SECONDS)) {
+                        display.xvfb.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String summary = String.format("Displays: %d | Sessions served: %d", pool.displays.size(), pool.assignments);
+            log.info("Virtual display pool stopped - {}", summary);
+            ExtentManager.addSystemInfo("Virtual Displays", summary);
+        }
+    }
+
+    private Display startDisplay() {
+        for (int attempt = 0; attempt < MAX_START_ATTEMPTS; attempt++) {
+            int number = nextDisplayNumber++;
+            if (Files.exists(Paths.get("/tmp/.X" + number + "-lock"))) {
+                continue; // Taken by another X server or an earlier run
+            }
+            Process xvfb;
+            try {
+                xvfb = new ProcessBuilder("Xvfb", ":" + number, "-screen", "0", ConfigManager.getDisplayResolution(),
+                        "-nolisten", "tcp", "-ac")
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+            } catch (IOException e) {
+                throw new ConfigurationException("Xvfb is required for virtualDisplays=true but could not be started", e);
+            }
+            if (awaitSocket(xvfb, number)) {
+                Display display = new Display(this, number, xvfb);
+                displays.add(display);
+                log.info("Started Xvfb display {} ({})", display.getName(), ConfigManager.getDisplayResolution());
+                return display;
+            }
+            xvfb.destroyForcibly();
+        }
+        throw new BrowserInitializationException("Xvfb (no free display after " + MAX_START_ATTEMPTS + " attempts)");
+    }
+
+    private static boolean awaitSocket(Process xvfb, int number) {
+        Path socket = X11_SOCKET_DIR.resolve("X" + number);
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                if (Files.exists(socket)) {
+                    return true;
+                }
+                if (!xvfb.isAlive()) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * One Xvfb display and the driver services running on it.
+     */
+    public static final class Display {
+        private final VirtualDisplayPool pool;
+        private final int number;
+        private final Process xvfb;
+        private final List<DriverService> services = new ArrayList<>();
+        private int pending;
+
+        private Display(VirtualDisplayPool pool, int number, Process xvfb) {
+            this.pool = pool;
+            this.number = number;
+            this.xvfb = xvfb;
+        }
+
+        public String getName() {
+            return ":" + number;
+        }
+
+        /**
+         * Gets the environment that points a driver and its browser at this display.
+         */
+        public Map<String, String> getEnvironment() {
+            return Map.of("DISPLAY", getName());
+        }
+
+        /**
+         * Completes the reservation once the session has been started (or has failed to
+         * start). The display counts the service as busy for as long as it keeps running.
+         */
+        public void attach(DriverService service) {
+            synchronized (pool) {
+                pending--;
+                if (service != null) {
+                    services.add(service);
+                }
+            }
+        }
+
+        private int load() {
+            services.removeIf(service -> !service.isRunning());
+            return pending + services.size();
+        }
+    }
+}
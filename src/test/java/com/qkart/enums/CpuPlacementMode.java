@@ -0,0 +1,36 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how local browser process trees are placed on the host's CPUs (Linux only).
+ * NONE leaves placement to the OS scheduler, AFFINITY pins each worker's browsers to its own CPU set,
+ * CGROUP moves them into a per-worker cgroup v2 group with CPU and memory limits.
+ */
+public enum CpuPlacementMode {
+    NONE("none"),
+    AFFINITY("affinity"),
+    CGROUP("cgroup");
+
+    private final String modeName;
+
+    CpuPlacementMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to CpuPlacementMode enum.
+     * @param modeName The placement mode string
+     * @return The corresponding CpuPlacementMode enum value
+     */
+    public static CpuPlacementMode fromString(String modeName) {
+        for (CpuPlacementMode mode : CpuPlacementMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return NONE; // Default to OS scheduling
+    }
+}
@@ -0,0 +1,38 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how WebDriver sessions are provided to tests.
+ * FRESH creates and quits a browser per test, POOLED leases warm sessions from a bounded pool,
+ * PRESPAWN builds each worker's next browser in the background while the current test runs,
+ * CONTEXT gives each test an isolated browser context inside a shared Chrome process.
+ */
+public enum DriverMode {
+    FRESH("fresh"),
+    POOLED("pooled"),
+    PRESPAWN("prespawn"),
+    CONTEXT("context");
+
+    private final String modeName;
+
+    DriverMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to DriverMode enum.
+     * @param modeName The driver mode string
+     * @return The corresponding DriverMode enum value
+     */
+    public static DriverMode fromString(String modeName) {
+        for (DriverMode mode : DriverMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return FRESH; // Default to a fresh browser per test
+    }
+}
@@ -0,0 +1,34 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing where browser sessions run.
+ * LOCAL starts browsers on this machine, REMOTE creates RemoteWebDriver sessions on Selenium nodes.
+ */
+public enum ExecutionMode {
+    LOCAL("local"),
+    REMOTE("remote");
+
+    private final String modeName;
+
+    ExecutionMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to ExecutionMode enum.
+     * @param modeName The execution mode string
+     * @return The corresponding ExecutionMode enum value
+     */
+    public static ExecutionMode fromString(String modeName) {
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return LOCAL; // Default to local browsers
+    }
+}
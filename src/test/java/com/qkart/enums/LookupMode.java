@@ -0,0 +1,35 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how element lookups wait for the page.
+ * IMPLICIT keeps the session-wide implicitWait; EXPLICIT sets it to zero so that every lookup
+ * either waits explicitly (and says what for) or answers immediately, absence included.
+ */
+public enum LookupMode {
+    IMPLICIT("implicit"),
+    EXPLICIT("explicit");
+
+    private final String modeName;
+
+    LookupMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to LookupMode enum.
+     * @param modeName The lookup mode string
+     * @return The corresponding LookupMode enum value
+     */
+    public static LookupMode fromString(String modeName) {
+        for (LookupMode mode : LookupMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return IMPLICIT; // Default to the session-wide implicit wait
+    }
+}
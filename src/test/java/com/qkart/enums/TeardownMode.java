@@ -0,0 +1,35 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how sessions are quit after a test.
+ * SYNC quits on the test's worker thread, ASYNC hands the quit to a background reaper so the
+ * worker can start its next test immediately.
+ */
+public enum TeardownMode {
+    SYNC("sync"),
+    ASYNC("async");
+
+    private final String modeName;
+
+    TeardownMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to TeardownMode enum.
+     * @param modeName The teardown mode string
+     * @return The corresponding TeardownMode enum value
+     */
+    public static TeardownMode fromString(String modeName) {
+        for (TeardownMode mode : TeardownMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return SYNC; // Default to quitting on the worker thread
+    }
+}
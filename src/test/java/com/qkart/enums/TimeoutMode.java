@@ -0,0 +1,35 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how wait timeouts are chosen.
+ * FIXED uses explicitWait/pageLoadTimeout for every step; LEARNED derives a per-step timeout
+ * from the step's recorded time-to-satisfy, capped by the configured value.
+ */
+public enum TimeoutMode {
+    FIXED("fixed"),
+    LEARNED("learned");
+
+    private final String modeName;
+
+    TimeoutMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Converts string to TimeoutMode enum.
+     * @param modeName The timeout mode string
+     * @return The corresponding TimeoutMode enum value
+     */
+    public static TimeoutMode fromString(String modeName) {
+        for (TimeoutMode mode : TimeoutMode.values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        return FIXED; // Default to the configured timeouts
+    }
+}
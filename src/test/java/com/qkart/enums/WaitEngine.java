@@ -0,0 +1,35 @@
+package com.qkart.enums;
+
+/**
+ * Enum representing how explicit waits observe the page.
+ * POLLING re-checks conditions with WebDriver round trips at a fixed interval,
+ * MUTATION blocks in one async script call driven by an in-page MutationObserver.
+ */
+public enum WaitEngine {
+    POLLING("polling"),
+    MUTATION("mutation");
+
+    private final String engineName;
+
+    WaitEngine(String engineName) {
+        this.engineName = engineName;
+    }
+
+    public String getEngineName() {
+        return engineName;
+    }
+
+    /**
+     * Converts string to WaitEngine enum.
+     * @param engineName The wait engine string
+     * @return The corresponding WaitEngine enum value
+     */
+    public static WaitEngine fromString(String engineName) {
+        for (WaitEngine engine : WaitEngine.values()) {
+            if (engine.engineName.equalsIgnoreCase(engineName)) {
+                return engine;
+            }
+        }
+        return MUTATION; // Default to push-based waits
+    }
+}
@@ -0,0 +1,15 @@
+package com.qkart.exceptions;
+
+/**
+ * Exception thrown when a test has used up its time budget and a step cannot be given any more time.
+ */
+public class BudgetExhaustedException extends FrameworkException {
+
+    public BudgetExhaustedException(String step, long budgetInSeconds) {
+        super(String.format("Time budget of %d seconds exhausted at step: %s", budgetInSeconds, step));
+    }
+
+    public BudgetExhaustedException(String step, long budgetInSeconds, Throwable cause) {
+        super(String.format("Time budget of %d seconds exhausted at step: %s", budgetInSeconds, step), cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.qkart.listeners;
+
+import com.qkart.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes TestNG's worker pool to the adaptive parallelism ceiling so the
+ * {@link com.qkart.driver.ParallelismController} can admit up to that many sessions.
+ * The suite's own thread-count is used unchanged when adaptive parallelism is off.
+ */
+public class ParallelismListener implements IAlterSuiteListener {
+    private static final Logger log = LogManager.getLogger(ParallelismListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigManager.isAdaptiveParallelism()) {
+            return;
+        }
+        int maxParallelism = ConfigManager.getMaxParallelism();
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() != null && suite.getParallel().isParallel()) {
+                log.info("Suite '{}' thread-count {} -> {} (adaptive parallelism ceiling)",
+                        suite.getName(), suite.getThreadCount(), maxParallelism);
+                suite.setThreadCount(maxParallelism);
+            }
+        }
+    }
+}
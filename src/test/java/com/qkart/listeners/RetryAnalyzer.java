@@ -1,6 +1,8 @@
 package com.qkart.listeners;
 
 import com.qkart.config.ConfigManager;
+import com.qkart.exceptions.BudgetExhaustedException;
+import com.qkart.waits.TestBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
@@ -23,6 +25,11 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     public boolean retry(ITestResult result) {
         if (!result.isSuccess()) {
             String testMethodName = getTestMethodIdentifier(result);
+            if (isBudgetExhausted(result)) {
+                // A retry would spend the whole budget again on the same slow step
+                log.error("Test [{}] ran out of its time budget, not retrying", testMethodName);
+                return false;
+            }
             int maxRetry = ConfigManager.getRetryCount();
 
             AtomicInteger counter = retryCountMap.computeIfAbsent(testMethodName, k -> new AtomicInteger(0));
@@ -37,6 +44,18 @@ public class RetryAnalyzer implements IRetryAnalyzer {
         return false;
     }
 
+    /**
+     * Checks whether the test failed because it used up its time budget.
+     */
+    private boolean isBudgetExhausted(ITestResult result) {
+        for (Throwable t = result.getThrowable(); t != null; t = t.getCause()) {
+            if (t instanceof BudgetExhaustedException) {
+                return true;
+            }
+        }
+        return TestBudget.wasExhausted();
+    }
+
     /**
      * Creates a unique identifier for each test method invocation.
      */
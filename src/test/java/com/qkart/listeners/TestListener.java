@@ -26,6 +26,14 @@ public class TestListener implements ITestListener {
     // ThreadLocal is MANDATORY for Parallel Execution
     private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
 
+    /**
+     * Gets the report entry of the test currently running on this thread.
+     * Null before the first test on the thread has started.
+     */
+    public static ExtentTest getCurrentTest() {
+        return test.get();
+    }
+
     @Override
     public void onStart(ITestContext context) {
         log.info("========== TEST SUITE STARTED: {} ==========", context.getName());
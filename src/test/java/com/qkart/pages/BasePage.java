@@ -3,12 +3,14 @@ package com.qkart.pages;
 import com.qkart.config.ConfigManager;
 import com.qkart.constants.FrameworkConstants;
 import com.qkart.enums.WaitStrategy;
+import com.qkart.exceptions.BudgetExhaustedException;
 import com.qkart.exceptions.ElementNotFoundException;
 import com.qkart.utils.WaitUtils;
+import com.qkart.waits.ConditionMatch;
+import com.qkart.waits.PageCheck;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -23,10 +25,20 @@ public class BasePage {
     protected static final Logger log = LogManager.getLogger(BasePage.class);
     protected WebDriver driver;
     protected WebDriverWait wait;
+    private final ElementCache elements;
 
     public BasePage(WebDriver driver) {
+        this(driver, ConfigManager.isElementCacheEnabled());
+    }
+
+    /**
+     * @param cacheElements Whether click, sendKeys and getText may reuse elements they resolved
+     *                      before (see {@link ElementCache}); pass false for pages whose DOM is rebuilt constantly
+     */
+    protected BasePage(WebDriver driver, boolean cacheElements) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getExplicitWait()));
+        this.elements = new ElementCache(driver, cacheElements);
     }
 
     /**
@@ -37,23 +49,15 @@ public class BasePage {
      * @return The found WebElement
      */
     protected WebElement performExplicitWait(WaitStrategy strategy, By locator) {
-        log.debug("Waiting for element [{}] with strategy [{}]", locator, strategy);
-        try {
-            switch (strategy) {
-                case CLICKABLE:
-                    return wait.until(ExpectedConditions.elementToBeClickable(locator));
-                case VISIBLE:
-                    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-                case PRESENCE:
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-                case NONE:
-                    return driver.findElement(locator);
-                default:
-                    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            }
-        } catch (TimeoutException e) {
-            throw new ElementNotFoundException(locator, ConfigManager.getExplicitWait(), e);
-        }
+        return WaitUtils.waitForElement(driver, locator, strategy);
+    }
+
+    /**
+     * Resolves an element for an interaction, reusing the one resolved last time if the DOM has
+     * not changed since.
+     */
+    private WebElement resolve(WaitStrategy strategy, By locator) {
+        return elements.get(locator, strategy, () -> performExplicitWait(strategy, locator));
     }
 
     /**
@@ -66,15 +70,25 @@ public class BasePage {
         int attempts = 0;
         while (attempts < FrameworkConstants.STALE_ELEMENT_RETRY_COUNT) {
             try {
-                WebElement element = performExplicitWait(strategy, locator);
+                WebElement element = resolve(strategy, locator);
                 highlightElement(element);
                 element.click();
                 log.debug("Successfully clicked on element: {}", locator);
                 return (T) this;
             } catch (StaleElementReferenceException e) {
+                if (elements.evict(locator, strategy)) {
+                    continue;
+                }
                 attempts++;
                 log.warn("StaleElementReferenceException on click, attempt {}/{}",
                         attempts, FrameworkConstants.STALE_ELEMENT_RETRY_COUNT);
+            } catch (ElementClickInterceptedException e) {
+                throw e;
+            } catch (ElementNotInteractableException e) {
+                // A cached element may have been hidden or disabled since; wait for it afresh
+                if (!elements.evict(locator, strategy)) {
+                    throw e;
+                }
             }
         }
         throw new ElementNotFoundException("Failed to click element after retries: " + locator);
@@ -90,16 +104,25 @@ public class BasePage {
         int attempts = 0;
         while (attempts < FrameworkConstants.STALE_ELEMENT_RETRY_COUNT) {
             try {
-                WebElement element = performExplicitWait(strategy, locator);
+                WebElement element = resolve(strategy, locator);
                 highlightElement(element);
                 element.clear();
                 element.sendKeys(text);
                 log.debug("Successfully sent keys to element: {}", locator);
                 return (T) this;
             } catch (StaleElementReferenceException e) {
+                if (elements.evict(locator, strategy)) {
+                    continue;
+                }
                 attempts++;
                 log.warn("StaleElementReferenceException on sendKeys, attempt {}/{}",
                         attempts, FrameworkConstants.STALE_ELEMENT_RETRY_COUNT);
+            } catch (ElementClickInterceptedException e) {
+                throw e;
+            } catch (ElementNotInteractableException e) {
+                if (!elements.evict(locator, strategy)) {
+                    throw e;
+                }
             }
         }
         throw new ElementNotFoundException("Failed to send keys to element after retries: " + locator);
@@ -110,7 +133,15 @@ public class BasePage {
      */
     protected String getText(By locator, WaitStrategy strategy) {
         log.debug("Getting text from element: {}", locator);
-        String text = performExplicitWait(strategy, locator).getText();
+        String text;
+        try {
+            text = resolve(strategy, locator).getText();
+        } catch (StaleElementReferenceException e) {
+            if (!elements.evict(locator, strategy)) {
+                throw e;
+            }
+            text = resolve(strategy, locator).getText();
+        }
         log.debug("Retrieved text: {}", text);
         return text;
     }
@@ -130,11 +161,15 @@ public class BasePage {
     }
 
     /**
-     * Checks if an element is displayed.
+     * Checks if an element is displayed, waiting up to the explicit wait for it to appear.
+     * A negative answer costs the whole wait; use {@link #isDisplayedOnceSettled(By)} or
+     * {@link #whichAppears(By, By)} where the element may legitimately be missing.
      */
     protected boolean isDisplayed(By locator) {
         try {
             return performExplicitWait(WaitStrategy.VISIBLE, locator).isDisplayed();
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.debug("Element not displayed: {}", locator);
             return false;
@@ -146,19 +181,76 @@ public class BasePage {
      */
     protected boolean isDisplayed(By locator, int timeoutInSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-            return customWait.until(ExpectedConditions.visibilityOfElementLocated(locator)).isDisplayed();
+            return WaitUtils.waitForElement(driver, locator, WaitStrategy.VISIBLE, timeoutInSeconds).isDisplayed();
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Checks from a single DOM snapshot whether an element is visible, without waiting.
+     */
+    protected boolean isDisplayedNow(By locator) {
+        return WaitUtils.isVisibleNow(driver, locator);
+    }
+
+    /**
+     * Checks whether an element is visible once the page has settled: answers false within
+     * domSettleMs of the page going quiet rather than after the full explicit wait.
+     */
+    protected boolean isDisplayedOnceSettled(By locator) {
+        return isDisplayedOnceSettled(locator, ConfigManager.getExplicitWait());
+    }
+
+    /**
+     * Checks whether an element is visible once the page has settled, giving up after the
+     * timeout on pages that never go quiet.
+     */
+    protected boolean isDisplayedOnceSettled(By locator, int timeoutInSeconds) {
+        try {
+            return WaitUtils.isVisibleOnceSettled(driver, locator, timeoutInSeconds);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks from a single DOM snapshot that no element matches the locator.
+     */
+    protected boolean isAbsentNow(By locator) {
+        return WaitUtils.isAbsentNow(driver, locator);
+    }
+
+    /**
+     * Checks whether an element becomes (and stays) absent within the timeout.
+     */
+    protected boolean becomesAbsentWithin(By locator, int timeoutInSeconds) {
+        try {
+            return WaitUtils.waitForAbsence(driver, locator, timeoutInSeconds);
+        } catch (TimeoutException e) {
+            log.debug("Element still present after {} seconds: {}", timeoutInSeconds, locator);
+            return false;
+        }
+    }
+
+    /**
+     * Waits for either of two elements to appear.
+     *
+     * @return 0 if the first appeared, 1 if the second did
+     * @throws TimeoutException if neither appears within the explicit wait
+     */
+    protected int whichAppears(By first, By second) {
+        return WaitUtils.waitForEither(driver, first, second, ConfigManager.getExplicitWait());
+    }
+
     /**
      * Waits for element to be invisible.
      */
     protected boolean waitForInvisibility(By locator) {
         log.debug("Waiting for element to be invisible: {}", locator);
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return WaitUtils.waitForInvisibility(driver, locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -166,7 +258,7 @@ public class BasePage {
      */
     protected boolean waitForUrlContains(String partialUrl) {
         log.debug("Waiting for URL to contain: {}", partialUrl);
-        return wait.until(ExpectedConditions.urlContains(partialUrl));
+        return WaitUtils.waitForUrlContains(driver, partialUrl, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -174,21 +266,56 @@ public class BasePage {
      */
     protected boolean waitForUrlEndsWith(String urlSuffix) {
         log.debug("Waiting for URL to end with: {}", urlSuffix);
-        return wait.until(driver -> driver.getCurrentUrl().endsWith(urlSuffix));
+        return WaitUtils.waitForUrlEndsWith(driver, urlSuffix, ConfigManager.getExplicitWait());
     }
 
     /**
      * Waits for element to be present.
      */
     protected WebElement waitForPresence(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return performExplicitWait(WaitStrategy.PRESENCE, locator);
+    }
+
+    /**
+     * Waits for element to be visible.
+     */
+    protected WebElement waitForVisibility(By locator) {
+        return performExplicitWait(WaitStrategy.VISIBLE, locator);
+    }
+
+    /**
+     * Waits for an element inside another element, e.g. a button within a product card.
+     */
+    protected WebElement waitWithin(WebElement scope, By locator, WaitStrategy strategy) {
+        return WaitUtils.waitForElementWithin(driver, scope, locator, strategy, ConfigManager.getExplicitWait());
+    }
+
+    /**
+     * Finds the elements matching the locator right now; an empty list means none are there.
+     */
+    protected List<WebElement> findAll(By locator) {
+        return WaitUtils.findAllNow(driver, locator);
+    }
+
+    /**
+     * Finds the elements matching the locator inside another element right now.
+     */
+    protected List<WebElement> findAll(WebElement scope, By locator) {
+        return WaitUtils.findAllNow(scope, locator);
+    }
+
+    /**
+     * Waits until any of the checks holds, e.g. results or an empty-state message.
+     */
+    protected ConditionMatch waitForAny(PageCheck... checks) {
+        return WaitUtils.waitForAny(driver, ConfigManager.getExplicitWait(), checks);
     }
 
     /**
      * Waits for all elements to be present.
      */
     protected List<WebElement> waitForAllPresence(By locator) {
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return WaitUtils.waitForElements(driver, locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -197,7 +324,7 @@ public class BasePage {
     @SuppressWarnings("unchecked")
     protected <T extends BasePage> T jsClick(By locator) {
         log.info("Performing JS click on element: {}", locator);
-        WebElement element = driver.findElement(locator);
+        WebElement element = performExplicitWait(WaitStrategy.PRESENCE, locator);
         highlightElement(element);
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].click();", element);
@@ -205,13 +332,13 @@ public class BasePage {
     }
 
     /**
-     * Scrolls element into view.
+     * Scrolls element into view. Scrolls instantly, so the element is in place when the call returns.
      */
     protected void scrollIntoView(By locator) {
         log.debug("Scrolling element into view: {}", locator);
-        WebElement element = driver.findElement(locator);
+        WebElement element = performExplicitWait(WaitStrategy.PRESENCE, locator);
         JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
+        js.executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
     }
 
     /**
@@ -248,6 +375,23 @@ public class BasePage {
         }
     }
 
+    /**
+     * Waits for the XHR/fetch traffic an action triggered to finish.
+     *
+     * @param action Names the action for the per-test network report
+     */
+    protected void waitForNetworkIdle(String action) {
+        WaitUtils.waitForNetworkIdle(driver, action, ConfigManager.getExplicitWait());
+    }
+
+    /**
+     * Navigates to a URL and waits for it to fully load.
+     */
+    protected void openPage(String url) {
+        WaitUtils.loadPage(driver, url, ConfigManager.getPageLoadTimeout());
+        waitForPageLoad();
+    }
+
     /**
      * Waits for page to fully load.
      */
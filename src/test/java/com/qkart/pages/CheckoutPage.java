@@ -2,11 +2,11 @@ package com.qkart.pages;
 
 import com.qkart.constants.LocatorRepository;
 import com.qkart.constants.StringConstants;
+import com.qkart.exceptions.BudgetExhaustedException;
 import com.qkart.utils.DynamicXpath;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 /**
  * Page Object for the Checkout Page.
@@ -28,8 +28,9 @@ public class CheckoutPage extends BasePage {
         click(LocatorRepository.Checkout.ADD_NEW_ADDRESS_BTN);
         sendKeys(LocatorRepository.Checkout.ADDRESS_INPUT_BOX, address);
         click(LocatorRepository.Checkout.ADD_ADDRESS_SAVE_BTN);
+        waitForNetworkIdle("add address");
         By addressText = DynamicXpath.get(LocatorRepository.Checkout.ADDRESS_TEXT_XPATH, address);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(addressText));
+        waitForVisibility(addressText);
         return this;
     }
 
@@ -52,6 +53,7 @@ public class CheckoutPage extends BasePage {
     public CheckoutPage placeOrder() {
         log.info("Placing order");
         click(LocatorRepository.Checkout.PLACE_ORDER_BTN);
+        waitForNetworkIdle("place order");
         return this;
     }
 
@@ -62,11 +64,12 @@ public class CheckoutPage extends BasePage {
     public boolean verifyInsufficientBalanceMessage() {
         log.info("Verifying insufficient balance message");
         try {
-            WebElement alert = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    LocatorRepository.Checkout.SNACKBAR_MESSAGE));
+            WebElement alert = waitForVisibility(LocatorRepository.Checkout.SNACKBAR_MESSAGE);
             boolean result = alert.getText().equals(StringConstants.INSUFFICIENT_BALANCE_ERR);
             log.info("Insufficient balance message displayed: {}", result);
             return result;
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Insufficient balance message not found");
             return false;
@@ -81,6 +84,8 @@ public class CheckoutPage extends BasePage {
         log.info("Verifying order placed successfully");
         try {
             return waitForUrlEndsWith(StringConstants.THANKS_ENDPOINT);
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Order placement verification failed");
             return false;
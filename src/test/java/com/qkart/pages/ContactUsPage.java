@@ -1,8 +1,8 @@
 package com.qkart.pages;
 
 import com.qkart.constants.LocatorRepository;
+import com.qkart.exceptions.BudgetExhaustedException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 /**
  * Page Object for the Contact Us modal/form.
@@ -80,9 +80,11 @@ public class ContactUsPage extends BasePage {
     public boolean isContactModalClosed() {
         log.info("Checking if contact modal is closed");
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(LocatorRepository.ContactUs.CONTACT_NOW_BTN));
+            waitForInvisibility(LocatorRepository.ContactUs.CONTACT_NOW_BTN);
             log.info("Contact modal closed successfully");
             return true;
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Contact modal still visible");
             return false;
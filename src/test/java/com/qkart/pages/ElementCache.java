@@ -0,0 +1,229 @@
+package com.qkart.pages;
+
+import com.qkart.enums.WaitStrategy;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-page cache of resolved elements, keyed by locator and wait strategy, so repeated
+ * interactions with the same field skip the wait round trip. Entries are invalidated by a DOM
+ * generation counter the page pushes over CDP ({@code Runtime.addBinding}): a script registered
+ * for every new document reports navigations, added and removed nodes, and class, style and
+ * disabled/hidden changes that alter whether an element is shown or usable, without the test
+ * issuing any command. State classes such as MUI's {@code Mui-focused}, which form fields toggle on
+ * every focus change, leave the generation alone. Pages call {@link #evict} when a cached element
+ * turns out stale or not interactable, and resolve it again.
+ *
+ * Sessions without CDP have no signal, so their pages never serve from the cache.
+ */
+public final class ElementCache {
+    private static final Logger log = LogManager.getLogger(ElementCache.class);
+    private static final String BINDING = "__qkartDomChanged";
+
+    /**
+     * Reports the new document, then any added or removed nodes (except inside MUI ripple
+     * containers) and any attribute change or finished transition that alters an element's
+     * display, visibility, opacity, pointer events or disabled/hidden state. The state an element
+     * had is remembered from the last time it changed, so the first change seen on an element
+     * always counts.
+     */
+    private static final String OBSERVER = "(function () {"
+            + "if (window.__qkartDomObserver || typeof window." + BINDING + " !== 'function') { return; }"
+            + "window.__qkartDomObserver = true;"
+            + "var notify = function () { window." + BINDING + "(''); };"
+            + "var states = new WeakMap();"
+            + "var inRipple = function (node) {"
+            + "  return node.closest && node.closest('.MuiTouchRipple-root') !== null;"
+            + "};"
+            + "var stateChanged = function (element) {"
+            + "  var style = getComputedStyle(element);"
+            + "  var state = [style.display, style.visibility, style.opacity === '0', style.pointerEvents,"
+            + "      element.disabled === true, element.hidden, element.getAttribute('aria-hidden')].join('|');"
+            + "  var previous = states.get(element);"
+            + "  states.set(element, state);"
+            + "  return previous !== state;"
+            + "};"
+            + "notify();"
+            + "var observer = new MutationObserver(function (records) {"
+            + "  for (var i = 0; i < records.length; i++) {"
+            + "    var target = records[i].target;"
+            + "    if (inRipple(target)) { continue; }"
+            + "    if (records[i].type === 'childList' || stateChanged(target)) {"
+            + "      notify();"
+            + "      return;"
+            + "    }"
+            + "  }"
+            + "});"
+            + "var settled = function (event) {"
+            + "  if (event.target instanceof Element && !inRipple(event.target) && stateChanged(event.target)) { notify(); }"
+            + "};"
+            + "document.addEventListener('transitionend', settled, true);"
+            + "document.addEventListener('animationend', settled, true);"
+            + "var start = function () {"
+            + "  observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true,"
+            + "      attributeFilter: ['class', 'style', 'disabled', 'hidden', 'aria-hidden']});"
+            + "};"
+            + "if (document.documentElement) { start(); }"
+            + "else { document.addEventListener('readystatechange', start, {once: true}); }"
+            + "})();";
+
+    private static final AtomicLong NO_SIGNAL = new AtomicLong();
+    private static final Map<WebDriver, AtomicLong> generations = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<long[]> testCounts = ThreadLocal.withInitial(() -> new long[3]);
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+    private static final AtomicLong totalEvictions = new AtomicLong();
+
+    private final AtomicLong generation;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean lastLookupHit;
+
+    /**
+     * Creates the cache for a page. Inert if disabled or the session has no DOM signal.
+     */
+    ElementCache(WebDriver driver, boolean enabled) {
+        AtomicLong signal = enabled ? signalFor(driver) : NO_SIGNAL;
+        this.generation = signal != NO_SIGNAL ? signal : null;
+    }
+
+    /**
+     * Returns the cached element for the locator if the DOM has not changed since it was
+     * resolved, otherwise resolves and caches it.
+     */
+    WebElement get(By locator, WaitStrategy strategy, Supplier<WebElement> resolve) {
+        lastLookupHit = false;
+        if (generation == null) {
+            return resolve.get();
+        }
+        String key = strategy + " " + locator;
+        long current = generation.get();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation == current) {
+            lastLookupHit = true;
+            testCounts.get()[0]++;
+            return entry.element;
+        }
+        WebElement element = resolve.get();
+        entries.put(key, new Entry(element, current));
+        testCounts.get()[1]++;
+        return element;
+    }
+
+    /**
+     * Drops the entry for an element that failed on use.
+     *
+     * @return {@code true} if the failing element came from the cache, i.e. resolving it again may help
+     */
+    boolean evict(By locator, WaitStrategy strategy) {
+        entries.remove(strategy + " " + locator);
+        if (lastLookupHit) {
+            lastLookupHit = false;
+            testCounts.get()[2]++;
+            log.debug("Cached element for {} went stale - resolving again", locator);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Summarizes the cache use of the test that just ran on this thread.
+     *
+     * @return A one-line summary, or {@code null} if no cached lookups were made
+     */
+    public static String summarizeTest() {
+        long[] counts = testCounts.get();
+        testCounts.remove();
+        long lookups = counts[0] + counts[1];
+        if (lookups == 0) {
+            return null;
+        }
+        totalHits.addAndGet(counts[0]);
+        totalMisses.addAndGet(counts[1]);
+        totalEvictions.addAndGet(counts[2]);
+        return String.format("Element cache: %d hits, %d misses (%.0f%% hit rate), %d stale hits resolved again",
+                counts[0], counts[1], 100.0 * counts[0] / lookups, counts[2]);
+    }
+
+    /**
+     * Adds suite-wide cache totals to the report.
+     */
+    public static void reportTotals() {
+        long lookups = totalHits.get() + totalMisses.get();
+        if (lookups == 0) {
+            return;
+        }
+        String summary = String.format("%d of %d lookups served from cache (%.0f%%) | %d stale hits",
+                totalHits.get(), lookups, 100.0 * totalHits.get() / lookups, totalEvictions.get());
+        log.info("Element cache totals - {}", summary);
+        ExtentManager.addSystemInfo("Element Cache", summary);
+    }
+
+    /**
+     * Gets the session's DOM signal, installing it on first use. The CDP setup runs outside the
+     * map's lock so pages of other sessions are not held up by it.
+     */
+    private static AtomicLong signalFor(WebDriver driver) {
+        AtomicLong signal = generations.get(driver);
+        if (signal != null) {
+            return signal;
+        }
+        AtomicLong attached = attach(driver);
+        signal = generations.putIfAbsent(driver, attached);
+        return signal != null ? signal : attached;
+    }
+
+    /**
+     * Installs the DOM signal on the session.
+     *
+     * @return The session's DOM generation counter, or {@code NO_SIGNAL} if the session has no CDP
+     */
+    private static AtomicLong attach(WebDriver driver) {
+        if (!CdpUtils.isDevToolsSupported(driver)) {
+            log.debug("Element cache disabled - {} does not support CDP", driver.getClass().getSimpleName());
+            return NO_SIGNAL;
+        }
+        AtomicLong counter = new AtomicLong();
+        try {
+            CdpUtils.addListener(driver, "Runtime.bindingCalled", event -> {
+                if (BINDING.equals(event.get("name"))) {
+                    counter.incrementAndGet();
+                }
+            });
+            CdpUtils.send(driver, "Runtime.addBinding", Map.of("name", BINDING));
+            CdpUtils.send(driver, "Page.addScriptToEvaluateOnNewDocument", Map.of("source", OBSERVER));
+            Object bound = ((JavascriptExecutor) driver).executeScript(
+                    OBSERVER + "return typeof window." + BINDING + " === 'function';");
+            if (!Boolean.TRUE.equals(bound)) {
+                log.warn("DOM change binding unavailable in the page, element cache disabled");
+                return NO_SIGNAL;
+            }
+        } catch (Exception e) {
+            log.warn("Unable to install DOM change signal, element cache disabled: {}", e.getMessage());
+            return NO_SIGNAL;
+        }
+        return counter;
+    }
+
+    private static final class Entry {
+        private final WebElement element;
+        private final long generation;
+
+        private Entry(WebElement element, long generation) {
+            this.element = element;
+            this.generation = generation;
+        }
+    }
+}
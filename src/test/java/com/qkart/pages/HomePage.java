@@ -3,12 +3,16 @@ package com.qkart.pages;
 import com.qkart.config.ConfigManager;
 import com.qkart.constants.LocatorRepository;
 import com.qkart.constants.StringConstants;
+import com.qkart.enums.WaitStrategy;
 import com.qkart.utils.DynamicXpath;
+import com.qkart.utils.WaitUtils;
+import com.qkart.waits.PageCheck;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +21,9 @@ import java.util.stream.Collectors;
  * Implements fluent pattern for method chaining.
  */
 public class HomePage extends BasePage {
+    // QKart debounces search input by 500 ms before querying
+    private static final Duration SEARCH_DEBOUNCE = Duration.ofMillis(500);
+    private static final int LOGOUT_PROBE_SECONDS = 3;
     private final String url;
 
     public HomePage(WebDriver driver) {
@@ -31,8 +38,7 @@ public class HomePage extends BasePage {
     public HomePage navigateToHome() {
         log.info("Navigating to Home page: {}", url);
         if (!driver.getCurrentUrl().equals(url)) {
-            driver.get(url);
-            waitForPageLoad();
+            openPage(url);
         }
         return this;
     }
@@ -43,7 +49,13 @@ public class HomePage extends BasePage {
      */
     public HomePage performLogout() {
         log.info("Performing logout");
-        if (isDisplayed(LocatorRepository.Home.LOGOUT_BUTTON, 3)) {
+        // The header renders once the session check returns, so let that traffic finish first
+        try {
+            WaitUtils.waitForNetworkIdle(driver, "logout check", LOGOUT_PROBE_SECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Network still busy after {} seconds, checking for logout anyway", LOGOUT_PROBE_SECONDS);
+        }
+        if (isDisplayedOnceSettled(LocatorRepository.Home.LOGOUT_BUTTON, LOGOUT_PROBE_SECONDS)) {
             click(LocatorRepository.Home.LOGOUT_BUTTON);
             waitForInvisibility(LocatorRepository.Home.LOGOUT_BUTTON);
         }
@@ -58,10 +70,9 @@ public class HomePage extends BasePage {
     public HomePage searchForProduct(String product) {
         log.info("Searching for product: {}", product);
         sendKeys(LocatorRepository.Home.SEARCH_BOX, product);
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.presenceOfElementLocated(LocatorRepository.Home.SEARCH_RESULTS),
-                ExpectedConditions.presenceOfElementLocated(LocatorRepository.Home.NO_RESULTS_MSG)
-        ));
+        WaitUtils.fastForward(driver, SEARCH_DEBOUNCE);
+        waitForAny(PageCheck.presenceOf(LocatorRepository.Home.SEARCH_RESULTS),
+                PageCheck.presenceOf(LocatorRepository.Home.NO_RESULTS_MSG));
         return this;
     }
 
@@ -70,7 +81,7 @@ public class HomePage extends BasePage {
      * @return List of WebElements representing search results
      */
     public List<WebElement> getSearchResultElements() {
-        return driver.findElements(LocatorRepository.Home.SEARCH_RESULTS);
+        return findAll(LocatorRepository.Home.SEARCH_RESULTS);
     }
 
     /**
@@ -78,7 +89,12 @@ public class HomePage extends BasePage {
      * @return true if no results found
      */
     public boolean isNoResultFound() {
-        return isDisplayed(LocatorRepository.Home.NO_RESULTS_MSG);
+        try {
+            return whichAppears(LocatorRepository.Home.SEARCH_RESULTS, LocatorRepository.Home.NO_RESULTS_MSG) == 1;
+        } catch (TimeoutException e) {
+            log.debug("Neither search results nor the no-results message appeared");
+            return false;
+        }
     }
 
     /**
@@ -90,8 +106,9 @@ public class HomePage extends BasePage {
         log.info("Adding product to cart: {}", productName);
         By addBtn = DynamicXpath.get(LocatorRepository.Home.PRODUCT_ADD_BUTTON_XPATH, productName);
         click(addBtn);
+        waitForNetworkIdle("add to cart: " + productName);
         By cartItem = DynamicXpath.get(LocatorRepository.Home.CART_ITEM_PRESENCE_XPATH, productName);
-        wait.until(ExpectedConditions.presenceOfElementLocated(cartItem));
+        waitForPresence(cartItem);
         return this;
     }
 
@@ -103,34 +120,36 @@ public class HomePage extends BasePage {
      */
     public HomePage changeProductQuantityInCart(String productName, int newQuantity) {
         log.info("Changing quantity of {} to {}", productName, newQuantity);
-        List<WebElement> cartItemsList = driver.findElements(LocatorRepository.Home.CART_ITEM_CONTAINER);
+        List<WebElement> cartItemsList = findAll(LocatorRepository.Home.CART_ITEM_CONTAINER);
 
         for (WebElement item : cartItemsList) {
-            if (item.findElement(LocatorRepository.Home.CART_ITEM_TITLE).getText().equals(productName)) {
-                int currentQty = Integer.parseInt(item.findElement(LocatorRepository.Home.CART_ITEM_QTY).getText());
+            if (waitWithin(item, LocatorRepository.Home.CART_ITEM_TITLE, WaitStrategy.PRESENCE).getText().equals(productName)) {
+                int currentQty = Integer.parseInt(waitWithin(item, LocatorRepository.Home.CART_ITEM_QTY, WaitStrategy.PRESENCE).getText());
 
                 while (currentQty != newQuantity) {
                     final int qtyBeforeClick = currentQty;
 
+                    List<WebElement> buttons = findAll(item, By.tagName("button"));
                     if (currentQty < newQuantity) {
-                        item.findElements(By.tagName("button")).get(1).click();
+                        buttons.get(1).click();
                     } else {
-                        item.findElements(By.tagName("button")).get(0).click();
+                        buttons.get(0).click();
                     }
 
                     // Wait for quantity to update
-                    wait.until(d -> {
+                    WaitUtils.waitForCondition(driver, d -> {
                         try {
                             if (newQuantity == 0 && qtyBeforeClick == 1) return true;
-                            int qty = Integer.parseInt(item.findElement(LocatorRepository.Home.CART_ITEM_QTY).getText());
-                            return qty != qtyBeforeClick;
+                            List<WebElement> qty = findAll(item, LocatorRepository.Home.CART_ITEM_QTY);
+                            if (qty.isEmpty()) return newQuantity == 0; // Item removed
+                            return Integer.parseInt(qty.get(0).getText()) != qtyBeforeClick;
                         } catch (Exception e) {
                             return newQuantity == 0; // Item removed
                         }
-                    });
+                    }, ConfigManager.getExplicitWait());
 
                     if (newQuantity == 0 && qtyBeforeClick == 1) break;
-                    currentQty = Integer.parseInt(item.findElement(LocatorRepository.Home.CART_ITEM_QTY).getText());
+                    currentQty = Integer.parseInt(waitWithin(item, LocatorRepository.Home.CART_ITEM_QTY, WaitStrategy.PRESENCE).getText());
                 }
                 return this;
             }
@@ -154,7 +173,7 @@ public class HomePage extends BasePage {
      * @return List of product names in the cart
      */
     public List<String> getCartContents() {
-        return driver.findElements(LocatorRepository.Home.CART_PRODUCT_TEXT_LIST)
+        return findAll(LocatorRepository.Home.CART_PRODUCT_TEXT_LIST)
                 .stream().map(WebElement::getText).collect(Collectors.toList());
     }
 
@@ -165,7 +184,7 @@ public class HomePage extends BasePage {
     public HomePage navigateToContactUs() {
         log.info("Navigating to Contact Us");
         click(LocatorRepository.Home.CONTACT_US_LINK);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(LocatorRepository.Home.CONTACT_US_MODAL));
+        waitForVisibility(LocatorRepository.Home.CONTACT_US_MODAL);
         return this;
     }
 
@@ -4,6 +4,7 @@ import com.qkart.config.ConfigManager;
 import com.qkart.constants.LocatorRepository;
 import com.qkart.constants.StringConstants;
 import com.qkart.enums.WaitStrategy;
+import com.qkart.exceptions.BudgetExhaustedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
@@ -26,8 +27,7 @@ public class LoginPage extends BasePage {
     public LoginPage navigateToLoginPage() {
         log.info("Navigating to Login page: {}", url);
         if (!driver.getCurrentUrl().equals(url)) {
-            driver.get(url);
-            waitForPageLoad();
+            openPage(url);
         }
         return this;
     }
@@ -92,6 +92,8 @@ public class LoginPage extends BasePage {
             boolean isLoggedIn = actualText.equals(expectedUsername);
             log.info("Login verification result: {}", isLoggedIn);
             return isLoggedIn;
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Login verification failed: {}", e.getMessage());
             return false;
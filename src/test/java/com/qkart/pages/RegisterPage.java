@@ -3,8 +3,8 @@ package com.qkart.pages;
 import com.qkart.config.ConfigManager;
 import com.qkart.constants.LocatorRepository;
 import com.qkart.constants.StringConstants;
+import com.qkart.exceptions.BudgetExhaustedException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.sql.Timestamp;
 
@@ -28,8 +28,7 @@ public class RegisterPage extends BasePage {
     public RegisterPage navigateToRegisterPage() {
         log.info("Navigating to Register page: {}", url);
         if (!driver.getCurrentUrl().equals(url)) {
-            driver.get(url);
-            waitForPageLoad();
+            openPage(url);
         }
         return this;
     }
@@ -55,9 +54,11 @@ public class RegisterPage extends BasePage {
         this.lastGeneratedUsername = finalUsername;
 
         try {
-            wait.until(ExpectedConditions.urlContains(StringConstants.LOGIN_ENDPOINT));
+            waitForUrlContains(StringConstants.LOGIN_ENDPOINT);
             log.info("Registration successful for user: {}", finalUsername);
             return true;
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Registration failed for user: {}", finalUsername);
             return false;
@@ -104,7 +105,7 @@ public class RegisterPage extends BasePage {
     public LoginPage clickRegisterButton() {
         log.info("Clicking register button");
         click(LocatorRepository.Register.REGISTER_BUTTON);
-        wait.until(ExpectedConditions.urlContains(StringConstants.LOGIN_ENDPOINT));
+        waitForUrlContains(StringConstants.LOGIN_ENDPOINT);
         return new LoginPage(driver);
     }
 
@@ -1,12 +1,13 @@
 package com.qkart.pages;
 
 import com.qkart.constants.LocatorRepository;
+import com.qkart.enums.WaitStrategy;
+import com.qkart.exceptions.BudgetExhaustedException;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.List;
 
@@ -29,7 +30,11 @@ public class SearchResult extends BasePage {
     public boolean verifySizeChartExists() {
         log.debug("Checking if size chart exists for product");
         try {
-            return productCard.findElement(LocatorRepository.SearchResultData.SIZE_CHART_BTN).isDisplayed();
+            // The card is already rendered, so absence is an immediate answer
+            return findAll(productCard, LocatorRepository.SearchResultData.SIZE_CHART_BTN).stream()
+                    .anyMatch(WebElement::isDisplayed);
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.debug("Size chart not found");
             return false;
@@ -42,8 +47,8 @@ public class SearchResult extends BasePage {
      */
     public SearchResult openSizeChart() {
         log.info("Opening size chart");
-        productCard.findElement(LocatorRepository.SearchResultData.SIZE_CHART_BTN).click();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(LocatorRepository.SearchResultData.SIZE_CHART_MODAL));
+        waitWithin(productCard, LocatorRepository.SearchResultData.SIZE_CHART_BTN, WaitStrategy.CLICKABLE).click();
+        waitForVisibility(LocatorRepository.SearchResultData.SIZE_CHART_MODAL);
         return this;
     }
 
@@ -56,8 +61,8 @@ public class SearchResult extends BasePage {
     public boolean validateSizeChartContents(List<String> headers, List<List<String>> body) {
         log.info("Validating size chart contents");
         try {
-            WebElement table = driver.findElement(By.tagName("table"));
-            List<WebElement> actualHeaders = table.findElements(LocatorRepository.SearchResultData.TABLE_HEADERS);
+            WebElement table = waitForVisibility(By.tagName("table"));
+            List<WebElement> actualHeaders = findAll(table, LocatorRepository.SearchResultData.TABLE_HEADERS);
 
             for (int i = 0; i < headers.size(); i++) {
                 if (!actualHeaders.get(i).getText().equals(headers.get(i))) {
@@ -67,9 +72,9 @@ public class SearchResult extends BasePage {
                 }
             }
 
-            List<WebElement> rows = table.findElements(LocatorRepository.SearchResultData.TABLE_ROWS);
+            List<WebElement> rows = findAll(table, LocatorRepository.SearchResultData.TABLE_ROWS);
             for (int i = 0; i < body.size(); i++) {
-                List<WebElement> cells = rows.get(i).findElements(By.tagName("td"));
+                List<WebElement> cells = findAll(rows.get(i), By.tagName("td"));
                 for (int j = 0; j < body.get(i).size(); j++) {
                     if (!cells.get(j).getText().equals(body.get(i).get(j))) {
                         log.warn("Cell mismatch at row {}, col {}: expected '{}', actual '{}'",
@@ -80,6 +85,8 @@ public class SearchResult extends BasePage {
             }
             log.info("Size chart validation passed");
             return true;
+        } catch (BudgetExhaustedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Size chart validation failed: {}", e.getMessage());
             return false;
@@ -94,7 +101,7 @@ public class SearchResult extends BasePage {
         log.info("Closing size chart");
         Actions action = new Actions(driver);
         action.sendKeys(Keys.ESCAPE).perform();
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(LocatorRepository.SearchResultData.SIZE_CHART_MODAL));
+        waitForInvisibility(LocatorRepository.SearchResultData.SIZE_CHART_MODAL);
         return this;
     }
 }
\ No newline at end of file
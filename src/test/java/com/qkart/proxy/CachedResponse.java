@@ -0,0 +1,68 @@
+package com.qkart.proxy;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An upstream response held by the proxy: status, end-to-end headers and the full body.
+ */
+final class CachedResponse {
+    private final int status;
+    private final List<String[]> headers;
+    private final byte[] body;
+
+    CachedResponse(int status, List<String[]> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    List<String[]> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Approximate memory footprint used for cache accounting.
+     */
+    long size() {
+        long size = body.length;
+        for (String[] header : headers) {
+            size += header[0].length() + header[1].length();
+        }
+        return size;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(status);
+        out.writeInt(headers.size());
+        for (String[] header : headers) {
+            out.writeUTF(header[0]);
+            out.writeUTF(header[1]);
+        }
+        out.writeInt(body.length);
+        out.write(body);
+    }
+
+    static CachedResponse readFrom(DataInputStream in) throws IOException {
+        int status = in.readInt();
+        int headerCount = in.readInt();
+        List<String[]> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new String[]{in.readUTF(), in.readUTF()});
+        }
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new CachedResponse(status, headers, body);
+    }
+}
@@ -0,0 +1,528 @@
+package com.qkart.proxy;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.exceptions.FrameworkException;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Proxy;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded forward proxy shared by all local browser sessions of a run. Static responses
+ * (declared immutable or fresh for at least a day) are cached in a {@link ResponseCache} and
+ * served to every later session without touching the network.
+ * Only traffic to the static-asset hosts listed in {@code proxyCacheHosts} is inspected; HTTPS to
+ * them is terminated with a per-host certificate from {@link HostCertificates}. Everything else,
+ * and WebSocket upgrades on any host, is tunnelled untouched.
+ */
+public final class CachingProxy {
+    private static final Logger log = LogManager.getLogger(CachingProxy.class);
+    private static final long MB = 1024L * 1024L;
+    private static final long MIN_CACHEABLE_MAX_AGE = 86_400;
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    // Headers that only concern the browser-to-proxy connection
+    private static final Set<String> PROXY_HEADERS = Set.of("proxy-connection", "proxy-authorization", "keep-alive");
+    // Hop-by-hop headers and headers java.net.http sets itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "proxy-connection", "keep-alive",
+            "transfer-encoding", "te", "trailer", "upgrade", "proxy-authorization", "proxy-authenticate",
+            "content-length", "host", "expect", "http2-settings");
+
+    private static CachingProxy instance;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final HttpClient upstream;
+    private final ResponseCache cache;
+    private final HostCertificates certificates;
+    private final List<String> cacheHosts;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesFromCache = new AtomicLong();
+    private final AtomicLong bytesFromUpstream = new AtomicLong();
+    private final AtomicLong tunnels = new AtomicLong();
+
+    private CachingProxy() throws IOException {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "caching-proxy-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.upstream = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.cache = new ResponseCache(ConfigManager.getProxyMemoryCacheMb() * MB, ConfigManager.getProxyDiskCacheMb() * MB,
+                Paths.get(FrameworkConstants.CACHE_PATH, "http-cache"));
+        this.certificates = new HostCertificates(Paths.get(FrameworkConstants.CACHE_PATH, "proxy-certs"));
+        this.cacheHosts = ConfigManager.getProxyCacheHosts();
+        connections.execute(this::acceptLoop);
+    }
+
+    /**
+     * Gets the running proxy, starting it on first use.
+     */
+    public static synchronized CachingProxy getInstance() {
+        if (instance == null) {
+            try {
+                instance = new CachingProxy();
+            } catch (IOException e) {
+                throw new FrameworkException("Unable to start caching proxy", e);
+            }
+            log.info("Caching proxy listening on {} - caching hosts {}", instance.getAddress(), instance.cacheHosts);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the proxy address as host:port.
+     */
+    public String getAddress() {
+        return "127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets a Selenium proxy configuration that routes HTTP and HTTPS through this proxy.
+     */
+    public Proxy toSeleniumProxy() {
+        Proxy proxy = new Proxy();
+        proxy.setHttpProxy(getAddress());
+        proxy.setSslProxy(getAddress());
+        return proxy;
+    }
+
+    /**
+     * Stops the proxy, clears its cache and reports hit/miss figures.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        CachingProxy proxy = instance;
+        instance = null;
+        try {
+            proxy.serverSocket.close();
+        } catch (IOException e) {
+            log.debug("Error while closing proxy socket: {}", e.getMessage());
+        }
+        proxy.connections.shutdownNow();
+
+        long lookups = proxy.hits.get() + proxy.misses.get();
+        String summary = String.format(Locale.ROOT,
+                "Hit ratio: %.1f%% (%d hits: %d memory, %d disk / %d misses) | Served from cache: %.1f MB | From network: %.1f MB | Entries: %d | Tunnels: %d",
+                lookups == 0 ? 0 : proxy.hits.get() * 100.0 / lookups, proxy.hits.get(),
+                proxy.cache.getMemoryHits(), proxy.cache.getDiskHits(), proxy.misses.get(),
+                proxy.bytesFromCache.get() / (double) MB, proxy.bytesFromUpstream.get() / (double) MB,
+                proxy.cache.getEntryCount(), proxy.tunnels.get());
+        proxy.cache.clear();
+        log.info("Caching proxy stopped - {}", summary);
+        ExtentManager.addSystemInfo("Caching Proxy", summary);
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                connections.execute(() -> handleClient(client));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.debug("Proxy accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleClient(Socket client) {
+        try (Socket socket = client) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            ProxyRequest first = ProxyRequest.read(in);
+            if (first == null) {
+                return;
+            }
+            if ("CONNECT".equals(first.method)) {
+                handleConnect(socket, in, first);
+                return;
+            }
+            ProxyRequest request = first;
+            while (request != null) {
+                URI uri = URI.create(request.target);
+                if (uri.getHost() == null) {
+                    throw new IOException("Not a proxy request: " + request.target);
+                }
+                if (request.isUpgrade() || !isCacheHost(uri.getHost())) {
+                    relay(socket, in, request, uri, new Socket(uri.getHost(), port(uri, 80)));
+                    return;
+                }
+                if (!serve(request, in, socket.getOutputStream(), null)) {
+                    return;
+                }
+                request = ProxyRequest.read(in);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.trace("Proxy connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void handleConnect(Socket socket, InputStream in, ProxyRequest connect) throws IOException {
+        String[] target = connect.target.split(":");
+        String host = target[0];
+        int port = target.length > 1 ? Integer.parseInt(target[1]) : 443;
+        OutputStream out = socket.getOutputStream();
+        out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        if (!isCacheHost(host)) {
+            tunnels.incrementAndGet();
+            tunnel(socket, in, new Socket(host, port));
+            return;
+        }
+        SSLSocket tls = (SSLSocket) certificates.forHost(host).getSocketFactory()
+                .createSocket(socket, in, true);
+        tls.setUseClientMode(false);
+        tls.startHandshake();
+        InputStream tlsIn = new BufferedInputStream(tls.getInputStream());
+        String origin = "https://" + host + (port == 443 ? "" : ":" + port);
+        ProxyRequest request;
+        while ((request = ProxyRequest.read(tlsIn)) != null) {
+            if (request.isUpgrade()) {
+                relay(tls, tlsIn, request, URI.create(origin + request.target),
+                        SSLSocketFactory.getDefault().createSocket(host, port));
+                return;
+            }
+            if (!serve(request, tlsIn, tls.getOutputStream(), origin)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Forwards one request to the server as is and then tunnels the connection, for WebSocket
+     * upgrades and for plain HTTP to hosts that are not cached. The request body is streamed, not
+     * buffered. A non-upgrade request is sent with Connection: close, so the browser cannot reuse
+     * the tunnel for a request to another host.
+     */
+    private void relay(Socket client, InputStream clientIn, ProxyRequest request, URI uri, Socket server) throws IOException {
+        tunnels.incrementAndGet();
+        boolean upgrade = request.isUpgrade();
+        String target = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            target += "?" + uri.getRawQuery();
+        }
+        StringBuilder head = new StringBuilder(request.method).append(' ').append(target).append(" HTTP/1.1\r\n");
+        for (String[] header : request.headers) {
+            String name = header[0].toLowerCase(Locale.ROOT);
+            if (!PROXY_HEADERS.contains(name) && (upgrade || !"connection".equals(name))) {
+                head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+            }
+        }
+        if (!upgrade) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+        server.getOutputStream().write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        tunnel(client, clientIn, server);
+    }
+
+    /**
+     * Answers one request from the cache or upstream.
+     *
+     * @return Whether the connection may be reused for another request
+     */
+    private boolean serve(ProxyRequest request, InputStream in, OutputStream out, String origin) throws IOException {
+        byte[] requestBody = request.readBody(in);
+        URI uri = URI.create(origin != null ? origin + request.target : request.target);
+        boolean lookup = "GET".equals(request.method) && request.header("range") == null
+                && request.header("authorization") == null;
+        String key = uri + "|" + (request.header("accept-encoding") != null ? request.header("accept-encoding") : "");
+
+        CachedResponse response = lookup ? cache.get(key) : null;
+        if (response != null) {
+            hits.incrementAndGet();
+            bytesFromCache.addAndGet(response.getBody().length);
+        } else {
+            response = fetch(request, uri, requestBody);
+            bytesFromUpstream.addAndGet(response.getBody().length);
+            if (lookup) {
+                misses.incrementAndGet();
+                if (isCacheable(response) && cache.accepts(response)) {
+                    cache.put(key, response);
+                }
+            }
+        }
+        write(out, response, "HEAD".equals(request.method));
+        return !"close".equalsIgnoreCase(request.header("connection"));
+    }
+
+    private CachedResponse fetch(ProxyRequest request, URI uri, byte[] body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(ConfigManager.getPageLoadTimeout()))
+                .method(request.method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String[] header : request.headers) {
+            if (!SKIPPED_HEADERS.contains(header[0].toLowerCase(Locale.ROOT))) {
+                try {
+                    builder.header(header[0], header[1]);
+                } catch (IllegalArgumentException e) {
+                    log.trace("Header {} not forwarded: {}", header[0], e.getMessage());
+                }
+            }
+        }
+        try {
+            HttpResponse<byte[]> response = upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            List<String[]> headers = new ArrayList<>();
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> headers.add(new String[]{name, value}));
+                }
+            });
+            return new CachedResponse(response.statusCode(), headers, response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + uri, e);
+        }
+    }
+
+    /**
+     * A response is cached when it is a successful GET without cookies or client-specific
+     * variation that declares itself immutable or fresh for at least a day. Responses without
+     * freshness headers are not cached, whatever their URL, since the browser would revalidate them.
+     */
+    private static boolean isCacheable(CachedResponse response) {
+        if (response.getStatus() != 200) {
+            return false;
+        }
+        String cacheControl = "";
+        for (String[] header : response.getHeaders()) {
+            String name = header[0].toLowerCase(Locale.ROOT);
+            if ("set-cookie".equals(name)) {
+                return false;
+            }
+            if ("vary".equals(name) && !"accept-encoding".equalsIgnoreCase(header[1].trim())) {
+                return false;
+            }
+            if ("cache-control".equals(name)) {
+                cacheControl = header[1].toLowerCase(Locale.ROOT);
+            }
+        }
+        if (cacheControl.contains("no-store") || cacheControl.contains("private") || cacheControl.contains("no-cache")) {
+            return false;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        boolean longLived = maxAge.find() && Long.parseLong(maxAge.group(1)) >= MIN_CACHEABLE_MAX_AGE;
+        return cacheControl.contains("immutable") || longLived;
+    }
+
+    private static void write(OutputStream out, CachedResponse response, boolean headOnly) throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(response.getStatus())
+                .append(' ').append(reasonPhrase(response.getStatus())).append("\r\n");
+        for (String[] header : response.getHeaders()) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+        }
+        boolean hasBody = response.getStatus() != 204 && response.getStatus() != 304;
+        if (hasBody && !headOnly) {
+            head.append("Content-Length: ").append(response.getBody().length).append("\r\n");
+        }
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (hasBody && !headOnly) {
+            out.write(response.getBody());
+        }
+        out.flush();
+    }
+
+    /**
+     * Gets the standard reason phrase of a status code. The upstream client does not expose the
+     * server's own phrase; HTTP/1.1 allows an empty one for codes it does not list.
+     */
+    static String reasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 201: return "Created";
+            case 202: return "Accepted";
+            case 204: return "No Content";
+            case 206: return "Partial Content";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 303: return "See Other";
+            case 304: return "Not Modified";
+            case 307: return "Temporary Redirect";
+            case 308: return "Permanent Redirect";
+            case 400: return "Bad Request";
+            case 401: return "Unauthorized";
+            case 403: return "Forbidden";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 409: return "Conflict";
+            case 410: return "Gone";
+            case 412: return "Precondition Failed";
+            case 413: return "Payload Too Large";
+            case 415: return "Unsupported Media Type";
+            case 416: return "Range Not Satisfiable";
+            case 422: return "Unprocessable Entity";
+            case 429: return "Too Many Requests";
+            case 500: return "Internal Server Error";
+            case 501: return "Not Implemented";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            case 504: return "Gateway Timeout";
+            default: return "";
+        }
+    }
+
+    private void tunnel(Socket client, InputStream clientIn, Socket server) throws IOException {
+        try (Socket upstreamSocket = server) {
+            connections.execute(() -> pipe(clientIn, upstreamSocket));
+            pipe(upstreamSocket.getInputStream(), client);
+        }
+    }
+
+    private static void pipe(InputStream from, Socket to) {
+        byte[] buffer = new byte[16 * 1024];
+        try {
+            OutputStream out = to.getOutputStream();
+            int read;
+            while ((read = from.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+            if (to instanceof SSLSocket) {
+                to.close();
+            } else {
+                to.shutdownOutput();
+            }
+        } catch (IOException e) {
+            log.trace("Tunnel closed: {}", e.getMessage());
+        }
+    }
+
+    private static int port(URI uri, int defaultPort) {
+        return uri.getPort() != -1 ? uri.getPort() : defaultPort;
+    }
+
+    private boolean isCacheHost(String host) {
+        return cacheHosts.contains("*") || cacheHosts.stream().anyMatch(host::equalsIgnoreCase);
+    }
+
+    /**
+     * A request line with its headers, as read from a browser connection.
+     */
+    private static final class ProxyRequest {
+        private final String method;
+        private final String target;
+        private final List<String[]> headers;
+
+        private ProxyRequest(String method, String target, List<String[]> headers) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+        }
+
+        static ProxyRequest read(InputStream in) throws IOException {
+            String requestLine = readLine(in);
+            if (requestLine == null || requestLine.isEmpty()) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 2) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            List<String[]> headers = new ArrayList<>();
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.add(new String[]{line.substring(0, colon).trim(), line.substring(colon + 1).trim()});
+                }
+            }
+            return new ProxyRequest(parts[0], parts[1], headers);
+        }
+
+        boolean isUpgrade() {
+            String connection = header("connection");
+            return header("upgrade") != null && connection != null
+                    && connection.toLowerCase(Locale.ROOT).contains("upgrade");
+        }
+
+        String header(String name) {
+            for (String[] header : headers) {
+                if (header[0].equalsIgnoreCase(name)) {
+                    return header[1];
+                }
+            }
+            return null;
+        }
+
+        byte[] readBody(InputStream in) throws IOException {
+            String contentLength = header("content-length");
+            if (contentLength != null) {
+                return in.readNBytes(Integer.parseInt(contentLength));
+            }
+            if ("chunked".equalsIgnoreCase(header("transfer-encoding"))) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                int size;
+                while ((size = Integer.parseInt(readRequiredLine(in).split(";")[0].trim(), 16)) > 0) {
+                    body.write(in.readNBytes(size));
+                    readRequiredLine(in);
+                }
+                while (!readRequiredLine(in).isEmpty()) {
+                    // Skip trailers
+                }
+                return body.toByteArray();
+            }
+            return new byte[0];
+        }
+
+        private static String readRequiredLine(InputStream in) throws IOException {
+            String line = readLine(in);
+            if (line == null) {
+                throw new IOException("Truncated chunked request body");
+            }
+            return line;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    byte[] bytes = line.toByteArray();
+                    int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                    return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+                }
+                line.write(b);
+            }
+            return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.qkart.proxy;
+
+import com.qkart.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues self-signed TLS certificates per host, generated with the JDK's {@code keytool}, so the
+ * proxy can read HTTPS traffic. Browsers accept them because the framework already runs them
+ * with certificate errors ignored (Chrome/Edge) or insecure certificates accepted (Firefox).
+ * Keystores are kept between runs.
+ */
+final class HostCertificates {
+    private static final Logger log = LogManager.getLogger(HostCertificates.class);
+    private static final String PASSWORD = "qkart-proxy";
+
+    private final Path directory;
+    private final Map<String, SSLContext> contexts = new ConcurrentHashMap<>();
+
+    HostCertificates(Path directory) {
+        this.directory = directory;
+    }
+
+    SSLContext forHost(String host) {
+        return contexts.computeIfAbsent(host, this::createContext);
+    }
+
+    private SSLContext createContext(String host) {
+        Path keystore = directory.resolve(host.replaceAll("[^A-Za-z0-9.-]", "_") + ".p12");
+        try {
+            if (!Files.isRegularFile(keystore)) {
+                generate(host, keystore);
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keystore)) {
+                store.load(in, PASSWORD.toCharArray());
+            }
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(store, PASSWORD.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new FrameworkException("Unable to create proxy certificate for " + host, e);
+        }
+    }
+
+    private void generate(String host, Path keystore) throws IOException {
+        Files.createDirectories(directory);
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        String san = host.matches("[0-9.]+") ? "ip:" + host : "dns:" + host;
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "host", "-keyalg", "RSA",
+                "-keysize", "2048", "-validity", "825", "-dname", "CN=" + host, "-ext", "SAN=" + san,
+                "-keystore", keystore.toString(), "-storetype", "PKCS12",
+                "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException("keytool failed for host " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating certificate for " + host, e);
+        }
+        log.debug("Generated proxy certificate for {}", host);
+    }
+}
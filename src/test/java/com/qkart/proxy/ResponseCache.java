@@ -0,0 +1,168 @@
+package com.qkart.proxy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier LRU cache of static responses: entries live in memory up to a byte budget, the
+ * least recently used ones spill to disk, and the oldest disk entries are deleted once the
+ * disk budget is exceeded. Disk hits are promoted back to memory.
+ */
+final class ResponseCache {
+    private static final Logger log = LogManager.getLogger(ResponseCache.class);
+
+    private final long memoryLimitBytes;
+    private final long diskLimitBytes;
+    private final Path directory;
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private long memoryBytes;
+    private long diskBytes;
+
+    ResponseCache(long memoryLimitBytes, long diskLimitBytes, Path directory) {
+        this.memoryLimitBytes = memoryLimitBytes;
+        this.diskLimitBytes = diskLimitBytes;
+        this.directory = directory;
+        clearDirectory();
+    }
+
+    /**
+     * Whether a response is small enough to be worth caching.
+     */
+    boolean accepts(CachedResponse response) {
+        return response.size() <= memoryLimitBytes / 4;
+    }
+
+    synchronized CachedResponse get(String key) {
+        CachedResponse response = memory.get(key);
+        if (response != null) {
+            memoryHits.incrementAndGet();
+            return response;
+        }
+        Long size = disk.remove(key);
+        if (size == null) {
+            return null;
+        }
+        diskBytes -= size;
+        Path file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            response = CachedResponse.readFrom(in);
+        } catch (IOException e) {
+            log.debug("Unable to read cached response {}: {}", file, e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(file);
+        }
+        diskHits.incrementAndGet();
+        put(key, response);
+        return response;
+    }
+
+    synchronized void put(String key, CachedResponse response) {
+        CachedResponse previous = memory.put(key, response);
+        memoryBytes += response.size() - (previous != null ? previous.size() : 0);
+        Iterator<Map.Entry<String, CachedResponse>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > memoryLimitBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            eldest.remove();
+            memoryBytes -= entry.getValue().size();
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    long getDiskHits() {
+        return diskHits.get();
+    }
+
+    synchronized int getEntryCount() {
+        return memory.size() + disk.size();
+    }
+
+    /**
+     * Deletes the disk tier; the cache only lives for one run.
+     */
+    synchronized void clear() {
+        memory.clear();
+        disk.clear();
+        memoryBytes = 0;
+        diskBytes = 0;
+        clearDirectory();
+    }
+
+    private void spill(String key, CachedResponse response) {
+        if (response.size() > diskLimitBytes) {
+            return;
+        }
+        Path file = fileFor(key);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            response.writeTo(out);
+        } catch (IOException e) {
+            log.debug("Unable to spill cached response to {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return;
+        }
+        disk.put(key, response.size());
+        diskBytes += response.size();
+        Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+        while (diskBytes > diskLimitBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            diskBytes -= entry.getValue();
+            deleteQuietly(fileFor(entry.getKey()));
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest) {
+                name.append(String.format("%02x", b));
+            }
+            return directory.resolve(name.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(ResponseCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to prepare proxy cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.trace("Unable to delete {}: {}", file, e.getMessage());
+        }
+    }
+}
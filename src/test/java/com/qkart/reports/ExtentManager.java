@@ -44,6 +44,17 @@ public class ExtentManager {
         return extent;
     }
 
+    /**
+     * Adds a key/value entry to the report's system info section and re-flushes the report,
+     * so values produced after the last test (e.g. at suite shutdown) still appear.
+     */
+    public static void addSystemInfo(String key, String value) {
+        if (extent != null) {
+            extent.setSystemInfo(key, value);
+            extent.flush();
+        }
+    }
+
     public static void flushReports() {
         if (extent != null) {
             extent.flush();
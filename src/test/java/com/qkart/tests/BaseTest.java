@@ -1,13 +1,40 @@
 package com.qkart.tests;
 
 import com.qkart.config.ConfigManager;
+import com.qkart.driver.AnimationSuppressor;
+import com.qkart.driver.AsyncDriverReaper;
+import com.qkart.driver.ChromeContextMultiplexer;
+import com.qkart.driver.ChromeProfileTemplate;
+import com.qkart.driver.CpuPlacement;
 import com.qkart.driver.DriverFactory;
+import com.qkart.driver.DriverPool;
+import com.qkart.driver.DriverPrespawner;
+import com.qkart.driver.NetworkResourceBlocker;
+import com.qkart.driver.ParallelismController;
+import com.qkart.driver.RemoteNodeScheduler;
+import com.qkart.driver.SessionResourceMonitor;
+import com.qkart.driver.SessionWatchdog;
+import com.qkart.driver.VirtualDisplayPool;
+import com.qkart.enums.DriverMode;
+import com.qkart.enums.TeardownMode;
+import com.qkart.listeners.TestListener;
+import com.qkart.pages.ElementCache;
+import com.qkart.proxy.CachingProxy;
+import com.qkart.utils.WaitUtils;
+import com.qkart.waits.LearnedTimeouts;
+import com.qkart.waits.NetworkIdle;
+import com.qkart.waits.TestBudget;
+import com.qkart.waits.VirtualClock;
+import com.qkart.waits.WaitHistory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 
 /**
@@ -18,24 +45,46 @@ public class BaseTest {
     private static final Logger log = LogManager.getLogger(BaseTest.class);
     protected static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
+    /**
+     * Reaps browser/driver processes left behind by earlier runs and starts the session watchdog.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void setUpSuite() {
+        SessionWatchdog.start();
+    }
+
     /**
      * Sets up the WebDriver before each test method.
      */
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
+    public void setUp(Method method) {
         log.info("========== TEST SETUP STARTED ==========");
-        WebDriver webDriver = DriverFactory.createDriver();
+        if (ConfigManager.isAdaptiveParallelism()) {
+            ParallelismController.getInstance().admit();
+        }
+        WebDriver webDriver = acquireDriver();
         driver.set(webDriver);
+        SessionWatchdog.markActive(webDriver);
 
         // Configure timeouts
         getDriver().manage().window().maximize();
-        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
+        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getEffectiveImplicitWait()));
         getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigManager.getPageLoadTimeout()));
+        NetworkResourceBlocker.applyProfile(getDriver(), method);
+        AnimationSuppressor.apply(getDriver());
+        NetworkIdle.attach(getDriver());
+        TestBudget.start(method);
+        VirtualClock.start(getDriver(), method);
+        SessionResourceMonitor.startTest(resourceSession(getDriver()));
+        if (ConfigManager.isAdaptiveParallelism()) {
+            ParallelismController.getInstance().probeLatency(getDriver());
+        }
 
         log.info("WebDriver initialized and configured successfully");
-        log.info("Browser: {} | Headless: {}",
+        log.info("Browser: {} | Headless: {} | Driver mode: {}",
                 ConfigManager.getBrowser().getBrowserName(),
-                ConfigManager.isHeadless());
+                ConfigManager.isHeadless(),
+                ConfigManager.getDriverMode().getModeName());
     }
 
     /**
@@ -54,14 +103,133 @@ public class BaseTest {
     public void tearDown() {
         log.info("========== TEST TEARDOWN STARTED ==========");
         if (getDriver() != null) {
+            reportToTest(NetworkResourceBlocker.summarizeTest(getDriver()));
+            reportToTest(WaitHistory.summarizeTest());
+            reportToTest(LearnedTimeouts.summarizeTest());
+            reportToTest(NetworkIdle.summarizeTest());
+            reportToTest(TestBudget.finish());
+            reportToTest(VirtualClock.summarizeTest());
+            reportToTest(ElementCache.summarizeTest());
+            if (ConfigManager.isProfileTemplateEnabled()) {
+                reportToTest(ChromeProfileTemplate.getInstance().summarizeSession(getDriver()));
+            }
+            SessionWatchdog.markIdle(getDriver());
+            CpuPlacement placement = CpuPlacement.getInstance();
+            if (placement != null) {
+                reportToTest(placement.recordTest(getDriver()));
+            }
+            SessionResourceMonitor.TestUsage usage = SessionResourceMonitor.finishTest(resourceSession(getDriver()));
+            if (usage != null) {
+                reportToTest(usage.toString());
+            }
             try {
-                getDriver().quit();
-                log.info("WebDriver quit successfully");
+                releaseDriver(getDriver(), usage != null && usage.isOverBudget(), VirtualClock.isTainted(getDriver()));
             } catch (Exception e) {
-                log.error("Error while quitting WebDriver: {}", e.getMessage());
+                log.error("Error while releasing WebDriver: {}", e.getMessage());
             } finally {
                 driver.remove();
             }
         }
+        if (ConfigManager.isAdaptiveParallelism()) {
+            ParallelismController.getInstance().release();
+        }
+    }
+
+    /**
+     * Releases suite-wide driver resources once all tests have finished.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        AsyncDriverReaper.shutdown();
+        DriverPool.shutdown();
+        DriverPrespawner.shutdown();
+        ChromeContextMultiplexer.shutdown();
+        ChromeProfileTemplate.shutdown();
+        VirtualDisplayPool.shutdown();
+        CpuPlacement.shutdown();
+        CachingProxy.shutdown();
+        NetworkResourceBlocker.reportTotals();
+        NetworkIdle.reportTotals();
+        VirtualClock.reportTotals();
+        ElementCache.reportTotals();
+        SessionResourceMonitor.reportTotals();
+        WaitUtils.reportLookupTotals();
+        WaitHistory.shutdown();
+        LearnedTimeouts.shutdown();
+        ParallelismController.shutdown();
+        RemoteNodeScheduler.reportMetrics();
+        SessionWatchdog.shutdown();
+    }
+
+    /**
+     * Adds an informational line to the current test's report entry, if there is one.
+     */
+    protected void reportToTest(String message) {
+        if (message != null && TestListener.getCurrentTest() != null) {
+            TestListener.getCurrentTest().info(message);
+        }
+    }
+
+    /**
+     * Obtains a driver for the current test according to the configured driver mode.
+     */
+    private WebDriver acquireDriver() {
+        switch (ConfigManager.getDriverMode()) {
+            case POOLED:
+                return DriverPool.getInstance().lease();
+            case PRESPAWN:
+                return DriverPrespawner.getInstance().acquire();
+            case CONTEXT:
+                return ChromeContextMultiplexer.getInstance().lease();
+            case FRESH:
+            default:
+                return DriverFactory.createDriver();
+        }
+    }
+
+    /**
+     * Gets the session whose resources decide recycling: the host Chrome in context mode,
+     * otherwise the test's own driver.
+     */
+    private WebDriver resourceSession(WebDriver webDriver) {
+        return ConfigManager.getDriverMode() == DriverMode.CONTEXT
+                ? ChromeContextMultiplexer.getInstance().getHostDriver(webDriver)
+                : webDriver;
+    }
+
+    /**
+     * Hands the driver back according to the configured driver mode.
+     * Sessions over their resource budget are recycled instead of being reused.
+     */
+    private void releaseDriver(WebDriver webDriver, boolean overBudget, boolean onVirtualTime) {
+        switch (ConfigManager.getDriverMode()) {
+            case POOLED:
+                if (overBudget) {
+                    DriverPool.getInstance().evict(webDriver);
+                    log.info("WebDriver over resource budget - evicted from pool");
+                } else if (onVirtualTime) {
+                    DriverPool.getInstance().evict(webDriver);
+                    log.info("WebDriver page clock on virtual time - evicted from pool");
+                } else {
+                    DriverPool.getInstance().release(webDriver);
+                    log.info("WebDriver returned to pool");
+                }
+                break;
+            case CONTEXT:
+                ChromeContextMultiplexer.getInstance().release(webDriver, overBudget);
+                log.info(overBudget ? "Browser context disposed - host Chrome over resource budget, retired"
+                        : "Browser context disposed");
+                break;
+            default:
+                if (ConfigManager.getTeardownMode() == TeardownMode.ASYNC) {
+                    AsyncDriverReaper.getInstance().quit(webDriver);
+                    log.info("WebDriver handed to background reaper");
+                } else {
+                    webDriver.quit();
+                    SessionWatchdog.unregister(webDriver);
+                    log.info("WebDriver quit successfully");
+                }
+                break;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,380 @@
+package com.qkart.tests;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.driver.AnimationSuppressor;
+import com.qkart.enums.WaitStrategy;
+import com.qkart.pages.BasePage;
+import com.qkart.pages.HomePage;
+import com.qkart.pages.SearchResult;
+import com.qkart.utils.CommandCounter;
+import com.qkart.utils.WaitUtils;
+import com.qkart.waits.JsConditions;
+import com.qkart.waits.MutationWait;
+import com.qkart.waits.PageCheck;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Benchmarks the WebDriver commands and time a wait costs with classic ExpectedConditions,
+ * single-round-trip {@link JsConditions} polling and the push-based {@link MutationWait}, and
+ * the time absence paths cost with implicit waits versus lookupMode=explicit, the time
+ * animated dialogs cost with and without suppressAnimations, and the commands a form flow
+ * costs with and without the page element cache.
+ * Runs against a local page whose elements appear after a delay, so the numbers do not depend
+ * on the application. Run with {@code mvn clean test -Pbenchmark}; the results are written to
+ * {@code reports/benchmark-results.txt}.
+ */
+public class WaitBenchmarkTests extends BaseTest {
+    private static final Logger log = LogManager.getLogger(WaitBenchmarkTests.class);
+    private static final int ITERATIONS = 5;
+    private static final int TIMEOUT_SECONDS = 10;
+    private final List<String> results = Collections.synchronizedList(new ArrayList<>());
+    private static final By LATE = By.id("late");
+    private static final By BUTTON = By.id("btn");
+    private static final By MISSING = By.cssSelector(".never-rendered");
+    private static final String PAGE = "data:text/html;charset=utf-8," + URLEncoder.encode(
+            "<html><body>"
+                    + "<div id='late' style='display:none'>ready</div>"
+                    + "<button id='btn' disabled>Go</button>"
+                    + "<script>setTimeout(function () {"
+                    + "document.getElementById('late').style.display = 'block';"
+                    + "document.getElementById('btn').disabled = false;"
+                    + "}, 1200);</script>"
+                    + "</body></html>", StandardCharsets.UTF_8).replace("+", "%20");
+
+    private static final String ABSENCE_PAGE = "data:text/html;charset=utf-8," + URLEncoder.encode(
+            "<html><body><div id='card'><p>Product without size chart</p></div></body></html>",
+            StandardCharsets.UTF_8).replace("+", "%20");
+
+    /**
+     * Animated waits in one sanity suite pass: size chart open and close, the insufficient
+     * balance snackbar and the Contact Us modal. Only used to scale the synthetic per-wait
+     * saving into an estimate; MUI closes snackbars and dialogs on JS timers, which suppression
+     * does not shorten, so the real saving can be smaller.
+     */
+    private static final int ANIMATED_WAITS_PER_SUITE = 4;
+    private static final By OPEN_DIALOG = By.id("open");
+    private static final By CLOSE_DIALOG = By.id("close");
+    private static final By DIALOG_BODY = By.id("dialog-body");
+    private static final String ANIMATED_PAGE = "data:text/html;charset=utf-8," + URLEncoder.encode(
+            "<html><head><style>"
+                    + "@keyframes enter { from { opacity: 0; transform: scale(0.8); } to { opacity: 1; transform: none; } }"
+                    + "@keyframes leave { from { opacity: 1; } to { opacity: 0; } }"
+                    + "#dialog { animation: enter 225ms; } #dialog.leaving { animation: leave 195ms; }"
+                    + "#dialog-body { display: none; }"
+                    + "</style></head><body>"
+                    + "<button id='open'>Size chart</button>"
+                    + "<script>"
+                    + "document.getElementById('open').onclick = function () {"
+                    + "  var dialog = document.createElement('div');"
+                    + "  dialog.id = 'dialog';"
+                    + "  dialog.innerHTML = \"<div id='dialog-body'>Chart</div><button id='close'>Close</button>\";"
+                    + "  dialog.addEventListener('animationend', function () {"
+                    + "    if (dialog.classList.contains('leaving')) { dialog.remove(); }"
+                    + "    else { document.getElementById('dialog-body').style.display = 'block'; }"
+                    + "  });"
+                    + "  dialog.querySelector('#close').onclick = function () { dialog.classList.add('leaving'); };"
+                    + "  document.body.appendChild(dialog);"
+                    + "};"
+                    + "</script></body></html>", StandardCharsets.UTF_8).replace("+", "%20");
+
+    private static final By FORM_USERNAME = By.id("username");
+    private static final By FORM_PASSWORD = By.id("password");
+    private static final By FORM_CONFIRM = By.id("confirm");
+    private static final By FORM_SUBMIT = By.id("submit");
+    // MUI TextField markup: focus toggles Mui-focused on the input root and label, and shrinks the label
+    private static final String FORM_PAGE = "data:text/html;charset=utf-8," + URLEncoder.encode(
+            "<html><head><style>"
+                    + ".MuiInputLabel-root { transition: transform 150ms; }"
+                    + ".MuiInputLabel-shrink { transform: scale(0.75); }"
+                    + ".MuiInputBase-root.Mui-focused { outline: 2px solid #1976d2; }"
+                    + "</style></head><body><form onsubmit='return false'>"
+                    + textField("username", "text") + textField("password", "password") + textField("confirm", "password")
+                    + "<button id='submit' class='MuiButton-root'>Register</button>"
+                    + "</form><script>"
+                    + "var focus = function (event, focused) {"
+                    + "  var control = event.target.closest('.MuiFormControl-root');"
+                    + "  if (!control) { return; }"
+                    + "  control.querySelectorAll('.MuiInputBase-root, .MuiInputLabel-root').forEach(function (el) {"
+                    + "    el.classList.toggle('Mui-focused', focused);"
+                    + "  });"
+                    + "  control.querySelector('label').classList.toggle('MuiInputLabel-shrink',"
+                    + "      focused || event.target.value !== '');"
+                    + "};"
+                    + "document.addEventListener('focusin', function (event) { focus(event, true); });"
+                    + "document.addEventListener('focusout', function (event) { focus(event, false); });"
+                    + "</script></body></html>", StandardCharsets.UTF_8).replace("+", "%20");
+
+    @Test(description = "Commands per wait for a single visibility / clickability condition")
+    public void benchmarkSingleConditionWaits() {
+        double classicVisible = measure("ExpectedConditions.visibilityOfElementLocated",
+                d -> wait(d).until(ExpectedConditions.visibilityOfElementLocated(LATE)));
+        double jsVisible = measure("JsConditions.of(visibilityOf)",
+                d -> wait(d).until(JsConditions.of(PageCheck.visibilityOf(LATE))));
+        double mutationVisible = measure("MutationWait visibilityOf",
+                d -> MutationWait.forElement(d, PageCheck.visibilityOf(LATE), Duration.ofSeconds(TIMEOUT_SECONDS)));
+
+        double classicClickable = measure("ExpectedConditions.elementToBeClickable",
+                d -> wait(d).until(ExpectedConditions.elementToBeClickable(BUTTON)));
+        double jsClickable = measure("JsConditions.of(clickabilityOf)",
+                d -> wait(d).until(JsConditions.of(PageCheck.clickabilityOf(BUTTON))));
+        double mutationClickable = measure("MutationWait clickabilityOf",
+                d -> MutationWait.forElement(d, PageCheck.clickabilityOf(BUTTON), Duration.ofSeconds(TIMEOUT_SECONDS)));
+
+        Assert.assertTrue(jsVisible < classicVisible, "JS visibility wait should issue fewer commands");
+        Assert.assertTrue(jsClickable < classicClickable, "JS clickability wait should issue fewer commands");
+        Assert.assertTrue(mutationVisible < classicVisible, "Mutation visibility wait should issue fewer commands");
+        Assert.assertTrue(mutationClickable < classicClickable, "Mutation clickability wait should issue fewer commands");
+    }
+
+    @Test(description = "Commands per wait for an OR across locators")
+    public void benchmarkCompositeWaits() {
+        double classicOr = measure("ExpectedConditions.or",
+                d -> wait(d).until(ExpectedConditions.or(
+                        ExpectedConditions.presenceOfElementLocated(MISSING),
+                        ExpectedConditions.visibilityOfElementLocated(LATE))));
+        double jsAny = measure("JsConditions.anyOf",
+                d -> {
+                    int index = wait(d).until(JsConditions.anyOf(
+                            PageCheck.presenceOf(MISSING), PageCheck.visibilityOf(LATE))).getIndex();
+                    Assert.assertEquals(index, 1, "Second branch should have matched");
+                    return index;
+                });
+        double mutationAny = measure("MutationWait.untilAny",
+                d -> MutationWait.untilAny(d, Duration.ofSeconds(TIMEOUT_SECONDS),
+                        PageCheck.presenceOf(MISSING), PageCheck.visibilityOf(LATE)));
+
+        Assert.assertTrue(jsAny < classicOr, "JS any-of wait should issue fewer commands");
+        Assert.assertTrue(mutationAny < classicOr, "Mutation any-of wait should issue fewer commands");
+    }
+
+    @Test(description = "Time spent on absence paths with implicit waits vs explicit lookups")
+    public void benchmarkAbsenceLookups() {
+        WebDriver webDriver = getDriver();
+        int implicitSeconds = ConfigManager.getImplicitWait();
+        long implicitMillis;
+        long explicitMillis;
+        try {
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitSeconds));
+            implicitMillis = runAbsencePaths(webDriver, "implicit");
+            webDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            explicitMillis = runAbsencePaths(webDriver, "explicit");
+        } finally {
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getEffectiveImplicitWait()));
+        }
+        String line = String.format("Absence paths per suite pass: %d ms with implicitWait=%d s, %d ms with lookupMode=explicit (%d ms saved)",
+                implicitMillis, implicitSeconds, explicitMillis, implicitMillis - explicitMillis);
+        record(line);
+        if (implicitSeconds > 0) {
+            Assert.assertTrue(explicitMillis < implicitMillis, "Explicit lookups should not pay the implicit wait on absence");
+        }
+    }
+
+    @Test(description = "Time animated dialog waits cost with and without animation suppression")
+    public void benchmarkAnimationSuppression() {
+        long animatedMillis = runDialogCycles(false);
+        long suppressedMillis = runDialogCycles(true);
+        double savedPerWait = (animatedMillis - suppressedMillis) / (2.0 * ITERATIONS);
+        String line = String.format("Animated dialog waits: %d ms animated, %d ms suppressed over %d open/close cycles"
+                        + " - synthetic estimate, CSS keyframes only: ~%.2f s saved per suite pass (%d animated waits)",
+                animatedMillis, suppressedMillis, ITERATIONS,
+                savedPerWait * ANIMATED_WAITS_PER_SUITE / 1000.0, ANIMATED_WAITS_PER_SUITE);
+        record(line);
+        Assert.assertTrue(suppressedMillis < animatedMillis, "Suppressed animations should shorten dialog waits");
+    }
+
+    @Test(description = "Commands a repeated form flow costs with and without the element cache")
+    public void benchmarkElementCache() {
+        double uncached = measureFormFlow(false);
+        double cached = measureFormFlow(true);
+        String line = String.format("MUI-style form flow (3 text fields + submit): %.1f commands uncached, %.1f cached"
+                + " - %.1f find-element round trips saved per flow", uncached, cached, uncached - cached);
+        record(line);
+        Assert.assertTrue(cached < uncached, "Cached elements should save find-element commands");
+    }
+
+    /**
+     * Fills and submits a form of MUI-style text fields repeatedly through one page object, as
+     * RegisterPage.registerUser does on a validation error. Every focus change toggles state
+     * classes on the fields, as it does on the real pages.
+     *
+     * @return The average number of WebDriver commands per flow, after a first flow that fills the cache
+     */
+    private double measureFormFlow(boolean cacheElements) {
+        WebDriver raw = getDriver();
+        raw.get(FORM_PAGE);
+        CommandCounter counter = new CommandCounter();
+        FormPage page = new FormPage(counter.decorate(raw), cacheElements);
+        page.fill("warm-up");
+        counter.reset();
+        for (int i = 0; i < ITERATIONS; i++) {
+            page.fill("user" + i);
+        }
+        double commandsPerFlow = (double) counter.getCount() / ITERATIONS;
+        log.info("Form flow ({}): {} commands/flow", cacheElements ? "cached" : "uncached", commandsPerFlow);
+        return commandsPerFlow;
+    }
+
+    /**
+     * Opens and closes an animated dialog, waiting for its body to show and for it to go away.
+     *
+     * @return The total milliseconds spent waiting
+     */
+    private long runDialogCycles(boolean suppressed) {
+        WebDriver webDriver = getDriver();
+        webDriver.get(ANIMATED_PAGE);
+        if (suppressed) {
+            AnimationSuppressor.injectIntoCurrentPage(webDriver);
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            webDriver.findElement(OPEN_DIALOG).click();
+            WaitUtils.waitForElement(webDriver, DIALOG_BODY, WaitStrategy.VISIBLE, TIMEOUT_SECONDS);
+            webDriver.findElement(CLOSE_DIALOG).click();
+            Assert.assertTrue(WaitUtils.waitForInvisibility(webDriver, DIALOG_BODY, TIMEOUT_SECONDS));
+            total += (System.nanoTime() - start) / 1_000_000;
+        }
+        log.info("Dialog cycles ({}): {} ms", suppressed ? "suppressed" : "animated", total);
+        return total;
+    }
+
+    /**
+     * Runs the page-object paths the sanity suite takes when an element is legitimately absent:
+     * a search without results, an empty cart, a cart change for a product not in the cart and
+     * a product without a size chart.
+     *
+     * @return The total milliseconds spent
+     */
+    private long runAbsencePaths(WebDriver webDriver, String mode) {
+        webDriver.get(ABSENCE_PAGE);
+        HomePage homePage = new HomePage(webDriver);
+        SearchResult product = new SearchResult(webDriver, webDriver.findElement(By.id("card")));
+        Map<String, Runnable> paths = new LinkedHashMap<>();
+        paths.put("HomePage.getSearchResultElements", () ->
+                Assert.assertTrue(homePage.getSearchResultElements().isEmpty()));
+        paths.put("HomePage.getCartContents", () -> Assert.assertTrue(homePage.getCartContents().isEmpty()));
+        paths.put("HomePage.changeProductQuantityInCart", () -> homePage.changeProductQuantityInCart("Absent", 0));
+        paths.put("SearchResult.verifySizeChartExists", () -> Assert.assertFalse(product.verifySizeChartExists()));
+
+        long total = 0;
+        for (Map.Entry<String, Runnable> path : paths.entrySet()) {
+            long start = System.nanoTime();
+            path.getValue().run();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            log.info("{} ({}): {} ms", path.getKey(), mode, millis);
+            total += millis;
+        }
+        return total;
+    }
+
+    /**
+     * Runs a wait against a freshly loaded page several times.
+     *
+     * @return The average number of WebDriver commands per wait
+     */
+    private double measure(String name, Function<WebDriver, Object> waitCall) {
+        WebDriver raw = getDriver();
+        CommandCounter counter = new CommandCounter();
+        WebDriver counted = counter.decorate(raw);
+        raw.manage().timeouts().implicitlyWait(Duration.ZERO);
+        int totalCommands = 0;
+        long totalMillis = 0;
+        try {
+            for (int i = 0; i < ITERATIONS; i++) {
+                raw.get(PAGE);
+                counter.reset();
+                long start = System.nanoTime();
+                waitCall.apply(counted);
+                totalMillis += (System.nanoTime() - start) / 1_000_000;
+                totalCommands += counter.getCount();
+            }
+        } finally {
+            raw.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getEffectiveImplicitWait()));
+        }
+        double commandsPerWait = (double) totalCommands / ITERATIONS;
+        String line = String.format("%s: %.1f commands/wait, %d ms/wait", name, commandsPerWait, totalMillis / ITERATIONS);
+        record(line);
+        return commandsPerWait;
+    }
+
+    /**
+     * Logs a result, adds it to the test's report and keeps it for the results file.
+     */
+    private void record(String line) {
+        log.info(line);
+        reportToTest(line);
+        results.add(line);
+    }
+
+    /**
+     * Writes the run's results to {@code reports/benchmark-results.txt}, so the numbers behind a
+     * change can be kept with it.
+     */
+    @AfterClass(alwaysRun = true)
+    public void writeResults() {
+        if (results.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("# Wait benchmarks %s - %s, headless=%s, %d iterations", Instant.now(),
+                ConfigManager.getBrowser(), ConfigManager.isHeadless(), ITERATIONS));
+        lines.addAll(results);
+        Path file = Paths.get(FrameworkConstants.REPORT_PATH, "benchmark-results.txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines);
+            log.info("Benchmark results written to {}", file);
+        } catch (IOException e) {
+            log.warn("Unable to write benchmark results to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static WebDriverWait wait(WebDriver driver) {
+        return new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+    }
+
+    /**
+     * A registration-style form page, so the benchmark exercises BasePage's own interactions.
+     */
+    private static String textField(String id, String type) {
+        return "<div class='MuiFormControl-root'><label class='MuiInputLabel-root' for='" + id + "'>" + id + "</label>"
+                + "<div class='MuiInputBase-root'><input id='" + id + "' type='" + type + "'></div></div>";
+    }
+
+    private static final class FormPage extends BasePage {
+        private FormPage(WebDriver driver, boolean cacheElements) {
+            super(driver, cacheElements);
+        }
+
+        private void fill(String username) {
+            sendKeys(FORM_USERNAME, username);
+            sendKeys(FORM_PASSWORD, "secret");
+            sendKeys(FORM_CONFIRM, "secret");
+            click(FORM_SUBMIT);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.qkart.utils;
+
+import com.qkart.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Utility class for sending Chrome DevTools Protocol commands to Chromium-based drivers
+ * (Chrome and Edge). Uses the version-independent raw command and event API, so it keeps
+ * working when the browser is newer than the bundled devtools bindings.
+ *
+ * Commands sent with {@link #execute} run on the driver's own CDP connection; events are only
+ * delivered to the connection that enabled their domain, so anything that listens for events
+ * must enable the domain and send its commands through {@link #send} instead.
+ */
+public final class CdpUtils {
+    private static final Logger log = LogManager.getLogger(CdpUtils.class);
+
+    private CdpUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Checks whether the driver can execute CDP commands.
+     */
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof HasCdp;
+    }
+
+    /**
+     * Executes a CDP command without parameters.
+     */
+    public static Map<String, Object> execute(WebDriver driver, String command) {
+        return execute(driver, command, Collections.emptyMap());
+    }
+
+    /**
+     * Executes a CDP command and returns its result.
+     *
+     * @param driver  A Chromium-based WebDriver
+     * @param command The CDP method, e.g. "Network.setBlockedURLs"
+     * @param params  The command parameters
+     * @return The command result
+     * @throws FrameworkException if the driver does not support CDP
+     */
+    public static Map<String, Object> execute(WebDriver driver, String command, Map<String, Object> params) {
+        if (!isSupported(driver)) {
+            throw new FrameworkException("CDP command " + command + " is not supported by " + driver.getClass().getSimpleName());
+        }
+        log.trace("Executing CDP command [{}] with params {}", command, params);
+        return ((HasCdp) driver).executeCdpCommand(command, params);
+    }
+
+    /**
+     * Checks whether the driver exposes a DevTools connection for events.
+     */
+    public static boolean isDevToolsSupported(WebDriver driver) {
+        return driver instanceof HasDevTools && ((HasDevTools) driver).maybeGetDevTools().isPresent();
+    }
+
+    /**
+     * Gets the driver's DevTools connection, attaching a session to the current window if needed.
+     */
+    public static DevTools getDevTools(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            throw new FrameworkException("DevTools is not supported by " + driver.getClass().getSimpleName());
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
+    }
+
+    /**
+     * Sends a CDP command over the driver's DevTools session and returns its result.
+     */
+    public static Map<String, Object> send(WebDriver driver, String command, Map<String, Object> params) {
+        log.trace("Sending CDP command [{}] over DevTools with params {}", command, params);
+        return getDevTools(driver).send(new Command<Map<String, Object>>(command, params, Json.MAP_TYPE));
+    }
+
+    /**
+     * Registers a listener for a raw CDP event, e.g. "Network.loadingFinished".
+     * The event's params are delivered as a map.
+     */
+    public static void addListener(WebDriver driver, String event, Consumer<Map<String, Object>> listener) {
+        getDevTools(driver).addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), listener);
+    }
+}
@@ -0,0 +1,41 @@
+package com.qkart.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the WebDriver commands issued through a decorated driver, including those issued
+ * through the elements it returns. Used to measure the round trips a wait costs.
+ */
+public final class CommandCounter implements WebDriverListener {
+    private static final Set<String> LOCAL_ACCESSORS = Set.of("manage", "timeouts", "window", "navigate", "switchTo");
+    private final AtomicInteger commands = new AtomicInteger();
+
+    /**
+     * Decorates a driver so that every command sent through it is counted.
+     */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        // manage(), timeouts() and friends only hand out local wrappers
+        if (!LOCAL_ACCESSORS.contains(method.getName())) {
+            commands.incrementAndGet();
+        }
+    }
+
+    public int getCount() {
+        return commands.get();
+    }
+
+    public void reset() {
+        commands.set(0);
+    }
+}
@@ -0,0 +1,170 @@
+package com.qkart.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for inspecting and terminating the OS processes behind browser sessions
+ * (driver executables and the browser process trees they spawn).
+ * Memory figures come from /proc and are only available on Linux; elsewhere they are 0.
+ */
+public final class ProcessUtils {
+    private static final Logger log = LogManager.getLogger(ProcessUtils.class);
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Finds the child process of this JVM that was started with the given --port argument,
+     * i.e. the driver executable behind a local driver service.
+     *
+     * @param port The port the driver service listens on
+     * @return The driver process PID, or -1 if it cannot be determined on this platform
+     */
+    public static long findChildProcessByPort(int port) {
+        Pattern portArgument = Pattern.compile("--port[= ]" + port + "(\\s|$)");
+        return ProcessHandle.current().children()
+                .filter(child -> child.info().commandLine().map(cmd -> portArgument.matcher(cmd).find()).orElse(false))
+                .mapToLong(ProcessHandle::pid)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    /**
+     * Gets the PIDs of a process and all of its live descendants.
+     */
+    public static List<Long> processTree(long pid) {
+        List<Long> tree = new ArrayList<>();
+        ProcessHandle.of(pid).ifPresent(root -> {
+            tree.add(root.pid());
+            tree.addAll(root.descendants().map(ProcessHandle::pid).collect(Collectors.toList()));
+        });
+        return tree;
+    }
+
+    /**
+     * Gets the direct children of a process, e.g. the browser launched by a driver.
+     */
+    public static List<Long> children(long pid) {
+        return ProcessHandle.of(pid)
+                .map(handle -> handle.children().map(ProcessHandle::pid).collect(Collectors.toList()))
+                .orElse(new ArrayList<>());
+    }
+
+    public static boolean isAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    /**
+     * Gets when a process started, used to tell a recorded PID from a recycled one.
+     */
+    public static Optional<Instant> startInstant(long pid) {
+        return ProcessHandle.of(pid).flatMap(handle -> handle.info().startInstant());
+    }
+
+    /**
+     * Checks whether a PID still belongs to the process recorded with it, rather than to a
+     * process that reused the PID after the recorded one exited.
+     *
+     * @param startMillis When the recorded process started, in epoch milliseconds
+     */
+    public static boolean isSameProcess(long pid, long startMillis) {
+        return startInstant(pid).map(start -> start.toEpochMilli() == startMillis).orElse(false);
+    }
+
+    /**
+     * Gets the resident memory of a single process in bytes (Linux only).
+     */
+    public static long residentMemoryBytes(long pid) {
+        Path status = PROC.resolve(String.valueOf(pid)).resolve("status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.trace("Unable to read memory of process {}: {}", pid, e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the combined resident memory of a process tree in bytes (Linux only).
+     */
+    public static long treeResidentMemoryBytes(long pid) {
+        return processTree(pid).stream().mapToLong(ProcessUtils::residentMemoryBytes).sum();
+    }
+
+    /**
+     * Gets the combined CPU time of a process tree in milliseconds, where the OS reports it.
+     */
+    public static long treeCpuMillis(long pid) {
+        return processTree(pid).stream()
+                .mapToLong(treePid -> ProcessHandle.of(treePid)
+                        .flatMap(handle -> handle.info().totalCpuDuration())
+                        .map(cpu -> cpu.toMillis())
+                        .orElse(0L))
+                .sum();
+    }
+
+    /**
+     * Gets the combined time the processes of a tree spent runnable but waiting for a
+     * CPU, in milliseconds (Linux schedstat only).
+     */
+    public static long treeRunQueueWaitMillis(long pid) {
+        long waitNanos = 0;
+        for (long treePid : processTree(pid)) {
+            Path schedstat = PROC.resolve(String.valueOf(treePid)).resolve("schedstat");
+            try {
+                String[] fields = Files.readString(schedstat).trim().split("\\s+");
+                waitNanos += Long.parseLong(fields[1]);
+            } catch (IOException | RuntimeException e) {
+                log.trace("Unable to read scheduler stats of process {}: {}", treePid, e.getMessage());
+            }
+        }
+        return waitNanos / 1_000_000;
+    }
+
+    /**
+     * Forcibly kills a process and all of its descendants, children first.
+     *
+     * @param pid The root of the tree to kill
+     * @return Resident memory the tree held just before it was killed, in bytes
+     */
+    public static long killTree(long pid) {
+        Optional<ProcessHandle> root = ProcessHandle.of(pid);
+        if (root.isEmpty()) {
+            return 0;
+        }
+        long reclaimed = treeResidentMemoryBytes(pid);
+        List<ProcessHandle> descendants = root.get().descendants().collect(Collectors.toList());
+        descendants.forEach(ProcessHandle::destroyForcibly);
+        root.get().destroyForcibly();
+        log.debug("Killed process tree {} ({} processes)", pid, descendants.size() + 1);
+        return reclaimed;
+    }
+
+    /**
+     * Formats a byte count as megabytes for log output.
+     */
+    public static String toMegabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,46 @@
+package com.qkart.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Unit tests for telling a recorded process from one that reused its PID. No browser needed.
+ */
+public class ProcessUtilsTests {
+
+    @Test(description = "A live process matches its recorded start time")
+    public void liveProcessMatchesStartTime() {
+        long pid = ProcessHandle.current().pid();
+        long startMillis = ProcessUtils.startInstant(pid).orElseThrow().toEpochMilli();
+
+        Assert.assertTrue(ProcessUtils.isSameProcess(pid, startMillis));
+    }
+
+    @Test(description = "A PID recorded with a different start time belongs to another process")
+    public void recycledPidDoesNotMatch() {
+        long pid = ProcessHandle.current().pid();
+        long startMillis = ProcessUtils.startInstant(pid).orElseThrow().toEpochMilli();
+
+        Assert.assertFalse(ProcessUtils.isSameProcess(pid, startMillis - 1));
+        Assert.assertFalse(ProcessUtils.isSameProcess(pid, startMillis + 1000));
+    }
+
+    @Test(description = "A process that has exited no longer matches")
+    public void exitedProcessDoesNotMatch() throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-version").redirectErrorStream(true).start();
+        long pid = process.pid();
+        Optional<Instant> start = ProcessUtils.startInstant(pid);
+        process.getInputStream().readAllBytes();
+        process.waitFor();
+
+        Assert.assertTrue(start.isPresent(), "Start time should be readable while the process runs");
+        Assert.assertFalse(ProcessUtils.isAlive(pid));
+        Assert.assertFalse(ProcessUtils.isSameProcess(pid, start.get().toEpochMilli()));
+    }
+}
@@ -1,8 +1,21 @@
 package com.qkart.utils;
 
 import com.qkart.config.ConfigManager;
+import com.qkart.driver.AnimationSuppressor;
+import com.qkart.enums.WaitEngine;
 import com.qkart.enums.WaitStrategy;
 import com.qkart.exceptions.ElementNotFoundException;
+import com.qkart.reports.ExtentManager;
+import com.qkart.waits.ConditionMatch;
+import com.qkart.waits.JsConditions;
+import com.qkart.waits.LearnedTimeouts;
+import com.qkart.waits.MutationWait;
+import com.qkart.waits.NetworkIdle;
+import com.qkart.waits.PageCheck;
+import com.qkart.waits.SmartWait;
+import com.qkart.waits.TestBudget;
+import com.qkart.waits.VirtualClock;
+import com.qkart.waits.WaitHistory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
@@ -11,15 +24,26 @@ import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utility class providing advanced wait mechanisms for Selenium WebDriver.
  * Eliminates the need for Thread.sleep() throughout the framework.
+ * Element waits use the push-based {@link MutationWait} engine unless waitEngine=polling, in which
+ * case each poll is a single JavaScript round trip ({@link JsConditions}). Polled waits follow
+ * the adaptive {@link SmartWait} schedule unless adaptivePolling=false. With timeoutMode=learned,
+ * each step's timeout comes from {@link LearnedTimeouts}. Every wait is capped at what is left of
+ * the test's {@link TestBudget}. Tests on {@link VirtualClock} time fast-forward page timers
+ * while they wait.
  */
 public final class WaitUtils {
     private static final Logger log = LogManager.getLogger(WaitUtils.class);
+    private static final AtomicLong absentLookups = new AtomicLong();
+    private static final AtomicLong absentLookupMillis = new AtomicLong();
 
     private WaitUtils() {
         // Private constructor to prevent instantiation
@@ -62,33 +86,83 @@ public final class WaitUtils {
      */
     public static WebElement waitForElement(WebDriver driver, By locator, WaitStrategy strategy, int timeoutInSeconds) {
         log.debug("Waiting for element [{}] with strategy [{}]", locator, strategy);
-        WebDriverWait wait = getWait(driver, timeoutInSeconds);
-
         try {
-            switch (strategy) {
-                case CLICKABLE:
-                    return wait.until(ExpectedConditions.elementToBeClickable(locator));
-                case VISIBLE:
-                    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-                case PRESENCE:
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-                case NONE:
-                    return driver.findElement(locator);
-                default:
-                    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            if (strategy == WaitStrategy.NONE) {
+                return driver.findElement(locator);
             }
+            return await(driver, "all", timeoutInSeconds, toCheck(locator, strategy)).getElement();
+        } catch (TimeoutException e) {
+            throw new ElementNotFoundException(locator, timeoutInSeconds, e);
+        }
+    }
+
+    /**
+     * Waits for an element inside another element (e.g. a button within a product card).
+     */
+    public static WebElement waitForElementWithin(WebDriver driver, WebElement scope, By locator,
+                                                  WaitStrategy strategy, int timeoutInSeconds) {
+        log.debug("Waiting for element [{}] within scope with strategy [{}]", locator, strategy);
+        try {
+            return poll(driver, strategy.name().toLowerCase() + " within scope " + locator, webDriver -> {
+                for (WebElement element : scope.findElements(locator)) {
+                    if (strategy == WaitStrategy.PRESENCE || strategy == WaitStrategy.NONE
+                            || (element.isDisplayed() && (strategy != WaitStrategy.CLICKABLE || element.isEnabled()))) {
+                        return element;
+                    }
+                }
+                return null;
+            }, timeoutInSeconds);
         } catch (TimeoutException e) {
             throw new ElementNotFoundException(locator, timeoutInSeconds, e);
         }
     }
 
+    /**
+     * Finds the elements matching the locator right now, without waiting for them to appear.
+     * An empty list is a legitimate answer; in explicit lookup mode it costs no implicit wait.
+     */
+    public static List<WebElement> findAllNow(SearchContext scope, By locator) {
+        long start = System.currentTimeMillis();
+        List<WebElement> elements = scope.findElements(locator);
+        if (elements.isEmpty()) {
+            long elapsed = System.currentTimeMillis() - start;
+            absentLookups.incrementAndGet();
+            absentLookupMillis.addAndGet(elapsed);
+            log.debug("No elements [{}] found ({} ms)", locator, elapsed);
+        }
+        return elements;
+    }
+
+    /**
+     * Checks whether any element matches the locator right now.
+     */
+    public static boolean isPresentNow(SearchContext scope, By locator) {
+        return !findAllNow(scope, locator).isEmpty();
+    }
+
+    /**
+     * Reports how many immediate lookups found nothing and the time they took, which is what
+     * the implicit wait costs on absence paths.
+     */
+    public static void reportLookupTotals() {
+        long lookups = absentLookups.get();
+        if (lookups == 0) {
+            return;
+        }
+        String summary = String.format("%d lookups found nothing in %d ms total (%s lookups, implicit wait %d s)",
+                lookups, absentLookupMillis.get(), ConfigManager.getLookupMode().getModeName(),
+                ConfigManager.getEffectiveImplicitWait());
+        log.info("Absence lookups: {}", summary);
+        ExtentManager.addSystemInfo("Absence Lookups", summary);
+    }
+
     /**
      * Waits for all elements matching the locator to be present.
      */
     public static List<WebElement> waitForElements(WebDriver driver, By locator, int timeoutInSeconds) {
         log.debug("Waiting for elements [{}]", locator);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return poll(driver, "all present " + locator,
+                ExpectedConditions.presenceOfAllElementsLocatedBy(locator), timeoutInSeconds);
     }
 
     /**
@@ -96,8 +170,7 @@ public final class WaitUtils {
      */
     public static boolean waitForInvisibility(WebDriver driver, By locator, int timeoutInSeconds) {
         log.debug("Waiting for element [{}] to become invisible", locator);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return await(driver, "all", timeoutInSeconds, PageCheck.invisibilityOf(locator)) != null;
     }
 
     /**
@@ -105,8 +178,16 @@ public final class WaitUtils {
      */
     public static boolean waitForUrlContains(WebDriver driver, String partialUrl, int timeoutInSeconds) {
         log.debug("Waiting for URL to contain [{}]", partialUrl);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.urlContains(partialUrl));
+        return poll(driver, "url contains " + partialUrl, ExpectedConditions.urlContains(partialUrl), timeoutInSeconds);
+    }
+
+    /**
+     * Waits for URL to end with specific text.
+     */
+    public static boolean waitForUrlEndsWith(WebDriver driver, String urlSuffix, int timeoutInSeconds) {
+        log.debug("Waiting for URL to end with [{}]", urlSuffix);
+        return poll(driver, "url ends with " + urlSuffix,
+                webDriver -> webDriver.getCurrentUrl().endsWith(urlSuffix), timeoutInSeconds);
     }
 
     /**
@@ -114,8 +195,7 @@ public final class WaitUtils {
      */
     public static boolean waitForUrlToBe(WebDriver driver, String url, int timeoutInSeconds) {
         log.debug("Waiting for URL to be [{}]", url);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.urlToBe(url));
+        return poll(driver, "url is " + url, ExpectedConditions.urlToBe(url), timeoutInSeconds);
     }
 
     /**
@@ -123,25 +203,70 @@ public final class WaitUtils {
      */
     public static void waitForPageLoad(WebDriver driver, int timeoutInSeconds) {
         log.debug("Waiting for page to finish loading");
-        getWait(driver, timeoutInSeconds).until(
+        poll(driver, null,
                 webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return document.readyState").equals("complete")
-        );
+                        .executeScript("return document.readyState").equals("complete"),
+                timeoutInSeconds);
     }
 
     /**
-     * Waits for AJAX calls to complete (for jQuery-based applications).
+     * Navigates to a URL, bounded by the page's learned load time when timeoutMode=learned.
+     */
+    public static void loadPage(WebDriver driver, String url, int timeoutInSeconds) {
+        log.debug("Loading page [{}]", url);
+        String key = "page load " + url;
+        Duration configured = Duration.ofSeconds(timeoutInSeconds);
+        withTimeout(key, timeoutInSeconds, timeout -> timed(key, () -> {
+            if (timeout.equals(configured)) {
+                driver.get(url);
+                return true;
+            }
+            driver.manage().timeouts().pageLoadTimeout(timeout);
+            try {
+                driver.get(url);
+            } finally {
+                driver.manage().timeouts().pageLoadTimeout(configured);
+            }
+            return true;
+        }));
+        AnimationSuppressor.afterNavigation(driver);
+    }
+
+    /**
+     * Waits for AJAX calls to complete. QKart has no jQuery, so this waits for the XHR/fetch
+     * traffic seen over CDP to go quiet (see {@link NetworkIdle}).
      */
     public static void waitForAjaxComplete(WebDriver driver, int timeoutInSeconds) {
         log.debug("Waiting for AJAX calls to complete");
-        getWait(driver, timeoutInSeconds).until(
-                webDriver -> {
-                    JavascriptExecutor js = (JavascriptExecutor) webDriver;
-                    return (Boolean) js.executeScript(
-                            "return (typeof jQuery !== 'undefined') ? jQuery.active == 0 : true"
-                    );
-                }
-        );
+        waitForNetworkIdle(driver, "ajax", timeoutInSeconds);
+    }
+
+    /**
+     * Waits until no tracked XHR/fetch request has been in flight for networkIdleQuietMs.
+     * Returns at once when networkIdle is off.
+     *
+     * @param action Names the action that triggered the traffic, for the report
+     * @return The requests the action made and their timings
+     */
+    public static NetworkIdle.ActionStats waitForNetworkIdle(WebDriver driver, String action, int timeoutInSeconds) {
+        if (!ConfigManager.isNetworkIdleEnabled()) {
+            return NetworkIdle.await(driver, action, Duration.ZERO);
+        }
+        log.debug("Waiting for network idle after [{}]", action);
+        String step = "network idle: " + action;
+        Duration configured = Duration.ofSeconds(timeoutInSeconds);
+        Duration timeout = TestBudget.cap(step, configured);
+        long start = System.currentTimeMillis();
+        try {
+            return NetworkIdle.await(driver, action, timeout);
+        } catch (TimeoutException e) {
+            if (TestBudget.limited(timeout, configured)) {
+                throw TestBudget.exhausted(step, e);
+            }
+            throw e;
+        } finally {
+            TestBudget.charge(step, System.currentTimeMillis() - start);
+        }
     }
 
     /**
@@ -149,8 +274,7 @@ public final class WaitUtils {
      */
     public static boolean waitForTextPresent(WebDriver driver, By locator, String text, int timeoutInSeconds) {
         log.debug("Waiting for text [{}] in element [{}]", text, locator);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        return await(driver, "all", timeoutInSeconds, PageCheck.textIn(locator, text)) != null;
     }
 
     /**
@@ -159,8 +283,100 @@ public final class WaitUtils {
     public static boolean waitForAttributeValue(WebDriver driver, By locator, String attribute,
                                                  String value, int timeoutInSeconds) {
         log.debug("Waiting for attribute [{}] to be [{}] on element [{}]", attribute, value, locator);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.attributeToBe(locator, attribute, value));
+        return await(driver, "all", timeoutInSeconds, PageCheck.attributeIs(locator, attribute, value)) != null;
+    }
+
+    /**
+     * Waits until any of the checks holds, evaluating all of them in one round trip.
+     *
+     * @return The match, telling which check held and the element it yielded
+     */
+    public static ConditionMatch waitForAny(WebDriver driver, int timeoutInSeconds, PageCheck... checks) {
+        log.debug("Waiting for any of {}", Arrays.toString(checks));
+        return await(driver, "any", timeoutInSeconds, checks);
+    }
+
+    /**
+     * Waits until all checks hold at the same time, evaluating them in one round trip.
+     */
+    public static ConditionMatch waitForAll(WebDriver driver, int timeoutInSeconds, PageCheck... checks) {
+        log.debug("Waiting for all of {}", Arrays.toString(checks));
+        return await(driver, "all", timeoutInSeconds, checks);
+    }
+
+    /**
+     * Checks from a single DOM snapshot that no element matches the locator.
+     */
+    public static boolean isAbsentNow(WebDriver driver, By locator) {
+        return JsConditions.of(PageCheck.absenceOf(locator)).apply(driver) != null;
+    }
+
+    /**
+     * Checks from a single DOM snapshot that the first element matching the locator is visible.
+     */
+    public static boolean isVisibleNow(WebDriver driver, By locator) {
+        return JsConditions.of(PageCheck.visibilityOf(locator)).apply(driver) != null;
+    }
+
+    /**
+     * Waits for no element to match the locator, and for that to last absenceStableMs so that
+     * an element briefly detached by a re-render does not count as gone.
+     *
+     * @throws TimeoutException if the element is still there after the timeout
+     */
+    public static boolean waitForAbsence(WebDriver driver, By locator, int timeoutInSeconds) {
+        log.debug("Waiting for element [{}] to be absent", locator);
+        PageCheck check = PageCheck.absenceOf(locator);
+        Duration window = Duration.ofMillis(ConfigManager.getAbsenceStableMs());
+        String key = check.toString();
+        if (isMutationEngine(driver)) {
+            return withTimeout(key, timeoutInSeconds,
+                    timeout -> timed(key, () -> MutationWait.untilStable(driver, timeout, window, check))) != null;
+        }
+        return poll(driver, key, JsConditions.stable(JsConditions.of(check), window), timeoutInSeconds) != null;
+    }
+
+    /**
+     * Waits for either of two elements to become visible, e.g. results or an empty-state message.
+     *
+     * @return 0 if the first appeared, 1 if the second did
+     * @throws TimeoutException if neither appears within the timeout
+     */
+    public static int waitForEither(WebDriver driver, By first, By second, int timeoutInSeconds) {
+        return waitForAny(driver, timeoutInSeconds, PageCheck.visibilityOf(first), PageCheck.visibilityOf(second)).getIndex();
+    }
+
+    /**
+     * Checks whether an element is visible once the page has settled: true as soon as it shows,
+     * false once the DOM has not changed for domSettleMs without it - instead of waiting out
+     * the whole timeout for an element that is legitimately not there.
+     *
+     * @throws TimeoutException if the page keeps changing without the element for the whole timeout
+     */
+    public static boolean isVisibleOnceSettled(WebDriver driver, By locator, int timeoutInSeconds) {
+        PageCheck check = PageCheck.visibilityOf(locator);
+        Duration window = Duration.ofMillis(ConfigManager.getDomSettleMs());
+        String key = "settled " + check;
+        ConditionMatch match;
+        if (isMutationEngine(driver)) {
+            match = withTimeout(key, timeoutInSeconds,
+                    timeout -> timed(key, () -> MutationWait.untilSettled(driver, timeout, window, check)));
+        } else {
+            match = poll(driver, key, JsConditions.settled(JsConditions.of(check), window), timeoutInSeconds);
+        }
+        return match.isMatched();
+    }
+
+    /**
+     * Lets the page run its pending timers (debounces, snackbar and modal timers) for the given
+     * amount of virtual time right away, e.g. after typing into a debounced field.
+     * Does nothing unless the test runs on virtual time.
+     */
+    public static void fastForward(WebDriver driver, Duration virtualTime) {
+        if (VirtualClock.isActive(driver)) {
+            log.debug("Fast-forwarding page timers by {} ms", virtualTime.toMillis());
+            VirtualClock.advance(driver, virtualTime);
+        }
     }
 
     /**
@@ -168,15 +384,98 @@ public final class WaitUtils {
      */
     public static boolean waitForWindowCount(WebDriver driver, int expectedCount, int timeoutInSeconds) {
         log.debug("Waiting for window count to be [{}]", expectedCount);
-        return getWait(driver, timeoutInSeconds)
-                .until(ExpectedConditions.numberOfWindowsToBe(expectedCount));
+        return poll(driver, "window count " + expectedCount,
+                ExpectedConditions.numberOfWindowsToBe(expectedCount), timeoutInSeconds);
+    }
+
+    /**
+     * Maps a wait strategy to the equivalent in-page check.
+     */
+    private static PageCheck toCheck(By locator, WaitStrategy strategy) {
+        switch (strategy) {
+            case CLICKABLE:
+                return PageCheck.clickabilityOf(locator);
+            case PRESENCE:
+                return PageCheck.presenceOf(locator);
+            case VISIBLE:
+            default:
+                return PageCheck.visibilityOf(locator);
+        }
+    }
+
+    /**
+     * Waits for page checks with the configured engine.
+     *
+     * @param mode "any" or "all"
+     */
+    private static ConditionMatch await(WebDriver driver, String mode, int timeoutInSeconds, PageCheck... checks) {
+        boolean any = "any".equals(mode);
+        String key = checks.length == 1 ? checks[0].toString() : mode + " of " + Arrays.toString(checks);
+        if (isMutationEngine(driver)) {
+            return withTimeout(key, timeoutInSeconds, timeout -> timed(key, () -> any
+                    ? MutationWait.untilAny(driver, timeout, checks)
+                    : MutationWait.untilAll(driver, timeout, checks)));
+        }
+        return poll(driver, key, any ? JsConditions.anyOf(checks) : JsConditions.allOf(checks), timeoutInSeconds);
+    }
+
+    /**
+     * Polls a condition, on the adaptive schedule unless adaptivePolling=false. Under virtual
+     * time each unmet poll fast-forwards the page's timers by one step.
+     *
+     * @param key Identifies the wait for the learned history, or {@code null} for one-off conditions
+     */
+    private static <T> T poll(WebDriver driver, String key, Function<? super WebDriver, T> condition, int timeoutInSeconds) {
+        Function<? super WebDriver, T> polled = VirtualClock.isActive(driver)
+                ? VirtualClock.ticking(driver, condition) : condition;
+        return withTimeout(key, timeoutInSeconds, timeout -> SmartWait.poll(driver, key, polled, timeout));
+    }
+
+    /**
+     * Runs a wait with the step's learned timeout (timeoutMode=learned) or the given one,
+     * capped at the remaining test budget and charged to it.
+     */
+    private static <T> T withTimeout(String key, int timeoutInSeconds, Function<Duration, T> wait) {
+        String step = key != null ? key : "custom condition";
+        Duration configured = Duration.ofSeconds(timeoutInSeconds);
+        Duration learned = LearnedTimeouts.resolve(key, configured);
+        Duration timeout = TestBudget.cap(step, learned);
+        long start = System.currentTimeMillis();
+        try {
+            return wait.apply(timeout);
+        } catch (TimeoutException e) {
+            if (TestBudget.limited(timeout, learned)) {
+                throw TestBudget.exhausted(step, e);
+            }
+            throw LearnedTimeouts.timedOut(key, timeout, configured, e);
+        } finally {
+            TestBudget.charge(step, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Runs a wait that does not record its own duration and teaches the history how long it took.
+     */
+    private static <T> T timed(String key, Supplier<T> wait) {
+        long start = System.currentTimeMillis();
+        T value = wait.get();
+        WaitHistory.recordDuration(key, System.currentTimeMillis() - start);
+        return value;
+    }
+
+    /**
+     * Whether to wait in the page. Not under virtual time, where the engine's own timer only
+     * fires when a wait advances the clock.
+     */
+    private static boolean isMutationEngine(WebDriver driver) {
+        return ConfigManager.getWaitEngine() == WaitEngine.MUTATION && !VirtualClock.isActive(driver);
     }
 
     /**
      * Custom wait with a predicate function.
      */
     public static <T> T waitForCondition(WebDriver driver, Function<WebDriver, T> condition, int timeoutInSeconds) {
-        return getWait(driver, timeoutInSeconds).until(condition);
+        return poll(driver, null, condition, timeoutInSeconds);
     }
 }
 
@@ -0,0 +1,85 @@
+package com.qkart.waits;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a satisfied composite wait: which branch matched and what each check yielded
+ * (the element for presence/visibility/clickability checks, {@code true} for the others,
+ * {@code null} for branches that were not evaluated or did not hold).
+ * A settling wait can also end without a match, once the page stopped changing.
+ */
+public final class ConditionMatch {
+    private static final ConditionMatch SETTLED = new ConditionMatch(-1, new ArrayList<>(), false);
+
+    private final int index;
+    private final List<Object> values;
+    private final boolean matched;
+
+    ConditionMatch(int index, List<Object> values) {
+        this(index, values, true);
+    }
+
+    private ConditionMatch(int index, List<Object> values, boolean matched) {
+        this.index = index;
+        this.values = values;
+        this.matched = matched;
+    }
+
+    /**
+     * The outcome of a settling wait whose checks did not hold once the page settled.
+     */
+    static ConditionMatch settled() {
+        return SETTLED;
+    }
+
+    @SuppressWarnings("unchecked")
+    static ConditionMatch fromScriptResult(Map<String, Object> result) {
+        if ("settled".equals(result.get("status"))) {
+            return SETTLED;
+        }
+        return new ConditionMatch(((Number) result.get("index")).intValue(),
+                new ArrayList<>((List<Object>) result.get("values")));
+    }
+
+    /**
+     * Whether the checks held, as opposed to the page settling without them.
+     */
+    public boolean isMatched() {
+        return matched;
+    }
+
+    /**
+     * Gets the index of the check that matched in an any-of wait, or -1 for an all-of wait.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets what the check at the given position yielded.
+     */
+    public Object getValue(int position) {
+        return position < values.size() ? values.get(position) : null;
+    }
+
+    /**
+     * Gets the element yielded by the matched branch, or by the first element-yielding check of
+     * an all-of wait.
+     */
+    public WebElement getElement() {
+        if (index >= 0) {
+            Object value = getValue(index);
+            return value instanceof WebElement ? (WebElement) value : null;
+        }
+        return (WebElement) values.stream().filter(WebElement.class::isInstance).findFirst().orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return matched ? "ConditionMatch{index=" + index + ", values=" + values + "}" : "ConditionMatch{settled}";
+    }
+}
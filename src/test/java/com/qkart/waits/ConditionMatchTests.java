@@ -0,0 +1,73 @@
+package com.qkart.waits;
+
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for reading the outcome of a composite wait. No browser needed.
+ */
+public class ConditionMatchTests {
+    private static final WebElement ELEMENT = (WebElement) Proxy.newProxyInstance(
+            WebElement.class.getClassLoader(), new Class<?>[]{WebElement.class}, (proxy, method, args) ->
+                    "toString".equals(method.getName()) ? "element" : null);
+
+    @Test(description = "An any-of result names the branch that matched and yields its element")
+    public void anyOfMatchYieldsMatchedBranch() {
+        ConditionMatch match = ConditionMatch.fromScriptResult(result("ok", 1, null, ELEMENT));
+
+        Assert.assertTrue(match.isMatched());
+        Assert.assertEquals(match.getIndex(), 1);
+        Assert.assertNull(match.getValue(0), "Branch that did not hold should yield null");
+        Assert.assertSame(match.getValue(1), ELEMENT);
+        Assert.assertSame(match.getElement(), ELEMENT);
+    }
+
+    @Test(description = "An any-of match on a non-element check yields no element")
+    public void anyOfMatchOnBooleanCheckYieldsNoElement() {
+        ConditionMatch match = ConditionMatch.fromScriptResult(result("ok", 0, true, ELEMENT));
+
+        Assert.assertEquals(match.getValue(0), Boolean.TRUE);
+        Assert.assertNull(match.getElement());
+    }
+
+    @Test(description = "An all-of result yields the first element-yielding check")
+    public void allOfMatchYieldsFirstElement() {
+        ConditionMatch match = ConditionMatch.fromScriptResult(result("ok", -1, true, ELEMENT));
+
+        Assert.assertTrue(match.isMatched());
+        Assert.assertEquals(match.getIndex(), -1);
+        Assert.assertSame(match.getElement(), ELEMENT);
+    }
+
+    @Test(description = "Positions past the checks yield null instead of failing")
+    public void valueOutOfRangeIsNull() {
+        ConditionMatch match = ConditionMatch.fromScriptResult(result("ok", 0, true));
+
+        Assert.assertNull(match.getValue(5));
+    }
+
+    @Test(description = "A settled result is not a match and yields nothing")
+    public void settledResultIsNotAMatch() {
+        ConditionMatch match = ConditionMatch.fromScriptResult(result("settled", -1));
+
+        Assert.assertFalse(match.isMatched());
+        Assert.assertSame(match, ConditionMatch.settled());
+        Assert.assertNull(match.getElement());
+        Assert.assertNull(match.getValue(0));
+        Assert.assertEquals(match.toString(), "ConditionMatch{settled}");
+    }
+
+    private static Map<String, Object> result(String status, long index, Object... values) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", status);
+        result.put("index", index);
+        result.put("values", Arrays.asList(values));
+        return result;
+    }
+}
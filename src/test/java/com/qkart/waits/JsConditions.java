@@ -0,0 +1,197 @@
+package com.qkart.waits;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conditions for {@code WebDriverWait} that evaluate one or more {@link PageCheck}s, combined
+ * with AND or OR, in a single JavaScript call per poll. A classic
+ * {@code ExpectedConditions.elementToBeClickable} costs a find, an isDisplayed and an isEnabled
+ * round trip per poll, and {@code ExpectedConditions.or} multiplies that by its branches.
+ * Checks whose locator cannot be evaluated in the page fall back to their
+ * {@code ExpectedCondition}, one branch at a time.
+ */
+public final class JsConditions {
+    private static final String DOM_STATE_SCRIPT = "var state = window.__qkartDomState;"
+            + "if (!state) {"
+            + "  state = window.__qkartDomState = {changes: 0};"
+            + "  var changed = function () { state.changes++; };"
+            + "  new MutationObserver(changed).observe(document.documentElement,"
+            + "      {childList: true, subtree: true, attributes: true, characterData: true});"
+            + "  document.addEventListener('transitionend', changed, true);"
+            + "  document.addEventListener('animationend', changed, true);"
+            + "}"
+            + "return performance.timeOrigin + ':' + state.changes;";
+
+    private JsConditions() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A single check, e.g. the equivalent of a {@code WaitStrategy}.
+     */
+    public static ExpectedCondition<ConditionMatch> of(PageCheck check) {
+        return allOf(check);
+    }
+
+    /**
+     * Holds as soon as any of the checks holds; the match tells which one.
+     */
+    public static ExpectedCondition<ConditionMatch> anyOf(PageCheck... checks) {
+        return composite("any", checks);
+    }
+
+    /**
+     * Holds once all checks hold at the same time.
+     */
+    public static ExpectedCondition<ConditionMatch> allOf(PageCheck... checks) {
+        return composite("all", checks);
+    }
+
+    /**
+     * Holds once the condition has held on every poll for the given window, e.g. an element
+     * staying absent rather than flickering out during a re-render.
+     */
+    public static ExpectedCondition<ConditionMatch> stable(ExpectedCondition<ConditionMatch> condition, Duration window) {
+        return new ExpectedCondition<>() {
+            private long heldSince = -1;
+
+            @Override
+            public ConditionMatch apply(WebDriver driver) {
+                ConditionMatch match = condition.apply(driver);
+                long now = System.currentTimeMillis();
+                if (match == null) {
+                    heldSince = -1;
+                    return null;
+                }
+                if (heldSince < 0) {
+                    heldSince = now;
+                }
+                return now - heldSince >= window.toMillis() ? match : null;
+            }
+
+            @Override
+            public String toString() {
+                return condition + " for " + window.toMillis() + " ms";
+            }
+        };
+    }
+
+    /**
+     * Returns the match as soon as the condition holds, or an unmatched outcome once the condition
+     * does not hold and the DOM has been quiet for the given window - the polling counterpart of
+     * the in-page settle window. Each unmatched poll reads a mutation counter kept in the page, so
+     * a page that is still rendering keeps the wait going.
+     */
+    public static ExpectedCondition<ConditionMatch> settled(ExpectedCondition<ConditionMatch> condition, Duration window) {
+        return new ExpectedCondition<>() {
+            private long quietSince = System.currentTimeMillis();
+            private Object lastDomState;
+
+            @Override
+            public ConditionMatch apply(WebDriver driver) {
+                ConditionMatch match = condition.apply(driver);
+                if (match != null) {
+                    return match;
+                }
+                long now = System.currentTimeMillis();
+                Object domState = readDomState(driver);
+                if (domState == null || !domState.equals(lastDomState)) {
+                    quietSince = now;
+                    lastDomState = domState;
+                }
+                return now - quietSince >= window.toMillis() ? ConditionMatch.settled() : null;
+            }
+
+            @Override
+            public String toString() {
+                return condition + " (settling after " + window.toMillis() + " ms of DOM quiet)";
+            }
+        };
+    }
+
+    /**
+     * Reads the document's identity and mutation count, installing the counter on first use.
+     * Transitions and animations count as changes, as they do for the in-page engine.
+     *
+     * @return The DOM state, or {@code null} if it cannot be read (which counts as a change)
+     */
+    private static Object readDomState(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            return ((JavascriptExecutor) driver).executeScript(DOM_STATE_SCRIPT);
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts checks into script arguments.
+     *
+     * @return The arguments, or {@code null} if any check cannot be evaluated in the page
+     */
+    static List<Map<String, Object>> toScriptArguments(PageCheck... checks) {
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (PageCheck check : checks) {
+            Map<String, Object> argument = check.toScriptArgument();
+            if (argument == null) {
+                return null;
+            }
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    static ExpectedCondition<ConditionMatch> composite(String mode, PageCheck... checks) {
+        List<Map<String, Object>> arguments = toScriptArguments(checks);
+        return new ExpectedCondition<>() {
+            @Override
+            public ConditionMatch apply(WebDriver driver) {
+                if (arguments != null && driver instanceof JavascriptExecutor) {
+                    Map<String, Object> result = MutationWait.evaluateOnce(driver, arguments, mode);
+                    return result != null ? ConditionMatch.fromScriptResult(result) : null;
+                }
+                return evaluateSeparately(driver, mode, checks);
+            }
+
+            @Override
+            public String toString() {
+                return mode + " of " + Arrays.toString(checks);
+            }
+        };
+    }
+
+    private static ConditionMatch evaluateSeparately(WebDriver driver, String mode, PageCheck... checks) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < checks.length; i++) {
+            Object value;
+            try {
+                value = checks[i].toExpectedCondition().apply(driver);
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                value = null;
+            }
+            boolean holds = value != null && !Boolean.FALSE.equals(value);
+            if ("any".equals(mode) && holds) {
+                values.add(value);
+                return new ConditionMatch(i, values);
+            }
+            if ("all".equals(mode) && !holds) {
+                return null;
+            }
+            values.add(holds ? value : null);
+        }
+        return "all".equals(mode) ? new ConditionMatch(-1, values) : null;
+    }
+}
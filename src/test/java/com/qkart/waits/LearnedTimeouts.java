@@ -0,0 +1,164 @@
+package com.qkart.waits;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.enums.TimeoutMode;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses per-step timeouts from the {@link WaitHistory} when timeoutMode=learned.
+ * A step's timeout is the configured percentile of its recorded durations plus a margin,
+ * never more than the configured timeout, so a broken locator fails within seconds of its
+ * usual time instead of at the global ceiling. A step that overruns its learned timeout gets
+ * the configured timeout once more (typically on the RetryAnalyzer retry), so a slow
+ * environment is told apart from a broken step without paying the ceiling on every attempt.
+ * Assigned timeouts are reported per test and written to {@code reports/learned-timeouts.csv}.
+ */
+public final class LearnedTimeouts {
+    private static final Logger log = LogManager.getLogger(LearnedTimeouts.class);
+    private static final Set<String> relaxed = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Assignment> assignments = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Long>> testAssignments = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private LearnedTimeouts() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the timeout for a step.
+     *
+     * @param key     Identifies the step (locator + condition), or {@code null} for one-off waits
+     * @param ceiling The configured timeout
+     * @return The learned timeout, or the ceiling if there is no usable history
+     */
+    public static Duration resolve(String key, Duration ceiling) {
+        if (key == null || ConfigManager.getTimeoutMode() != TimeoutMode.LEARNED || unrelax(key)) {
+            return ceiling;
+        }
+        long percentile = WaitHistory.percentileMillis(key, ConfigManager.getLearnedTimeoutPercentile(),
+                ConfigManager.getLearnedTimeoutMinSamples());
+        Duration learned = learnedTimeout(percentile, ConfigManager.getLearnedTimeoutMarginMs(), ceiling);
+        if (learned.equals(ceiling)) {
+            return ceiling;
+        }
+        testAssignments.get().put(key, learned.toMillis());
+        assignments.computeIfAbsent(key, k -> new Assignment(percentile, learned.toMillis(), ceiling.toMillis()));
+        return learned;
+    }
+
+    /**
+     * Takes a step off the list of steps whose next wait runs with the configured timeout.
+     *
+     * @return {@code true} if the step had overrun its learned timeout since its last wait
+     */
+    static boolean unrelax(String key) {
+        return relaxed.remove(key);
+    }
+
+    /**
+     * Gets the timeout a step's history allows: its percentile plus the margin, capped at the ceiling.
+     *
+     * @param percentileMillis The percentile of the step's durations, or -1 if there is not enough history
+     */
+    static Duration learnedTimeout(long percentileMillis, long marginMillis, Duration ceiling) {
+        if (percentileMillis < 0 || percentileMillis + marginMillis >= ceiling.toMillis()) {
+            return ceiling;
+        }
+        return Duration.ofMillis(percentileMillis + marginMillis);
+    }
+
+    /**
+     * Handles a wait that ran out of time.
+     *
+     * @param used    The timeout the wait ran with
+     * @param ceiling The configured timeout
+     * @return The exception to throw, naming the learned timeout if one applied
+     */
+    public static TimeoutException timedOut(String key, Duration used, Duration ceiling, TimeoutException cause) {
+        if (key == null || used.compareTo(ceiling) >= 0) {
+            return cause;
+        }
+        relaxed.add(key);
+        Assignment assignment = assignments.get(key);
+        if (assignment != null) {
+            assignment.failedFast = true;
+        }
+        log.warn("[{}] overran its learned timeout of {} ms (configured {} s) - failing fast; "
+                + "the next wait for this step uses the configured timeout", key, used.toMillis(), ceiling.getSeconds());
+        return new TimeoutException(String.format("Timed out after learned timeout of %d ms (configured %d s) waiting for %s",
+                used.toMillis(), ceiling.getSeconds(), key), cause);
+    }
+
+    /**
+     * Lists the learned timeouts the current test's steps ran with and starts a new list.
+     *
+     * @return A report line, or {@code null} if no learned timeout applied
+     */
+    public static String summarizeTest() {
+        Map<String, Long> applied = testAssignments.get();
+        testAssignments.remove();
+        if (applied.isEmpty()) {
+            return null;
+        }
+        return "Learned timeouts: " + applied.entrySet().stream()
+                .map(entry -> entry.getKey() + " = " + entry.getValue() + " ms")
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Writes the learned timeouts of the run and reports how many steps failed fast.
+     */
+    public static void shutdown() {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("step,percentileMs,learnedTimeoutMs,configuredTimeoutMs,failedFast");
+        assignments.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> lines.add(String.format("\"%s\",%d,%d,%d,%s", entry.getKey().replace("\"", "\"\""),
+                        entry.getValue().percentileMillis, entry.getValue().timeoutMillis,
+                        entry.getValue().ceilingMillis, entry.getValue().failedFast)));
+        Path csv = Paths.get(FrameworkConstants.REPORT_PATH, "learned-timeouts.csv");
+        try {
+            Files.createDirectories(csv.getParent());
+            Files.write(csv, lines);
+        } catch (IOException e) {
+            log.warn("Unable to write learned timeouts to {}: {}", csv, e.getMessage());
+        }
+        long failedFast = assignments.values().stream().filter(assignment -> assignment.failedFast).count();
+        String summary = String.format("%d steps ran with learned timeouts (p%.0f + %d ms), %d failed fast - see learned-timeouts.csv",
+                assignments.size(), ConfigManager.getLearnedTimeoutPercentile(), ConfigManager.getLearnedTimeoutMarginMs(), failedFast);
+        log.info("Learned timeouts: {}", summary);
+        ExtentManager.addSystemInfo("Learned Timeouts", summary);
+    }
+
+    private static final class Assignment {
+        private final long percentileMillis;
+        private final long timeoutMillis;
+        private final long ceilingMillis;
+        private volatile boolean failedFast;
+
+        private Assignment(long percentileMillis, long timeoutMillis, long ceilingMillis) {
+            this.percentileMillis = percentileMillis;
+            this.timeoutMillis = timeoutMillis;
+            this.ceilingMillis = ceilingMillis;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.qkart.waits;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Unit tests for choosing and failing learned timeouts. No browser needed.
+ */
+public class LearnedTimeoutsTests {
+    private static final Duration CEILING = Duration.ofSeconds(30);
+
+    @Test(description = "A learned timeout is the percentile plus the margin")
+    public void learnedTimeoutAddsMargin() {
+        Assert.assertEquals(LearnedTimeouts.learnedTimeout(1800, 2000, CEILING), Duration.ofMillis(3800));
+    }
+
+    @Test(description = "A learned timeout never exceeds the configured timeout")
+    public void learnedTimeoutIsCappedAtCeiling() {
+        Assert.assertEquals(LearnedTimeouts.learnedTimeout(29_000, 2000, CEILING), CEILING);
+        Assert.assertEquals(LearnedTimeouts.learnedTimeout(28_000, 2000, CEILING), CEILING);
+        Assert.assertEquals(LearnedTimeouts.learnedTimeout(27_999, 2000, CEILING), Duration.ofMillis(29_999));
+    }
+
+    @Test(description = "Without enough history the configured timeout applies")
+    public void noHistoryUsesCeiling() {
+        Assert.assertEquals(LearnedTimeouts.learnedTimeout(-1, 2000, CEILING), CEILING);
+    }
+
+    @Test(description = "A one-off wait without a key always gets the configured timeout")
+    public void unkeyedWaitUsesCeiling() {
+        Assert.assertEquals(LearnedTimeouts.resolve(null, CEILING), CEILING);
+    }
+
+    @Test(description = "Overrunning a learned timeout names it in the failure")
+    public void overrunNamesLearnedTimeout() {
+        TimeoutException cause = new TimeoutException("timed out");
+
+        TimeoutException failure = LearnedTimeouts.timedOut("unit-test|visible", Duration.ofMillis(3800), CEILING, cause);
+
+        Assert.assertTrue(LearnedTimeouts.unrelax("unit-test|visible"), "Next wait should use the configured timeout");
+        Assert.assertNotSame(failure, cause);
+        Assert.assertSame(failure.getCause(), cause);
+        Assert.assertTrue(failure.getMessage().startsWith(
+                "Timed out after learned timeout of 3800 ms (configured 30 s) waiting for unit-test|visible"),
+                failure.getMessage());
+    }
+
+    @Test(description = "Running out of the configured timeout is reported as is")
+    public void ceilingTimeoutIsUnchanged() {
+        TimeoutException cause = new TimeoutException("timed out");
+
+        Assert.assertSame(LearnedTimeouts.timedOut("unit-test|present", CEILING, CEILING, cause), cause);
+        Assert.assertSame(LearnedTimeouts.timedOut(null, Duration.ofMillis(500), CEILING, cause), cause);
+    }
+}
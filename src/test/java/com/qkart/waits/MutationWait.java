@@ -0,0 +1,206 @@
+package com.qkart.waits;
+
+import com.qkart.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Push-based wait engine. Instead of polling with WebDriver round trips, it installs a
+ * MutationObserver in the page and blocks in a single {@code executeAsyncScript} call until the
+ * condition holds or the timeout expires. Long waits are split into slices that fit the
+ * session's script timeout.
+ * Several checks can be awaited together (any-of / all-of) in the same call.
+ * When a locator cannot be evaluated in the page, or the page navigates mid-wait, the rest
+ * of the wait falls back to polling with {@link JsConditions}.
+ */
+public final class MutationWait {
+    private static final Logger log = LogManager.getLogger(MutationWait.class);
+    private static final String SCRIPT = loadScript("/js/wait-engine.js");
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 1_000;
+
+    private MutationWait() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Waits for a check that yields an element.
+     *
+     * @return The matched element
+     * @throws TimeoutException if the check does not hold within the timeout
+     */
+    public static WebElement forElement(WebDriver driver, PageCheck check, Duration timeout) {
+        return (WebElement) until(driver, check, timeout);
+    }
+
+    /**
+     * Waits for a check that yields no element.
+     *
+     * @return {@code true} once the check holds
+     * @throws TimeoutException if the check does not hold within the timeout
+     */
+    public static boolean forCondition(WebDriver driver, PageCheck check, Duration timeout) {
+        return Boolean.TRUE.equals(until(driver, check, timeout));
+    }
+
+    /**
+     * Waits for a single check, returning what it yields.
+     */
+    public static Object until(WebDriver driver, PageCheck check, Duration timeout) {
+        return untilAll(driver, timeout, check).getValue(0);
+    }
+
+    /**
+     * Waits until any of the checks holds.
+     *
+     * @return The match, telling which check held
+     * @throws TimeoutException if none of the checks holds within the timeout
+     */
+    public static ConditionMatch untilAny(WebDriver driver, Duration timeout, PageCheck... checks) {
+        return await(driver, "any", timeout, Collections.emptyMap(), checks);
+    }
+
+    /**
+     * Waits until all checks hold at the same time.
+     *
+     * @throws TimeoutException if the checks do not hold within the timeout
+     */
+    public static ConditionMatch untilAll(WebDriver driver, Duration timeout, PageCheck... checks) {
+        return await(driver, "all", timeout, Collections.emptyMap(), checks);
+    }
+
+    /**
+     * Waits until all checks hold and keep holding for the given window.
+     *
+     * @throws TimeoutException if the checks do not hold steadily within the timeout
+     */
+    public static ConditionMatch untilStable(WebDriver driver, Duration timeout, Duration stableFor, PageCheck... checks) {
+        return await(driver, "all", timeout, Map.of("stableMs", stableFor.toMillis()), checks);
+    }
+
+    /**
+     * Waits until any of the checks holds, or until the page has not changed for the given window
+     * without any of them holding.
+     *
+     * @return The match, or an unmatched outcome ({@link ConditionMatch#isMatched()}) if the page settled first
+     * @throws TimeoutException if the page keeps changing without a match for the whole timeout
+     */
+    public static ConditionMatch untilSettled(WebDriver driver, Duration timeout, Duration settleFor, PageCheck... checks) {
+        return await(driver, "any", timeout, Map.of("settleMs", settleFor.toMillis()), checks);
+    }
+
+    private static ConditionMatch await(WebDriver driver, String mode, Duration timeout, Map<String, Long> options,
+                                        PageCheck... checks) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        List<Map<String, Object>> arguments = JsConditions.toScriptArguments(checks);
+        String description = mode + " of " + Arrays.toString(checks);
+        if (arguments != null && driver instanceof JavascriptExecutor) {
+            Map<String, Object> result = awaitInPage(driver, arguments, mode, options, deadline, description);
+            if (result != null) {
+                return ConditionMatch.fromScriptResult(result);
+            }
+        } else {
+            log.debug("Polling for {} - locator cannot be evaluated in the page", description);
+        }
+        ExpectedCondition<ConditionMatch> condition = JsConditions.composite(mode, checks);
+        if (options.containsKey("stableMs")) {
+            condition = JsConditions.stable(condition, Duration.ofMillis(options.get("stableMs")));
+        }
+        if (options.containsKey("settleMs")) {
+            condition = JsConditions.settled(condition, Duration.ofMillis(options.get("settleMs")));
+        }
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        // The caller already learns this wait's duration, so the fallback polls without a history key
+        return SmartWait.poll(driver, null, condition, Duration.ofMillis(remaining));
+    }
+
+    /**
+     * Evaluates the checks once in the page, i.e. a single poll in one round trip.
+     *
+     * @return The engine's result if the checks hold, otherwise {@code null}
+     */
+    static Map<String, Object> evaluateOnce(WebDriver driver, List<Map<String, Object>> checks, String mode) {
+        Object raw;
+        try {
+            raw = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, checks, mode, 0, Collections.emptyMap());
+        } catch (JavascriptException e) {
+            // The document unloaded during the call; the next poll runs in the new page
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) raw;
+        return "ok".equals(result.get("status")) ? result : null;
+    }
+
+    /**
+     * Runs the in-page engine until the checks hold or the deadline passes.
+     *
+     * @return The engine's result ("ok" or "settled"), or {@code null} if the page navigated and the caller should poll
+     * @throws TimeoutException if the deadline passes
+     */
+    static Map<String, Object> awaitInPage(WebDriver driver, List<Map<String, Object>> checks, String mode,
+                                           Map<String, Long> options, long deadline, Object description) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long maxSliceMillis = Math.max(SCRIPT_TIMEOUT_MARGIN_MILLIS,
+                driver.manage().timeouts().getScriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("Timed out waiting for " + description);
+            }
+            Object raw;
+            try {
+                raw = js.executeAsyncScript(SCRIPT, checks, mode, Math.min(remaining, maxSliceMillis), options);
+            } catch (ScriptTimeoutException e) {
+                continue;
+            } catch (JavascriptException e) {
+                // Typically "document unloaded while waiting for result"
+                log.debug("Page navigated while waiting for {} - falling back to polling", description);
+                return null;
+            } catch (NoSuchWindowException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                log.debug("In-page wait for {} failed ({}) - falling back to polling", description, e.getMessage());
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = (Map<String, Object>) raw;
+            String status = (String) result.get("status");
+            if ("ok".equals(status) || "settled".equals(status)) {
+                return result;
+            }
+            if ("navigated".equals(status)) {
+                log.debug("Page navigated while waiting for {} - falling back to polling", description);
+                return null;
+            }
+        }
+    }
+
+    private static String loadScript(String resource) {
+        try (InputStream in = MutationWait.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new FrameworkException("Wait engine script not found on classpath: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new FrameworkException("Unable to load wait engine script: " + resource, e);
+        }
+    }
+}
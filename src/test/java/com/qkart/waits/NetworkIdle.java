@@ -0,0 +1,315 @@
+package com.qkart.waits;
+
+import com.qkart.config.ConfigManager;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Waits for the application's XHR/fetch traffic to go quiet, as seen through CDP network events
+ * on Chromium sessions. A wait resolves once no tracked request has been pending for
+ * networkIdleQuietMs; requests whose URL contains one of networkIdleIgnore (analytics, beacons)
+ * are not tracked. Each wait reports the requests that completed since the previous one, so
+ * page objects get per-action request counts and timings.
+ * Browsers without CDP fall back to waiting until the page's resource timing entries stop growing.
+ * With networkIdle off, waits return at once.
+ */
+public final class NetworkIdle {
+    private static final Logger log = LogManager.getLogger(NetworkIdle.class);
+    private static final Set<String> TRACKED_TYPES = Set.of("XHR", "Fetch");
+    private static final long FALLBACK_POLL_MILLIS = 100;
+    // The resource timing buffer holds 250 entries by default and stops growing once full
+    private static final int RESOURCE_TIMING_BUFFER_SIZE = 10_000;
+    private static final String RESOURCE_COUNT_SCRIPT = "performance.setResourceTimingBufferSize("
+            + RESOURCE_TIMING_BUFFER_SIZE + "); return performance.getEntriesByType('resource').length";
+    private static final Map<WebDriver, Tracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<List<ActionStats>> testActions = ThreadLocal.withInitial(ArrayList::new);
+    private static final AtomicLong totalWaits = new AtomicLong();
+    private static final AtomicLong totalRequests = new AtomicLong();
+    private static final AtomicLong totalWaitMillis = new AtomicLong();
+
+    private NetworkIdle() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Starts tracking the session's requests. Called before each test, so requests fired by the
+     * first action are seen even if the wait for them starts later; reused sessions are reset.
+     */
+    public static void attach(WebDriver driver) {
+        testActions.remove();
+        if (!ConfigManager.isNetworkIdleEnabled() || !CdpUtils.isDevToolsSupported(driver)) {
+            return;
+        }
+        try {
+            trackers.computeIfAbsent(driver, NetworkIdle::listen).reset();
+        } catch (Exception e) {
+            log.warn("Unable to track network activity: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until no tracked request has been in flight for the quiet window. Returns at once,
+     * with no requests, when networkIdle is off.
+     *
+     * @param action Names the user action that triggered the traffic, for the report
+     * @return The requests that completed since the previous wait
+     * @throws TimeoutException if the network does not go quiet within the timeout
+     */
+    public static ActionStats await(WebDriver driver, String action, Duration timeout) {
+        if (!ConfigManager.isNetworkIdleEnabled()) {
+            return new ActionStats(action, 0, 0, 0, null, 0);
+        }
+        long quietMillis = ConfigManager.getNetworkIdleQuietMs();
+        long start = System.currentTimeMillis();
+        Tracker tracker = trackers.get(driver);
+        ActionStats stats = tracker != null
+                ? tracker.awaitQuiet(action, quietMillis, start + timeout.toMillis())
+                : awaitResourceTimingQuiet(driver, action, quietMillis, start + timeout.toMillis());
+        totalWaits.incrementAndGet();
+        totalRequests.addAndGet(stats.requests);
+        totalWaitMillis.addAndGet(stats.waitMillis);
+        testActions.get().add(stats);
+        log.debug("Network idle after {}", stats);
+        return stats;
+    }
+
+    /**
+     * Summarizes the network-idle waits of the current test.
+     *
+     * @return A report line, or {@code null} if the test did not wait for the network
+     */
+    public static String summarizeTest() {
+        List<ActionStats> actions = testActions.get();
+        testActions.remove();
+        if (actions.isEmpty()) {
+            return null;
+        }
+        return "Network idle: " + actions.stream().map(ActionStats::toString).collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Adds suite-wide network-idle totals to the report.
+     */
+    public static void reportTotals() {
+        long waits = totalWaits.get();
+        if (waits == 0) {
+            return;
+        }
+        String summary = String.format("%d waits, %d requests, %d ms waited on average",
+                waits, totalRequests.get(), totalWaitMillis.get() / waits);
+        log.info("Network idle totals - {}", summary);
+        ExtentManager.addSystemInfo("Network Idle", summary);
+    }
+
+    private static Tracker listen(WebDriver driver) {
+        Tracker tracker = new Tracker(ConfigManager.getNetworkIdleIgnore());
+        CdpUtils.addListener(driver, "Network.requestWillBeSent", event -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            tracker.started((String) event.get("requestId"), (String) event.get("type"), (String) request.get("url"));
+        });
+        CdpUtils.addListener(driver, "Network.loadingFinished",
+                event -> tracker.finished((String) event.get("requestId"), false));
+        CdpUtils.addListener(driver, "Network.loadingFailed",
+                event -> tracker.finished((String) event.get("requestId"), true));
+        CdpUtils.send(driver, "Network.enable", Map.of());
+        return tracker;
+    }
+
+    /**
+     * Fallback without CDP: the number of completed resources must stay unchanged for the quiet
+     * window. In-flight requests are invisible to it, so it is only an approximation. Each poll
+     * raises the page's resource timing buffer, which otherwise stops counting at 250 entries
+     * and would make a busy page look idle.
+     */
+    private static ActionStats awaitResourceTimingQuiet(WebDriver driver, String action, long quietMillis, long deadline) {
+        long start = System.currentTimeMillis();
+        long lastCount = -1;
+        long lastChange = start;
+        long firstCount = -1;
+        while (true) {
+            long now = System.currentTimeMillis();
+            long count;
+            try {
+                count = ((Number) ((JavascriptExecutor) driver)
+                        .executeScript(RESOURCE_COUNT_SCRIPT)).longValue();
+            } catch (WebDriverException e) {
+                count = lastCount; // Navigating - treat as no change
+            }
+            if (firstCount < 0) {
+                firstCount = count;
+            }
+            if (count != lastCount) {
+                lastCount = count;
+                lastChange = now;
+            } else if (now - lastChange >= quietMillis) {
+                return new ActionStats(action, Math.max(0, count - firstCount), 0, 0, null, now - start);
+            }
+            if (now >= deadline) {
+                throw new TimeoutException("Network did not go quiet after " + action);
+            }
+            try {
+                Sleeper.SYSTEM_SLEEPER.sleep(Duration.ofMillis(FALLBACK_POLL_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for network idle", e);
+            }
+        }
+    }
+
+    /**
+     * In-flight and completed requests of one session, updated from the DevTools event thread.
+     */
+    private static final class Tracker {
+        private final List<String> ignored;
+        private final Map<String, Request> pending = new HashMap<>();
+        private final List<Request> completed = new ArrayList<>();
+        private long lastActivityMillis = System.currentTimeMillis();
+
+        private Tracker(List<String> ignored) {
+            this.ignored = ignored;
+        }
+
+        private synchronized void reset() {
+            pending.clear();
+            completed.clear();
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        private synchronized void started(String requestId, String type, String url) {
+            if (url == null || !TRACKED_TYPES.contains(type) || ignored.stream().anyMatch(url::contains)) {
+                return;
+            }
+            pending.put(requestId, new Request(url, System.currentTimeMillis()));
+            lastActivityMillis = System.currentTimeMillis();
+            notifyAll();
+        }
+
+        private synchronized void finished(String requestId, boolean failed) {
+            Request request = pending.remove(requestId);
+            if (request == null) {
+                return;
+            }
+            request.finish(failed);
+            completed.add(request);
+            lastActivityMillis = System.currentTimeMillis();
+            notifyAll();
+        }
+
+        private synchronized ActionStats awaitQuiet(String action, long quietMillis, long deadline) {
+            long start = System.currentTimeMillis();
+            // The action may not have reached the network yet, so the quiet window starts now at the earliest
+            long quietSince = Math.max(lastActivityMillis, start);
+            while (true) {
+                long now = System.currentTimeMillis();
+                if (pending.isEmpty() && now - Math.max(lastActivityMillis, quietSince) >= quietMillis) {
+                    return drain(action, now - start);
+                }
+                if (now >= deadline) {
+                    throw new TimeoutException(String.format("Network did not go quiet after %s - %d requests pending: %s",
+                            action, pending.size(), pending.values().stream().map(request -> request.url)
+                                    .limit(5).collect(Collectors.joining(", "))));
+                }
+                long wake = pending.isEmpty() ? Math.max(lastActivityMillis, quietSince) + quietMillis : deadline;
+                try {
+                    wait(Math.max(1, Math.min(wake, deadline) - now));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WebDriverException("Interrupted while waiting for network idle", e);
+                }
+            }
+        }
+
+        private ActionStats drain(String action, long waitMillis) {
+            Request slowest = completed.stream().max((a, b) -> Long.compare(a.durationMillis, b.durationMillis)).orElse(null);
+            long failed = completed.stream().filter(request -> request.failed).count();
+            ActionStats stats = new ActionStats(action, completed.size(), failed,
+                    slowest != null ? slowest.durationMillis : 0, slowest != null ? slowest.url : null, waitMillis);
+            completed.clear();
+            return stats;
+        }
+    }
+
+    private static final class Request {
+        private final String url;
+        private final long startMillis;
+        private long durationMillis;
+        private boolean failed;
+
+        private Request(String url, long startMillis) {
+            this.url = url;
+            this.startMillis = startMillis;
+        }
+
+        private void finish(boolean failed) {
+            this.durationMillis = System.currentTimeMillis() - startMillis;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * The XHR/fetch traffic of one action: the requests that completed since the previous wait.
+     */
+    public static final class ActionStats {
+        private final String action;
+        private final long requests;
+        private final long failedRequests;
+        private final long slowestMillis;
+        private final String slowestUrl;
+        private final long waitMillis;
+
+        private ActionStats(String action, long requests, long failedRequests, long slowestMillis,
+                            String slowestUrl, long waitMillis) {
+            this.action = action;
+            this.requests = requests;
+            this.failedRequests = failedRequests;
+            this.slowestMillis = slowestMillis;
+            this.slowestUrl = slowestUrl;
+            this.waitMillis = waitMillis;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getFailedRequests() {
+            return failedRequests;
+        }
+
+        public long getSlowestMillis() {
+            return slowestMillis;
+        }
+
+        public long getWaitMillis() {
+            return waitMillis;
+        }
+
+        @Override
+        public String toString() {
+            String line = String.format("%s: %d requests (%d failed) in %d ms", action, requests, failedRequests, waitMillis);
+            return slowestUrl != null ? line + String.format(", slowest %d ms %s", slowestMillis, slowestUrl) : line;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.qkart.waits;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A condition on the first element matched by a locator that can be evaluated inside the page
+ * by the push-based wait engine, with an equivalent {@link ExpectedCondition} for polling.
+ */
+public final class PageCheck {
+    private static final Pattern BY_DESCRIPTION = Pattern.compile("^By\\.(\\w+): (.*)$", Pattern.DOTALL);
+
+    /**
+     * The kinds of condition the in-page engine understands.
+     */
+    enum Kind {
+        PRESENCE("presence"),
+        VISIBLE("visible"),
+        CLICKABLE("clickable"),
+        INVISIBLE("invisible"),
+        ABSENT("absent"),
+        TEXT("text"),
+        ATTRIBUTE("attribute");
+
+        private final String scriptName;
+
+        Kind(String scriptName) {
+            this.scriptName = scriptName;
+        }
+    }
+
+    private final By locator;
+    private final Kind kind;
+    private final String expected;
+    private final String attribute;
+
+    private PageCheck(By locator, Kind kind, String expected, String attribute) {
+        this.locator = locator;
+        this.kind = kind;
+        this.expected = expected;
+        this.attribute = attribute;
+    }
+
+    public static PageCheck presenceOf(By locator) {
+        return new PageCheck(locator, Kind.PRESENCE, null, null);
+    }
+
+    /**
+     * Holds when the element is displayed the way Selenium's isDisplayed judges it: neither it nor an
+     * ancestor is hidden or fully transparent, it has a size, and no overflow-clipping ancestor cuts it off.
+     */
+    public static PageCheck visibilityOf(By locator) {
+        return new PageCheck(locator, Kind.VISIBLE, null, null);
+    }
+
+    /**
+     * Holds when the element is visible (see {@link #visibilityOf}) and enabled.
+     */
+    public static PageCheck clickabilityOf(By locator) {
+        return new PageCheck(locator, Kind.CLICKABLE, null, null);
+    }
+
+    public static PageCheck invisibilityOf(By locator) {
+        return new PageCheck(locator, Kind.INVISIBLE, null, null);
+    }
+
+    /**
+     * Holds when no element matches the locator (unlike invisibility, hidden elements do not count as absent).
+     */
+    public static PageCheck absenceOf(By locator) {
+        return new PageCheck(locator, Kind.ABSENT, null, null);
+    }
+
+    public static PageCheck textIn(By locator, String text) {
+        return new PageCheck(locator, Kind.TEXT, text, null);
+    }
+
+    public static PageCheck attributeIs(By locator, String attribute, String value) {
+        return new PageCheck(locator, Kind.ATTRIBUTE, value, attribute);
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    /**
+     * Whether the check yields the matched element (rather than {@code true}) when it holds.
+     */
+    public boolean yieldsElement() {
+        return kind == Kind.PRESENCE || kind == Kind.VISIBLE || kind == Kind.CLICKABLE;
+    }
+
+    /**
+     * Converts the check into the argument of the in-page engine.
+     *
+     * @return The script argument, or {@code null} when the locator type cannot be evaluated in the page
+     */
+    Map<String, Object> toScriptArgument() {
+        Matcher description = BY_DESCRIPTION.matcher(locator.toString());
+        if (!description.matches()) {
+            return null;
+        }
+        String value = description.group(2);
+        String strategy;
+        switch (description.group(1)) {
+            case "id":
+                strategy = "id";
+                break;
+            case "name":
+                strategy = "name";
+                break;
+            case "cssSelector":
+                strategy = "css";
+                break;
+            case "className":
+                strategy = "css";
+                value = "." + value;
+                break;
+            case "tagName":
+                strategy = "css";
+                break;
+            case "xpath":
+                strategy = "xpath";
+                break;
+            case "linkText":
+                strategy = "linkText";
+                break;
+            case "partialLinkText":
+                strategy = "partialLinkText";
+                break;
+            default:
+                return null;
+        }
+        Map<String, Object> argument = new HashMap<>();
+        argument.put("strategy", strategy);
+        argument.put("value", value);
+        argument.put("condition", kind.scriptName);
+        argument.put("expected", expected);
+        argument.put("attribute", attribute);
+        return argument;
+    }
+
+    /**
+     * Gets the polling equivalent of this check, used when the page cannot host the engine.
+     */
+    ExpectedCondition<?> toExpectedCondition() {
+        switch (kind) {
+            case PRESENCE:
+                return ExpectedConditions.presenceOfElementLocated(locator);
+            case VISIBLE:
+                return ExpectedConditions.visibilityOfElementLocated(locator);
+            case CLICKABLE:
+                return ExpectedConditions.elementToBeClickable(locator);
+            case INVISIBLE:
+                return ExpectedConditions.invisibilityOfElementLocated(locator);
+            case ABSENT:
+                return (ExpectedCondition<Boolean>) driver -> driver.findElements(locator).isEmpty();
+            case TEXT:
+                return ExpectedConditions.textToBePresentInElementLocated(locator, expected);
+            case ATTRIBUTE:
+            default:
+                return ExpectedConditions.attributeToBe(locator, attribute, expected);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TEXT:
+                return "text '" + expected + "' in " + locator;
+            case ATTRIBUTE:
+                return attribute + "='" + expected + "' on " + locator;
+            case ABSENT:
+                return "absence of " + locator;
+            default:
+                return kind.scriptName + " of " + locator;
+        }
+    }
+}
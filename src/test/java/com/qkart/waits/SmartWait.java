@@ -0,0 +1,143 @@
+package com.qkart.waits;
+
+import com.qkart.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Polls a condition on an adaptive schedule instead of WebDriverWait's fixed interval.
+ * The first poll is immediate, then the interval starts tight and doubles up to
+ * pollMaxIntervalMs, so fast conditions resolve quickly and slow ones cost few round trips.
+ * When {@link WaitHistory} knows how long the wait usually takes, the schedule skips ahead to
+ * shortly before that point and polls tightly from there.
+ * Like WebDriverWait, NotFoundException and StaleElementReferenceException count as "not yet".
+ */
+public final class SmartWait {
+    private static final Logger log = LogManager.getLogger(SmartWait.class);
+    private static final double LEAD_FRACTION = 0.75;
+
+    private SmartWait() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Waits until the condition returns a value other than {@code null} or {@code false}.
+     *
+     * @param key       Identifies the wait (locator + condition) for the history, or {@code null} not to learn
+     * @param condition The condition to poll
+     * @param timeout   How long to wait
+     * @return The condition's value
+     * @throws TimeoutException if the condition is not satisfied within the timeout
+     */
+    public static <T> T until(WebDriver driver, String key, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+        long expected = WaitHistory.expectedMillis(key);
+        Schedule schedule = new Schedule(expected, ConfigManager.getPollMinIntervalMs(), ConfigManager.getPollMaxIntervalMs());
+        int polls = 0;
+        WebDriverException lastError = null;
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    long elapsed = System.currentTimeMillis() - start;
+                    WaitHistory.record(key, elapsed, polls, true);
+                    log.debug("Wait for {} satisfied in {} ms after {} poll(s) (expected {} ms)",
+                            describe(key, condition), elapsed, polls, expected);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                WaitHistory.record(key, now - start, polls, false);
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d ms with %d adaptive polls)",
+                        describe(key, condition), timeout.toMillis(), polls), lastError);
+            }
+            long delay = Math.min(schedule.next(now - start), deadline - now);
+            try {
+                Sleeper.SYSTEM_SLEEPER.sleep(Duration.ofMillis(delay));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for " + describe(key, condition), e);
+            }
+        }
+    }
+
+    /**
+     * Polls a condition on the adaptive schedule, or at WebDriverWait's fixed interval when
+     * adaptivePolling=false. Either way a satisfied wait teaches the history.
+     *
+     * @param key Identifies the wait for the history, or {@code null} not to learn
+     */
+    public static <T> T poll(WebDriver driver, String key, Function<? super WebDriver, T> condition, Duration timeout) {
+        if (ConfigManager.isAdaptivePolling()) {
+            return until(driver, key, condition, timeout);
+        }
+        long start = System.currentTimeMillis();
+        T value = new WebDriverWait(driver, timeout).until(condition);
+        WaitHistory.recordDuration(key, System.currentTimeMillis() - start);
+        return value;
+    }
+
+    /**
+     * Waits without learning from or seeding with the history.
+     */
+    public static <T> T until(WebDriver driver, Function<? super WebDriver, T> condition, Duration timeout) {
+        return until(driver, null, condition, timeout);
+    }
+
+    private static String describe(String key, Object condition) {
+        return key != null ? key : String.valueOf(condition);
+    }
+
+    /**
+     * Exponential backoff, optionally preceded by a single jump to just before the expected time.
+     */
+    static final class Schedule {
+        private final long expectedMillis;
+        private final long minInterval;
+        private final long maxInterval;
+        private long interval;
+        private boolean skippedAhead;
+
+        Schedule(long expectedMillis, long minInterval, long maxInterval) {
+            this.expectedMillis = expectedMillis;
+            this.minInterval = minInterval;
+            this.maxInterval = maxInterval;
+            this.interval = minInterval;
+        }
+
+        /**
+         * Gets the delay before the next poll.
+         *
+         * @param elapsedMillis Time spent waiting so far
+         */
+        long next(long elapsedMillis) {
+            if (!skippedAhead && expectedMillis > 0) {
+                skippedAhead = true;
+                long lead = Math.round(expectedMillis * LEAD_FRACTION) - elapsedMillis;
+                if (lead > minInterval) {
+                    interval = minInterval;
+                    return lead;
+                }
+            }
+            long delay = interval;
+            interval = Math.min(maxInterval, interval * 2);
+            return delay;
+        }
+    }
+}
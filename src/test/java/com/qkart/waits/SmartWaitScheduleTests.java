@@ -0,0 +1,58 @@
+package com.qkart.waits;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the adaptive polling schedule of {@link SmartWait}. No browser needed.
+ */
+public class SmartWaitScheduleTests {
+    private static final long MIN = 50;
+    private static final long MAX = 1000;
+
+    @Test(description = "Without history the schedule backs off exponentially up to the maximum interval")
+    public void backsOffWithoutHistory() {
+        SmartWait.Schedule schedule = new SmartWait.Schedule(-1, MIN, MAX);
+
+        long[] delays = new long[7];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = schedule.next(0);
+        }
+
+        Assert.assertEquals(delays, new long[]{50, 100, 200, 400, 800, 1000, 1000});
+    }
+
+    @Test(description = "With history the first poll waits until three quarters of the expected time")
+    public void skipsAheadToExpectedTime() {
+        SmartWait.Schedule schedule = new SmartWait.Schedule(2000, MIN, MAX);
+
+        Assert.assertEquals(schedule.next(0), 1500);
+        Assert.assertEquals(schedule.next(1500), MIN, "Backoff should restart at the minimum after the jump");
+        Assert.assertEquals(schedule.next(1550), 2 * MIN);
+    }
+
+    @Test(description = "The jump ahead counts the time already spent waiting")
+    public void skipAheadAccountsForElapsedTime() {
+        SmartWait.Schedule schedule = new SmartWait.Schedule(2000, MIN, MAX);
+
+        Assert.assertEquals(schedule.next(400), 1100);
+    }
+
+    @Test(description = "No jump when the expected time is already (nearly) reached")
+    public void noSkipWhenLeadIsShort() {
+        SmartWait.Schedule schedule = new SmartWait.Schedule(2000, MIN, MAX);
+
+        Assert.assertEquals(schedule.next(1480), MIN);
+        Assert.assertEquals(schedule.next(1530), 2 * MIN);
+    }
+
+    @Test(description = "The schedule jumps ahead at most once")
+    public void skipsAheadOnlyOnce() {
+        SmartWait.Schedule schedule = new SmartWait.Schedule(10_000, MIN, MAX);
+
+        Assert.assertEquals(schedule.next(0), 7500);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(schedule.next(7500) <= MAX, "Later polls should stay within the backoff");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.qkart.waits;
+
+import com.qkart.annotations.TimeBudget;
+import com.qkart.config.ConfigManager;
+import com.qkart.exceptions.BudgetExhaustedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The wall-clock budget of the test running on the current thread. The budget comes from
+ * {@link TimeBudget} on the test method or class, or testBudgetSeconds; every wait in
+ * WaitUtils is capped at what is left of it and charges the time it took to the step it
+ * waited for. Once the budget is gone the next wait fails with {@link BudgetExhaustedException}
+ * instead of running its own timeout, and RetryAnalyzer does not retry the test.
+ */
+public final class TestBudget {
+    private static final Logger log = LogManager.getLogger(TestBudget.class);
+    private static final int REPORTED_STEPS = 10;
+    private static final ThreadLocal<TestBudget> current = new ThreadLocal<>();
+    private static final ThreadLocal<String> exhaustedAt = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long startMillis;
+    private final Map<String, long[]> steps = new LinkedHashMap<>();
+
+    private TestBudget(long budgetMillis, long startMillis) {
+        this.budgetMillis = budgetMillis;
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Starts the budget of a test, or clears it if the test has none.
+     */
+    public static void start(Method testMethod) {
+        int seconds = budgetSeconds(testMethod);
+        if (seconds > 0) {
+            start(seconds * 1000L, System.currentTimeMillis());
+            log.debug("Time budget for {}: {} s", testMethod != null ? testMethod.getName() : "test", seconds);
+        } else {
+            exhaustedAt.remove();
+            current.remove();
+        }
+    }
+
+    /**
+     * Starts a budget on this thread that began at the given time.
+     *
+     * @param startMillis When the budget began, in epoch milliseconds
+     */
+    static void start(long budgetMillis, long startMillis) {
+        exhaustedAt.remove();
+        current.set(new TestBudget(budgetMillis, startMillis));
+    }
+
+    /**
+     * Caps a wait's timeout at the remaining budget.
+     *
+     * @param step Names the step for the report and the failure
+     * @return The smaller of the timeout and the remaining budget
+     * @throws BudgetExhaustedException if nothing is left of the budget
+     */
+    public static Duration cap(String step, Duration timeout) {
+        TestBudget budget = current.get();
+        if (budget == null) {
+            return timeout;
+        }
+        long remaining = budget.remainingMillis();
+        if (remaining <= 0) {
+            throw exhausted(step, null);
+        }
+        return timeout.toMillis() > remaining ? Duration.ofMillis(remaining) : timeout;
+    }
+
+    /**
+     * Checks whether a wait that ran out of time was cut short by the budget rather than its own timeout.
+     */
+    public static boolean limited(Duration granted, Duration timeout) {
+        return current.get() != null && granted.compareTo(timeout) < 0;
+    }
+
+    /**
+     * Builds the failure for a step that hit the end of the budget, and remembers it for the retry decision.
+     */
+    public static BudgetExhaustedException exhausted(String step, Throwable cause) {
+        TestBudget budget = current.get();
+        exhaustedAt.set(step);
+        long seconds = budget != null ? budget.budgetMillis / 1000 : 0;
+        log.error("Time budget of {} s exhausted at step: {}", seconds, step);
+        return new BudgetExhaustedException(step, seconds, cause);
+    }
+
+    /**
+     * Charges the time a step took to the budget's report.
+     */
+    public static void charge(String step, long elapsedMillis) {
+        TestBudget budget = current.get();
+        if (budget != null) {
+            long[] usage = budget.steps.computeIfAbsent(step, k -> new long[2]);
+            usage[0]++;
+            usage[1] += elapsedMillis;
+        }
+    }
+
+    /**
+     * Whether the test that last ran on this thread ran out of budget.
+     */
+    public static boolean wasExhausted() {
+        return exhaustedAt.get() != null;
+    }
+
+    /**
+     * Gets the step at which the last test on this thread ran out of budget, if it did.
+     */
+    public static String getExhaustedStep() {
+        return exhaustedAt.get();
+    }
+
+    /**
+     * Ends the current test's budget.
+     *
+     * @return A report line with the consumption per step, or {@code null} if the test had no budget
+     */
+    public static String finish() {
+        TestBudget budget = current.get();
+        current.remove();
+        if (budget == null) {
+            return null;
+        }
+        long used = System.currentTimeMillis() - budget.startMillis;
+        String steps = budget.steps.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                .limit(REPORTED_STEPS)
+                .map(entry -> String.format("%s %d ms (%.0f%%, %dx)", entry.getKey(), entry.getValue()[1],
+                        100.0 * entry.getValue()[1] / budget.budgetMillis, entry.getValue()[0]))
+                .collect(Collectors.joining("; "));
+        return String.format("Time budget: %d of %d ms used (%.0f%%)%s%s", used, budget.budgetMillis,
+                100.0 * used / budget.budgetMillis, wasExhausted() ? " - EXHAUSTED" : "",
+                steps.isEmpty() ? "" : " | Waits: " + steps);
+    }
+
+    private long remainingMillis() {
+        return budgetMillis - (System.currentTimeMillis() - startMillis);
+    }
+
+    private static int budgetSeconds(Method testMethod) {
+        if (testMethod != null) {
+            TimeBudget annotation = testMethod.getAnnotation(TimeBudget.class);
+            if (annotation == null) {
+                annotation = testMethod.getDeclaringClass().getAnnotation(TimeBudget.class);
+            }
+            if (annotation != null) {
+                return annotation.seconds();
+            }
+        }
+        return ConfigManager.getTestBudgetSeconds();
+    }
+}
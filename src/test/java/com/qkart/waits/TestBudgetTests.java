@@ -0,0 +1,101 @@
+package com.qkart.waits;
+
+import com.qkart.annotations.TimeBudget;
+import com.qkart.exceptions.BudgetExhaustedException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+/**
+ * Unit tests for capping waits at the remaining test budget. No browser needed.
+ */
+public class TestBudgetTests {
+
+    @AfterMethod(alwaysRun = true)
+    public void endBudget() {
+        TestBudget.finish();
+    }
+
+    @Test(description = "A wait shorter than the remaining budget keeps its timeout")
+    public void shortWaitKeepsTimeout() throws NoSuchMethodException {
+        TestBudget.start(budgeted("oneMinute"));
+
+        Duration timeout = Duration.ofSeconds(10);
+        Assert.assertSame(TestBudget.cap("search", timeout), timeout);
+        Assert.assertFalse(TestBudget.limited(timeout, timeout));
+    }
+
+    @Test(description = "A wait longer than the remaining budget is cut to what is left")
+    public void longWaitIsCutToRemainingBudget() throws NoSuchMethodException {
+        TestBudget.start(budgeted("oneMinute"));
+
+        Duration timeout = Duration.ofMinutes(5);
+        Duration granted = TestBudget.cap("search", timeout);
+
+        Assert.assertTrue(granted.compareTo(Duration.ofMinutes(1)) <= 0, "Granted " + granted);
+        Assert.assertTrue(granted.compareTo(Duration.ofSeconds(50)) > 0, "Granted " + granted);
+        Assert.assertTrue(TestBudget.limited(granted, timeout));
+    }
+
+    @Test(description = "A class-level budget applies to methods without their own")
+    public void classBudgetApplies() throws NoSuchMethodException {
+        TestBudget.start(Budgeted.class.getDeclaredMethod("inherited"));
+
+        Duration granted = TestBudget.cap("search", Duration.ofMinutes(5));
+
+        Assert.assertTrue(granted.compareTo(Duration.ofSeconds(30)) <= 0, "Granted " + granted);
+    }
+
+    @Test(description = "Once the budget is gone the next wait fails instead of running its timeout")
+    public void exhaustedBudgetFailsNextWait() {
+        TestBudget.start(1000, System.currentTimeMillis() - 1000);
+
+        BudgetExhaustedException failure = Assert.expectThrows(BudgetExhaustedException.class,
+                () -> TestBudget.cap("checkout", Duration.ofSeconds(10)));
+
+        Assert.assertTrue(failure.getMessage().contains("exhausted at step: checkout"), failure.getMessage());
+        Assert.assertTrue(TestBudget.wasExhausted());
+        Assert.assertEquals(TestBudget.getExhaustedStep(), "checkout");
+        Assert.assertTrue(TestBudget.finish().contains("EXHAUSTED"));
+    }
+
+    @Test(description = "Without a budget waits keep their timeouts and nothing is reported")
+    public void noBudgetLeavesTimeoutsAlone() throws NoSuchMethodException {
+        TestBudget.start(TestBudgetTests.class.getDeclaredMethod("noBudgetLeavesTimeoutsAlone"));
+
+        Duration timeout = Duration.ofMinutes(5);
+        Assert.assertSame(TestBudget.cap("search", timeout), timeout);
+        Assert.assertFalse(TestBudget.limited(Duration.ofSeconds(1), timeout));
+        Assert.assertNull(TestBudget.finish());
+    }
+
+    @Test(description = "The report lists the steps that used the most time first")
+    public void reportOrdersStepsByTimeCharged() throws NoSuchMethodException {
+        TestBudget.start(budgeted("oneMinute"));
+        TestBudget.charge("login", 600);
+        TestBudget.charge("search", 3000);
+        TestBudget.charge("login", 600);
+
+        String report = TestBudget.finish();
+
+        Assert.assertTrue(report.contains("| Waits: search 3000 ms (5%, 1x); login 1200 ms (2%, 2x)"), report);
+        Assert.assertFalse(TestBudget.wasExhausted());
+    }
+
+    private static Method budgeted(String name) throws NoSuchMethodException {
+        return Budgeted.class.getDeclaredMethod(name);
+    }
+
+    @TimeBudget(seconds = 30)
+    private static final class Budgeted {
+        @TimeBudget(seconds = 60)
+        void oneMinute() {
+        }
+
+        void inherited() {
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.qkart.waits;
+
+import com.qkart.annotations.VirtualTime;
+import com.qkart.config.ConfigManager;
+import com.qkart.reports.ExtentManager;
+import com.qkart.utils.CdpUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Drives page timers on CDP virtual time ({@code Emulation.setVirtualTimePolicy}) for tests
+ * annotated with {@link VirtualTime} or when virtualTime=true. While a wait runs, the page clock
+ * only moves when the wait advances it: every poll that finds its condition unmet grants the
+ * page virtualTimeStepMs of virtual time, which runs due setTimeout/setInterval callbacks
+ * (search debounce, snackbar and modal timers) without waiting for them in real time. Network
+ * fetches in flight hold the clock back, so responses are never outrun.
+ *
+ * Between waits the page clock stays paused: timers do not fire during clicks and typing, only
+ * when the next wait or an explicit {@code WaitUtils.fastForward} grants time. Short-lived UI
+ * (a snackbar that auto-hides, a modal that closes itself) therefore stays on screen until a
+ * wait has granted its full timer, so checking it right after the action that raised it is
+ * safe. Virtual time cannot be switched off again in a running page, so a session that used
+ * it is tainted and must not be handed to another test.
+ */
+public final class VirtualClock {
+    private static final Logger log = LogManager.getLogger(VirtualClock.class);
+    private static final String BUDGET_EXPIRED = "Emulation.virtualTimeBudgetExpired";
+
+    private static final ThreadLocal<WebDriver> active = new ThreadLocal<>();
+    private static final Map<WebDriver, Clock> clocks = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong totalAdvancedMillis = new AtomicLong();
+    private static final AtomicLong totalSteps = new AtomicLong();
+
+    private VirtualClock() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Turns virtual-time waits on for the test about to run, if it asks for them and the
+     * session supports CDP.
+     */
+    public static void start(WebDriver driver, Method testMethod) {
+        active.remove();
+        if (!isRequested(testMethod)) {
+            return;
+        }
+        if (!CdpUtils.isDevToolsSupported(driver)) {
+            log.warn("Virtual time requested but {} does not support CDP - waiting in real time",
+                    driver.getClass().getSimpleName());
+            return;
+        }
+        try {
+            Clock clock = clocks.computeIfAbsent(driver, VirtualClock::attach);
+            clock.reset();
+            active.set(driver);
+            log.debug("Virtual time enabled for {}", testMethod != null ? testMethod.getName() : "test");
+        } catch (Exception e) {
+            log.warn("Unable to enable virtual time: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether waits on the driver fast-forward page timers in the current test.
+     */
+    public static boolean isActive(WebDriver driver) {
+        return driver != null && active.get() == driver;
+    }
+
+    /**
+     * Whether the session's page clock has been put on virtual time.
+     */
+    public static boolean isTainted(WebDriver driver) {
+        Clock clock = clocks.get(driver);
+        return clock != null && clock.tainted;
+    }
+
+    /**
+     * Wraps a wait condition so that each unmet poll grants the page one step of virtual time.
+     */
+    public static <T> Function<WebDriver, T> ticking(WebDriver driver, Function<? super WebDriver, T> condition) {
+        return webDriver -> {
+            T value = condition.apply(webDriver);
+            if (value == null || Boolean.FALSE.equals(value)) {
+                advance(driver, Duration.ofMillis(ConfigManager.getVirtualTimeStepMs()));
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Lets the page run its timers for the given amount of virtual time and returns once it has.
+     *
+     * @return {@code true} if the budget was used up, {@code false} if the page held the clock
+     *         back (for example on a slow fetch) for longer than the budget in real time; the
+     *         clock is then paused, so the rest of the budget does not run out between waits
+     */
+    public static boolean advance(WebDriver driver, Duration budget) {
+        Clock clock = clocks.get(driver);
+        if (clock == null) {
+            return false;
+        }
+        clock.tainted = true;
+        long expiredBefore = clock.expirations.get();
+        long start = System.currentTimeMillis();
+        CdpUtils.send(driver, "Emulation.setVirtualTimePolicy",
+                Map.of("policy", "pauseIfNetworkFetchesPending", "budget", budget.toMillis()));
+        boolean expired = clock.awaitExpiry(expiredBefore, start + Math.max(budget.toMillis(), 1_000));
+        if (expired) {
+            clock.advancedMillis += budget.toMillis();
+            clock.steps++;
+        } else {
+            CdpUtils.send(driver, "Emulation.setVirtualTimePolicy", Map.of("policy", "pause"));
+        }
+        clock.realMillis += System.currentTimeMillis() - start;
+        return expired;
+    }
+
+    /**
+     * Ends virtual-time waits for the current test.
+     *
+     * @return A report line with the virtual time granted, or {@code null} if the test did not use it
+     */
+    public static String summarizeTest() {
+        WebDriver driver = active.get();
+        active.remove();
+        Clock clock = driver != null ? clocks.get(driver) : null;
+        if (clock == null || clock.steps == 0) {
+            return null;
+        }
+        totalAdvancedMillis.addAndGet(clock.advancedMillis);
+        totalSteps.addAndGet(clock.steps);
+        return String.format("Virtual time: %d ms of page timers fast-forwarded in %d steps, %d ms real",
+                clock.advancedMillis, clock.steps, clock.realMillis);
+    }
+
+    /**
+     * Adds suite-wide virtual time totals to the report.
+     */
+    public static void reportTotals() {
+        if (totalSteps.get() == 0) {
+            return;
+        }
+        String summary = String.format("%.1f s of page timers fast-forwarded in %d steps",
+                totalAdvancedMillis.get() / 1000.0, totalSteps.get());
+        log.info("Virtual time totals - {}", summary);
+        ExtentManager.addSystemInfo("Virtual Time", summary);
+    }
+
+    private static boolean isRequested(Method testMethod) {
+        if (testMethod != null && (testMethod.isAnnotationPresent(VirtualTime.class)
+                || testMethod.getDeclaringClass().isAnnotationPresent(VirtualTime.class))) {
+            return true;
+        }
+        return ConfigManager.isVirtualTimeEnabled();
+    }
+
+    /**
+     * Listens for budget expiry on the driver's DevTools session, which the policy commands are sent over.
+     */
+    private static Clock attach(WebDriver driver) {
+        Clock clock = new Clock();
+        CdpUtils.addListener(driver, BUDGET_EXPIRED, event -> clock.expired());
+        return clock;
+    }
+
+    /**
+     * Per-session virtual time state. Expiry events arrive on the DevTools event thread.
+     */
+    private static final class Clock {
+        private final AtomicLong expirations = new AtomicLong();
+        private volatile boolean tainted;
+        private long advancedMillis;
+        private long realMillis;
+        private int steps;
+
+        private synchronized void expired() {
+            expirations.incrementAndGet();
+            notifyAll();
+        }
+
+        private synchronized boolean awaitExpiry(long expiredBefore, long deadline) {
+            long remaining;
+            while (expirations.get() == expiredBefore && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return expirations.get() != expiredBefore;
+        }
+
+        private void reset() {
+            advancedMillis = 0;
+            realMillis = 0;
+            steps = 0;
+        }
+    }
+}
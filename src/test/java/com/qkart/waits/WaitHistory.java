@@ -0,0 +1,264 @@
+package com.qkart.waits;
+
+import com.qkart.constants.FrameworkConstants;
+import com.qkart.reports.ExtentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers how long each wait (locator + condition) took to be satisfied, across runs.
+ * The history is a moving average plus the most recent durations per wait key, loaded lazily
+ * from {@link FrameworkConstants#WAIT_HISTORY_FILE} and written back when the suite ends.
+ * Also tallies the polls spent per test and per run for reporting.
+ */
+public final class WaitHistory {
+    private static final Logger log = LogManager.getLogger(WaitHistory.class);
+    private static final double SMOOTHING = 0.3;
+    private static final int RECENT_SAMPLES = 50;
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> testTally = ThreadLocal.withInitial(() -> new long[3]);
+    private static final AtomicLong runWaits = new AtomicLong();
+    private static final AtomicLong runPolls = new AtomicLong();
+    private static final AtomicLong runTimeouts = new AtomicLong();
+    private static volatile boolean loaded;
+
+    private WaitHistory() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets how long the wait usually takes to be satisfied.
+     *
+     * @return The expected milliseconds, or -1 if the wait has no history
+     */
+    public static long expectedMillis(String key) {
+        if (key == null) {
+            return -1;
+        }
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        return entry != null ? entry.averageMillis() : -1;
+    }
+
+    /**
+     * Gets a percentile of the wait's recent durations.
+     *
+     * @param percentile Between 0 and 100
+     * @param minSamples Fewest recent durations the percentile may be based on
+     * @return The percentile in milliseconds, or -1 if there are not enough samples
+     */
+    public static long percentileMillis(String key, double percentile, int minSamples) {
+        if (key == null) {
+            return -1;
+        }
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        return entry != null ? entry.percentileMillis(percentile, minSamples) : -1;
+    }
+
+    /**
+     * Records the outcome of a polled wait. Only satisfied waits teach the history; timeouts are counted.
+     */
+    public static void record(String key, long elapsedMillis, int polls, boolean satisfied) {
+        long[] tally = testTally.get();
+        tally[0]++;
+        tally[1] += polls;
+        runWaits.incrementAndGet();
+        runPolls.addAndGet(polls);
+        if (!satisfied) {
+            tally[2]++;
+            runTimeouts.incrementAndGet();
+            return;
+        }
+        recordDuration(key, elapsedMillis);
+    }
+
+    /**
+     * Teaches the history how long a satisfied wait took, for waits that do not poll.
+     */
+    public static void recordDuration(String key, long elapsedMillis) {
+        if (key == null) {
+            return;
+        }
+        ensureLoaded();
+        entries.compute(key, (k, entry) -> entry == null
+                ? new Entry(elapsedMillis, 1, new long[]{elapsedMillis})
+                : entry.with(elapsedMillis));
+    }
+
+    /**
+     * Summarizes the polled waits of the current test and starts a new tally.
+     *
+     * @return A report line, or {@code null} if the test did not poll
+     */
+    public static String summarizeTest() {
+        long[] tally = testTally.get();
+        testTally.remove();
+        if (tally[0] == 0) {
+            return null;
+        }
+        return String.format("Polled waits: %d (%d polls, %.1f per wait, %d timed out)",
+                tally[0], tally[1], (double) tally[1] / tally[0], tally[2]);
+    }
+
+    /**
+     * Writes the learned history and reports the run's polling totals.
+     */
+    public static synchronized void shutdown() {
+        store();
+        long waits = runWaits.get();
+        if (waits == 0) {
+            return;
+        }
+        String summary = String.format("%d polled waits, %.1f polls per wait, %d timed out, %d conditions learned",
+                waits, (double) runPolls.get() / waits, runTimeouts.get(), entries.size());
+        log.info("Adaptive polling: {}", summary);
+        ExtentManager.addSystemInfo("Adaptive Polling", summary);
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (WaitHistory.class) {
+            if (loaded) {
+                return;
+            }
+            Path file = Paths.get(FrameworkConstants.WAIT_HISTORY_FILE);
+            try {
+                read(file).forEach(entries::putIfAbsent);
+                log.debug("Loaded wait history for {} conditions", entries.size());
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Unable to read wait history {}: {}", file, e.getMessage());
+            }
+            loaded = true;
+        }
+    }
+
+    private static void store() {
+        if (!loaded) {
+            return;
+        }
+        Path file = Paths.get(FrameworkConstants.WAIT_HISTORY_FILE);
+        try {
+            write(file, entries);
+        } catch (IOException e) {
+            log.warn("Unable to write wait history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a stored history.
+     *
+     * @return The entries per wait key, empty if the file does not exist
+     */
+    static Map<String, Entry> read(Path file) throws IOException {
+        Map<String, Entry> history = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        Properties stored = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            stored.load(in);
+        }
+        for (String name : stored.stringPropertyNames()) {
+            if (name.endsWith(".ms")) {
+                String key = name.substring(0, name.length() - ".ms".length());
+                history.put(key, new Entry(Double.parseDouble(stored.getProperty(name)),
+                        Integer.parseInt(stored.getProperty(key + ".samples", "1")),
+                        parseRecent(stored.getProperty(key + ".recent", ""))));
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Writes a history through a temporary file and an atomic move, like the driver cache.
+     */
+    static void write(Path file, Map<String, Entry> history) throws IOException {
+        Properties stored = new Properties();
+        history.forEach((key, entry) -> {
+            stored.setProperty(key + ".ms", String.format("%.0f", entry.averageMillis));
+            stored.setProperty(key + ".samples", String.valueOf(entry.samples));
+            stored.setProperty(key + ".recent", Arrays.stream(entry.recent)
+                    .mapToObj(String::valueOf).collect(Collectors.joining(",")));
+        });
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), "wait-history", ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            stored.store(out, "Learned wait durations (locator + condition) - safe to delete");
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long[] parseRecent(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(sample -> !sample.isEmpty())
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    /**
+     * Immutable history of one wait key; updates replace the entry.
+     */
+    static final class Entry {
+        private final double averageMillis;
+        private final int samples;
+        private final long[] recent;
+
+        Entry(double averageMillis, int samples, long[] recent) {
+            this.averageMillis = averageMillis;
+            this.samples = samples;
+            this.recent = recent;
+        }
+
+        long averageMillis() {
+            return Math.round(averageMillis);
+        }
+
+        int samples() {
+            return samples;
+        }
+
+        long[] recent() {
+            return recent.clone();
+        }
+
+        /**
+         * Gets a nearest-rank percentile of the recent durations, or -1 if there are fewer than minSamples.
+         */
+        long percentileMillis(double percentile, int minSamples) {
+            if (recent.length == 0 || recent.length < minSamples) {
+                return -1;
+            }
+            long[] sorted = recent.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+        }
+
+        Entry with(long elapsedMillis) {
+            int kept = Math.min(recent.length, RECENT_SAMPLES - 1);
+            long[] updated = new long[kept + 1];
+            System.arraycopy(recent, recent.length - kept, updated, 0, kept);
+            updated[kept] = elapsedMillis;
+            return new Entry(averageMillis + SMOOTHING * (elapsedMillis - averageMillis), samples + 1, updated);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.qkart.waits;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the learned wait history: percentiles, the moving average and the stored
+ * file format. Uses a temporary directory instead of the shared cache. No browser needed.
+ */
+public class WaitHistoryTests {
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("wait-history-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "Percentiles use the nearest rank of the recent durations")
+    public void percentileUsesNearestRank() {
+        WaitHistory.Entry entry = new WaitHistory.Entry(0, 10, new long[]{900, 100, 500, 300, 700, 200, 1000, 400, 800, 600});
+
+        Assert.assertEquals(entry.percentileMillis(50, 1), 500);
+        Assert.assertEquals(entry.percentileMillis(90, 1), 900);
+        Assert.assertEquals(entry.percentileMillis(95, 1), 1000);
+        Assert.assertEquals(entry.percentileMillis(100, 1), 1000);
+        Assert.assertEquals(entry.percentileMillis(0, 1), 100);
+    }
+
+    @Test(description = "Too few samples give no percentile")
+    public void percentileNeedsMinimumSamples() {
+        WaitHistory.Entry entry = new WaitHistory.Entry(200, 3, new long[]{100, 200, 300});
+
+        Assert.assertEquals(entry.percentileMillis(90, 4), -1);
+        Assert.assertEquals(entry.percentileMillis(90, 3), 300);
+        Assert.assertEquals(new WaitHistory.Entry(0, 0, new long[0]).percentileMillis(90, 0), -1);
+    }
+
+    @Test(description = "Recording a duration updates the moving average and keeps the latest samples")
+    public void withUpdatesAverageAndRecentSamples() {
+        WaitHistory.Entry entry = new WaitHistory.Entry(1000, 1, new long[]{1000}).with(2000);
+
+        Assert.assertEquals(entry.averageMillis(), 1300);
+        Assert.assertEquals(entry.samples(), 2);
+        Assert.assertEquals(entry.recent(), new long[]{1000, 2000});
+
+        for (long sample = 1; sample <= 60; sample++) {
+            entry = entry.with(sample);
+        }
+        long[] recent = entry.recent();
+        Assert.assertEquals(recent.length, 50, "Only the most recent durations should be kept");
+        Assert.assertEquals(recent[0], 11);
+        Assert.assertEquals(recent[49], 60);
+    }
+
+    @Test(description = "A stored history reads back with the same averages, counts and samples")
+    public void storedHistoryRoundTrips() throws IOException {
+        Map<String, WaitHistory.Entry> history = new LinkedHashMap<>();
+        history.put("By.id: late|visible", new WaitHistory.Entry(1234, 7, new long[]{1100, 1200, 1400}));
+        history.put("By.cssSelector: [data-x=\"a,b\"]|present", new WaitHistory.Entry(80, 1, new long[]{80}));
+        Path file = directory.resolve("nested").resolve("wait-history.properties");
+
+        WaitHistory.write(file, history);
+        Map<String, WaitHistory.Entry> read = WaitHistory.read(file);
+
+        Assert.assertEquals(read.keySet(), history.keySet());
+        history.forEach((key, entry) -> {
+            Assert.assertEquals(read.get(key).averageMillis(), entry.averageMillis(), key);
+            Assert.assertEquals(read.get(key).samples(), entry.samples(), key);
+            Assert.assertEquals(read.get(key).recent(), entry.recent(), key);
+        });
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            Assert.assertEquals(files.count(), 1, "No temporary file should be left behind");
+        }
+    }
+
+    @Test(description = "Entries stored before recent samples were kept read back without them")
+    public void readsEntriesWithoutRecentSamples() throws IOException {
+        Path file = directory.resolve("wait-history.properties");
+        Files.write(file, List.of("login|visible.ms=450"));
+
+        WaitHistory.Entry entry = WaitHistory.read(file).get("login|visible");
+
+        Assert.assertEquals(entry.averageMillis(), 450);
+        Assert.assertEquals(entry.samples(), 1);
+        Assert.assertEquals(entry.recent().length, 0);
+    }
+
+    @Test(description = "A missing history file reads as empty")
+    public void missingFileIsEmpty() throws IOException {
+        Assert.assertTrue(WaitHistory.read(directory.resolve("absent.properties")).isEmpty());
+    }
+}
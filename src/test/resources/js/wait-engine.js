@@ -0,0 +1,207 @@
+/*
+ * Condition engine used by com.qkart.waits.MutationWait and JsConditions (run through executeAsyncScript).
+ * arguments[0]: checks   - [{strategy, value, condition, expected, attribute}]
+ * arguments[1]: mode     - 'all' (every check must hold) or 'any' (first check that holds)
+ * arguments[2]: timeout  - milliseconds to wait inside the page; 0 evaluates once (a single poll)
+ * arguments[3]: options  - optional {stableMs, settleMs}: a match must keep holding for stableMs;
+ *                          with settleMs, no match while the DOM stays unchanged for settleMs settles
+ *                          the wait without a match
+ * Resolves with {status: 'ok', index, values}, {status: 'settled'}, {status: 'timeout'} or {status: 'navigated'}.
+ */
+var checks = arguments[0];
+var mode = arguments[1];
+var timeout = arguments[2];
+var options = (arguments.length > 4 && arguments[3]) || {};
+var stableMs = options.stableMs || 0;
+var settleMs = options.settleMs || 0;
+var done = arguments[arguments.length - 1];
+
+function find(strategy, value) {
+    switch (strategy) {
+        case 'id':
+            var byId = document.getElementById(value);
+            return byId ? [byId] : [];
+        case 'name':
+            return Array.prototype.slice.call(document.getElementsByName(value));
+        case 'css':
+            return Array.prototype.slice.call(document.querySelectorAll(value));
+        case 'xpath':
+            var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+            var nodes = [];
+            for (var i = 0; i < result.snapshotLength; i++) {
+                nodes.push(result.snapshotItem(i));
+            }
+            return nodes;
+        case 'linkText':
+        case 'partialLinkText':
+            return Array.prototype.slice.call(document.querySelectorAll('a')).filter(function (link) {
+                var text = (link.innerText || '').trim();
+                return strategy === 'linkText' ? text === value : text.indexOf(value) >= 0;
+            });
+        default:
+            return [];
+    }
+}
+
+// Mirrors the parts of Selenium's isDisplayed atom that matter for transitions: the element is
+// hidden if it or any ancestor is display:none, visibility:hidden or fully transparent (e.g. still
+// inside a Fade at opacity 0), if it has no size, or if an overflow-clipping ancestor cuts it off.
+function visible(element) {
+    if (!element || !element.isConnected) {
+        return false;
+    }
+    var style = window.getComputedStyle(element);
+    if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse') {
+        return false;
+    }
+    var rect = element.getBoundingClientRect();
+    if (rect.width <= 0 || rect.height <= 0) {
+        return false;
+    }
+    for (var node = element; node && node.nodeType === Node.ELEMENT_NODE; node = parentOf(node)) {
+        var nodeStyle = node === element ? style : window.getComputedStyle(node);
+        if (parseFloat(nodeStyle.opacity) === 0) {
+            return false;
+        }
+        if (node !== element && (nodeStyle.overflowX !== 'visible' || nodeStyle.overflowY !== 'visible')
+                && node !== document.documentElement && node !== document.body) {
+            var clip = node.getBoundingClientRect();
+            if (rect.right <= clip.left || rect.left >= clip.right || rect.bottom <= clip.top || rect.top >= clip.bottom) {
+                return false;
+            }
+        }
+    }
+    return true;
+}
+
+// Steps out of shadow roots to their host, so elements in web components are judged like the rest.
+function parentOf(node) {
+    if (node.parentElement) {
+        return node.parentElement;
+    }
+    var root = node.getRootNode ? node.getRootNode() : null;
+    return root && root.host ? root.host : null;
+}
+
+function attributeOf(element, name) {
+    var value = element.getAttribute(name);
+    if (value === null && element[name] !== undefined && element[name] !== null) {
+        value = String(element[name]);
+    }
+    if (value === null) {
+        value = window.getComputedStyle(element).getPropertyValue(name);
+    }
+    return value;
+}
+
+// Returns {value} when the check holds, null otherwise. Only the first match is judged,
+// as Selenium's locator-based ExpectedConditions do.
+function evaluate(check) {
+    var element = find(check.strategy, check.value)[0];
+    switch (check.condition) {
+        case 'presence':
+            return element ? {value: element} : null;
+        case 'visible':
+            return visible(element) ? {value: element} : null;
+        case 'clickable':
+            return visible(element) && !element.disabled ? {value: element} : null;
+        case 'invisible':
+            return visible(element) ? null : {value: true};
+        case 'absent':
+            return element ? null : {value: true};
+        case 'text':
+            return element && (element.innerText || element.textContent || '').indexOf(check.expected) >= 0
+                ? {value: true} : null;
+        case 'attribute':
+            return element && attributeOf(element, check.attribute) === check.expected ? {value: true} : null;
+        default:
+            return null;
+    }
+}
+
+function test() {
+    var values = [];
+    for (var i = 0; i < checks.length; i++) {
+        var outcome = evaluate(checks[i]);
+        if (mode === 'any' && outcome) {
+            values[i] = outcome.value;
+            return {status: 'ok', index: i, values: values};
+        }
+        if (mode === 'all' && !outcome) {
+            return null;
+        }
+        values.push(outcome ? outcome.value : null);
+    }
+    return mode === 'all' ? {status: 'ok', index: -1, values: values} : null;
+}
+
+var startedAt = Date.now();
+var lastMutation = startedAt;
+var heldSince = null;
+
+// Returns the outcome once the checks hold (for stableMs, if set), or a settled outcome once the
+// checks do not hold and the DOM has been quiet for settleMs; null to keep waiting.
+function settle() {
+    var now = Date.now();
+    var outcome = test();
+    if (!outcome) {
+        heldSince = null;
+        return settleMs > 0 && now - lastMutation >= settleMs ? {status: 'settled'} : null;
+    }
+    if (heldSince === null) {
+        heldSince = now;
+    }
+    return now - heldSince >= stableMs ? outcome : null;
+}
+
+var initial = settle();
+if (initial) {
+    done(initial);
+    return;
+}
+if (timeout <= 0) {
+    done({status: 'timeout'});
+    return;
+}
+
+var finished = false;
+var observer = new MutationObserver(function () {
+    lastMutation = Date.now();
+    if (!finished) {
+        var outcome = settle();
+        if (outcome) {
+            finish(outcome);
+        }
+    }
+});
+// CSS transitions and animations change visibility without DOM mutations, so the page also
+// re-checks itself on a short in-page timer; neither costs a WebDriver round trip. The timer
+// also ends stability and settle windows.
+var recheck = setInterval(function () {
+    var outcome = settle();
+    if (outcome) {
+        finish(outcome);
+    }
+}, 100);
+var expiry = setTimeout(function () {
+    finish({status: 'timeout'});
+}, timeout);
+
+function onUnload() {
+    finish({status: 'navigated'});
+}
+
+function finish(outcome) {
+    if (finished) {
+        return;
+    }
+    finished = true;
+    observer.disconnect();
+    clearInterval(recheck);
+    clearTimeout(expiry);
+    window.removeEventListener('beforeunload', onUnload);
+    done(outcome);
+}
+
+window.addEventListener('beforeunload', onUnload);
+observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});